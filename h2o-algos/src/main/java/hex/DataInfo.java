@@ -1076,6 +1076,96 @@ public class DataInfo extends Keyed<DataInfo> {
       row.offset = chunks[offsetChunkId()].atd(rid);
     return row;
   }
+  /**
+   * Block decoder for {@link #extractDenseRow(RowBatch, Chunk[], int, Row)}: the
+   * predictor, weight, offset and response columns, except interactions which
+   * are expanded from their own chunks.
+   */
+  public RowBatch rowBatch(Chunk[] chunks) {
+    int[] cols = new int[_cats + _nums + _responses + 2];
+    int n = 0;
+    for (int i = 0; i < _cats + _nums; ++i)
+      if (!isInteractionVec(i)) cols[n++] = i;
+    if (_weights) cols[n++] = weightChunkId();
+    if (_offset) cols[n++] = offsetChunkId();
+    for (int i = 0; i < _responses; ++i) cols[n++] = responseChunkId(i);
+    return new RowBatch(chunks, Arrays.copyOf(cols, n), RowBatch.DEFAULT_BLOCK);
+  }
+
+  private static boolean isNA(RowBatch b, Chunk[] chunks, int c, int rid) {
+    return b.decodes(c) ? b.isNA(c, rid) : chunks[c].isNA(rid);
+  }
+
+  /**
+   * Same as {@link #extractDenseRow(Chunk[], int, Row)}, but reads the values
+   * from a {@link #rowBatch(Chunk[])} decoded a block of rows at a time; for
+   * scans over the rows in order.
+   */
+  public final Row extractDenseRow(RowBatch b, Chunk[] chunks, int rid, Row row) {
+    b.load(rid);
+    row.predictors_bad = false;
+    row.response_bad = false;
+    row.rid = rid + chunks[0].start();
+    row.cid = rid;
+    if(_weights)
+      row.weight = b.atd(weightChunkId(), rid);
+    if(row.weight == 0) return row;
+    if (_skipMissing) {
+      int N = _cats + _nums;
+      for (int i = 0; i < N; ++i)
+        if (isNA(b, chunks, i, rid)) {
+          row.predictors_bad = true;
+          return row;
+        }
+    }
+    int nbins = 0;
+    for (int i = 0; i < _cats; ++i) {
+      int cid;
+      if (isNA(b, chunks, i, rid)) cid = getCategoricalId(i, _catNAFill[i]);
+      else cid = getCategoricalId(i, (int) b.at8(i, rid));
+      if(cid >= 0)
+        row.binIds[nbins++] = cid;
+    }
+    row.nBins = nbins;
+    final int n = _nums;
+    int numValsIdx=0; // since we're dense, need a second index to track interaction nums
+    for( int i=0;i<n;i++) {
+      if( isInteractionVec(_cats + i) ) {
+        InteractionWrappedVec iwv = (InteractionWrappedVec)_adaptedFrame.vec(_cats+i);
+        int interactionOffset = getInteractionOffset(chunks,_cats+i,rid);
+        for(int offset=0;offset<iwv.expandedLength();++offset) {
+          if( i < _intLvls.length && _intLvls[i]!=null && Arrays.binarySearch(_intLvls[i],offset) < 0 ) continue; // skip the filtered out interactions
+          double d=0;
+          if( offset==interactionOffset ) d=chunks[_cats + i].atd(rid);
+          if( Double.isNaN(d) )
+            d = _numMeans[numValsIdx];
+          if( _normMul != null && _normSub != null )
+            d = (d - _normSub[numValsIdx]) * _normMul[numValsIdx];
+          row.numVals[numValsIdx++]=d;
+        }
+      } else {
+        double d = b.atd(_cats + i, rid); // can be NA if skipMissing() == false
+        if (Double.isNaN(d))
+          d = _numMeans[numValsIdx];
+        if (_normMul != null && _normSub != null)
+          d = (d - _normSub[numValsIdx]) * _normMul[numValsIdx];
+        row.numVals[numValsIdx++] = d;
+      }
+    }
+    for (int i = 0; i < _responses; ++i) {
+      row.response[i] = b.atd(responseChunkId(i), rid);
+      if(Double.isNaN(row.response[i])) {
+        row.response_bad = true;
+        break;
+      }
+      if (_normRespMul != null)
+        row.response[i] = (row.response[i] - _normRespSub[i]) * _normRespMul[i];
+    }
+    if(_offset)
+      row.offset = b.atd(offsetChunkId(), rid);
+    return row;
+  }
+
   public int getInteractionOffset(Chunk[] chunks, int cid, int rid) {
     boolean useAllFactors = ((InteractionWrappedVec)chunks[cid].vec())._useAllFactorLevels;
     InteractionWrappedVec.InteractionWrappedChunk c = (InteractionWrappedVec.InteractionWrappedChunk)chunks[cid];
@@ -1096,6 +1186,7 @@ public class DataInfo extends Keyed<DataInfo> {
     private final Row [] _sparseRows;
     public final boolean _sparse;
     private final Chunk [] _chks;
+    private final RowBatch _batch;
 
     private Rows(Chunk [] chks, boolean sparse) {
       _nrows = chks[0]._len;
@@ -1104,14 +1195,16 @@ public class DataInfo extends Keyed<DataInfo> {
       if(sparse) {
         _denseRow = null;
         _chks = null;
+        _batch = null;
         _sparseRows = extractSparseRows(chks);
       } else {
         _denseRow = DataInfo.this.newDenseRow();
         _chks = chks;
+        _batch = rowBatch(chks);
         _sparseRows = null;
       }
     }
-    public Row row(int i) {return _sparse?_sparseRows[i]:extractDenseRow(_chks,i,_denseRow);}
+    public Row row(int i) {return _sparse?_sparseRows[i]:extractDenseRow(_batch,_chks,i,_denseRow);}
   }
 
   public Rows rows(Chunk [] chks) {
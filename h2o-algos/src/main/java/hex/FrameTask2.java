@@ -6,6 +6,7 @@ import water.Job;
 import water.Key;
 import water.MRTask;
 import water.fvec.Chunk;
+import water.fvec.RowBatch;
 import water.util.FrameUtils;
 
 /**
@@ -62,8 +63,9 @@ public abstract class FrameTask2<T extends FrameTask2<T>> extends MRTask<T> {
       }
     } else {
       Row row = _dinfo.newDenseRow();
+      RowBatch batch = _dinfo.rowBatch(chks);
       for(int r = 0 ; r < chks[0]._len; ++r) {
-        _dinfo.extractDenseRow(chks, r, row);
+        _dinfo.extractDenseRow(batch, chks, r, row);
         if(!row.isBad() && row.weight != 0)
           processRow(row);
       }
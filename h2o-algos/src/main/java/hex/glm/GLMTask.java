@@ -13,6 +13,7 @@ import water.*;
 import water.H2O.H2OCountedCompleter;
 import water.fvec.C0DChunk;
 import water.fvec.Chunk;
+import water.fvec.RowBatch;
 import water.util.ArrayUtils;
 import water.util.FrameUtils;
 import water.util.MathUtils;
@@ -1893,8 +1894,9 @@ public abstract class GLMTask  {
       denums = new double[_dinfo.fullN()+1]; // full N is expanded variables with categories
 
       Row r = _dinfo.newDenseRow();
+      RowBatch batch = _dinfo.rowBatch(chunks);
       for(int i = 0; i < chunks[0]._len; ++i) {
-        _dinfo.extractDenseRow(chunks,i,r);
+        _dinfo.extractDenseRow(batch,chunks,i,r);
         if (r.isBad() || r.weight == 0) {
           wChunk.set(i,0);
           zChunk.set(i,0);
@@ -8,6 +8,7 @@ import water.*;
 import water.exceptions.H2OModelBuilderIllegalArgumentException;
 import water.fvec.Chunk;
 import water.fvec.Frame;
+import water.fvec.RowBatch;
 import water.fvec.Vec;
 import water.util.*;
 
@@ -517,10 +518,11 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
     }
 
     @Override public void map(Chunk[] cs) {
+      RowBatch batch = batch(cs, cs.length);
       for( int row = 0; row < cs[0]._len; row++ ) {
         double[] values = new double[cs.length];
         // fetch the data - using consistent NA and categorical data handling (same as for training)
-        data(values, cs, row, _means, _mults, _modes);
+        data(values, batch, row, _means, _mults, _modes);
         // compute the distance from the (standardized) cluster centroids
         _tss += hex.genmodel.GenModel.KMeans_distance(_gc, values, _isCats);
       }
@@ -552,8 +554,9 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
     @Override public void map(Chunk[] cs) {
       double[] values = new double[cs.length];
       ClusterDist cd = new ClusterDist();
+      RowBatch batch = batch(cs, cs.length);
       for( int row = 0; row < cs[0]._len; row++ ) {
-        data(values, cs, row, _means, _mults, _modes);
+        data(values, batch, row, _means, _mults, _modes);
         _sqr += minSqr(_centers, values, _isCats, cd);
       }
       _means = _mults = null;
@@ -599,10 +602,11 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
       ArrayList<double[]> list = new ArrayList<>();
       Random rand = RandomUtils.getRNG(0);
       ClusterDist cd = new ClusterDist();
+      RowBatch batch = batch(cs, N);
 
       for( int row = 0; row < cs[0]._len; row++ ) {
         rand.setSeed(_seed + cs[0].start()+row);
-        data(values, cs, row, _means, _mults, _modes);
+        data(values, batch, row, _means, _mults, _modes);
         double sqr = minSqr(_centers, values, _isCats, cd);
         if( _probability * sqr > rand.nextDouble() * _sqr )
           list.add(values.clone());
@@ -679,11 +683,13 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
       // Find closest cluster center for each row
       double[] values = new double[N]; // Temp data to hold row as doubles
       ClusterDist cd = new ClusterDist();
+      RowBatch batch = batch(cs, N + (_hasWeight ? 1 : 0)); // Not the assignment, written below
       for( int row = 0; row < cs[0]._len; row++ ) {
-        double weight = _hasWeight ? cs[N].atd(row) : 1;
+        batch.load(row);
+        double weight = _hasWeight ? batch.atd(N, row) : 1;
         if (weight == 0) continue; //skip holdout rows
         assert(weight == 1); //K-Means only works for weight 1 (or weight 0 for holdout)
-        data(values, cs, row, _means, _mults, _modes); // Load row as doubles
+        data(values, batch, row, _means, _mults, _modes); // Load row as doubles
         closest(_centers, values, _isCats, cd); // Find closest cluster center
         if (cd._cluster != assignment.at8(row)) {
           _reassigned_count+=weight;
@@ -852,12 +858,20 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
     }
   }
 
-  private static void data(double[] values, Chunk[] chks, int row, double[] means, double[] mults, int[] modes) {
+  private static void data(double[] values, RowBatch batch, int row, double[] means, double[] mults, int[] modes) {
+    batch.load(row);
     for( int i = 0; i < values.length; i++ ) {
-      values[i] = Kmeans_preprocessData(chks[i].atd(row), i, means, mults, modes);
+      values[i] = Kmeans_preprocessData(batch.atd(i, row), i, means, mults, modes);
     }
   }
 
+  // Block decoder over the first n columns: the features, maybe the weight
+  private static RowBatch batch(Chunk[] cs, int n) {
+    int[] cols = new int[n];
+    for( int i = 0; i < n; i++ ) cols[i] = i;
+    return new RowBatch(cs, cols, RowBatch.DEFAULT_BLOCK);
+  }
+
 
   /**
    * This helper creates a ModelMetricsClustering from a trained model
@@ -913,15 +927,17 @@ public class KMeans extends ClusteringModelBuilder<KMeansModel,KMeansModel.KMean
       // Find closest cluster center for each row
       double[] values = new double[N]; // Temp data to hold row as doubles
       ClusterDist cd = new ClusterDist();
+      RowBatch batch = batch(cs, N + (_hasWeight ? 1 : 0)); // Not the assignment, written below
       for( int row = 0; row < cs[0]._len; row++ ) {
         if (assignment.at8(row) != _clusterToSplit) continue;
 
-        double weight = _hasWeight ? cs[N].atd(row) : 1;
+        batch.load(row);
+        double weight = _hasWeight ? batch.atd(N, row) : 1;
         if (weight == 0) continue; //skip holdout rows
 
         assert(weight == 1); //K-Means only works for weight 1 (or weight 0 for holdout)
 
-        data(values, cs, row, _means, _mults, _modes); // Load row as doubles
+        data(values, batch, row, _means, _mults, _modes); // Load row as doubles
         assert (_isCats[_dimToSplit]==null);
         if (values[_dimToSplit] > _centers[_clusterToSplit][_dimToSplit]) {
           cd._cluster = _centers.length-1;
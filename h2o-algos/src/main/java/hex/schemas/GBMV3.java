@@ -60,6 +60,8 @@ public class GBMV3 extends SharedTreeV3<GBM,GBMV3,GBMV3.GBMParametersV3> {
       "histogram_type",
       "max_abs_leafnode_pred",
       "pred_noise_bandwidth",
+      "goss_top_rate",
+      "goss_other_rate",
       "categorical_encoding",
       "calibrate_model",
       "calibration_frame",
@@ -87,6 +89,12 @@ public class GBMV3 extends SharedTreeV3<GBM,GBMV3,GBMV3.GBMParametersV3> {
     @API(help="Bandwidth (sigma) of Gaussian multiplicative noise ~N(1,sigma) for tree node predictions", level = API.Level.expert, gridable = true)
     public double pred_noise_bandwidth;
 
+    @API(help="Gradient-based one-side sampling (GOSS): fraction of rows with the largest gradients always used for each tree (0.0 disables GOSS, otherwise from 0.0 to 1.0)", level = API.Level.expert, gridable = true)
+    public double goss_top_rate;
+
+    @API(help="GOSS: fraction of all rows sampled from the remaining ones for each tree, with their weights scaled up (goss_top_rate + goss_other_rate at most 1.0)", level = API.Level.expert, gridable = true)
+    public double goss_other_rate;
+
 //    // TODO debug only, remove!
 //    @API(help="Internal flag, use new version of histo tsk if set", level = API.Level.expert, gridable = false)
 //    public boolean use_new_histo_tsk;
@@ -95,6 +95,12 @@ public final class DHistogram extends Iced {
   public final long _seed;
   public transient boolean _hasQuantiles;
   public Key _globalQuantilesKey; //key under which original top-level quantiles are stored;
+  // Set by init() if the data is available pre-binned (see SharedTree).  A
+  // flag rather than a -1 offset: deserialization skips field initializers.
+  transient boolean _prebinned;
+  transient int _binOffset; // Global bin of our bin 0, if pre-binned
+  transient double[] _binMin, _binMax; // Observed min/max per global bin, if pre-binned
+  static final double[] BINARY_BINS = new double[]{0, 1}; // Global bins of a 0/1 column, which are its values
 
 
 
@@ -124,10 +130,16 @@ public final class DHistogram extends Iced {
 
   static class HistoQuantiles extends Keyed<HistoQuantiles> {
     public HistoQuantiles(Key<HistoQuantiles> key, double[] splitPts) {
+      this(key, splitPts, null, null);
+    }
+    public HistoQuantiles(Key<HistoQuantiles> key, double[] splitPts, double[] binMin, double[] binMax) {
       super(key);
       this.splitPts = splitPts;
+      this.binMin = binMin;
+      this.binMax = binMax;
     }
     double[/*nbins*/] splitPts;
+    double[/*nbins*/] binMin, binMax; // Set if the column was pre-binned over splitPts
   }
 
 
@@ -205,6 +217,56 @@ public final class DHistogram extends Iced {
     // Do not allocate the big arrays here; wait for scoreCols to pick which cols will be used.
   }
 
+  /**
+   * An empty histogram with exactly the bins of h (including its random or
+   * quantile split points, which init() derives the same way), so that the two
+   * can be subtracted.
+   */
+  DHistogram(DHistogram h) {
+    _isInt = h._isInt;
+    _name = h._name;
+    _min = h._min;
+    _maxEx = h._maxEx;
+    _min2 = Double.MAX_VALUE;
+    _maxIn = -Double.MAX_VALUE;
+    _minSplitImprovement = h._minSplitImprovement;
+    _histoType = h._histoType;
+    _seed = h._seed;
+    _globalQuantilesKey = h._globalQuantilesKey;
+    _step = h._step;
+    _nbin = h._nbin;
+  }
+
+  /** True if this histogram has the same bins as h. */
+  boolean sameBins(DHistogram h) {
+    return h != null && _isInt == h._isInt && _nbin == h._nbin && _step == h._step && _min == h._min &&
+        _maxEx == h._maxEx && _histoType == h._histoType && _seed == h._seed &&
+        (_globalQuantilesKey == null ? h._globalQuantilesKey == null : _globalQuantilesKey.equals(h._globalQuantilesKey));
+  }
+
+  /**
+   * Fill this histogram with the rows of parent less the rows of sibling, the
+   * other child of the split.  All three must have the same bins.  The observed
+   * min/max are the parent's, a conservative bound for the child.
+   */
+  void setToDifference(DHistogram parent, DHistogram sibling) {
+    assert sameBins(parent) && sameBins(sibling);
+    if (_vals == null) init();
+    double[] ps = parent._vals, ss = sibling._vals;
+    for (int i = 0; i < _vals.length; i += 3) {
+      double w = ps[i] - (ss == null ? 0 : ss[i]);
+      if (w <= 1e-12 * ps[i]) { // Empty bin, up to roundoff error
+        _vals[i] = _vals[i+1] = _vals[i+2] = 0;
+      } else {
+        _vals[i] = w;
+        _vals[i+1] = ps[i+1] - (ss == null ? 0 : ss[i+1]);
+        _vals[i+2] = Math.max(0, ps[i+2] - (ss == null ? 0 : ss[i+2]));
+      }
+    }
+    _min2 = parent._min2;
+    _maxIn = parent._maxIn;
+  }
+
   // Interpolate d to find bin#
   public int bin( double col_data ) {
     if(Double.isNaN(col_data)) return _nbin; // NA bucket
@@ -260,7 +322,8 @@ public final class DHistogram extends Iced {
           if (_splitPts!=null) {
 //            Log.info("Obtaining global splitPoints: " + Arrays.toString(_splitPts));
             _splitPts = ArrayUtils.limitToRange(_splitPts, _min, _maxEx);
-            if (_splitPts.length > 1 && _splitPts.length < _nbin)
+            // Pre-binned data only knows the global bins, so keep exactly those
+            if (_splitPts.length > 1 && _splitPts.length < _nbin && hq.binMin == null)
               _splitPts = ArrayUtils.padUniformly(_splitPts, _nbin);
             if (_splitPts.length <= 1) {
               _splitPts = null; //abort, fall back to uniform binning
@@ -269,6 +332,12 @@ public final class DHistogram extends Iced {
             else {
               _hasQuantiles=true;
               _nbin = (char)_splitPts.length;
+              if (hq.binMin != null) {
+                _prebinned = true;
+                _binOffset = Arrays.binarySearch(hq.splitPts, _splitPts[0]);
+                _binMin = hq.binMin;
+                _binMax = hq.binMax;
+              }
 //              Log.info("Refined splitPoints: " + Arrays.toString(_splitPts));
             }
           }
@@ -425,6 +494,94 @@ public final class DHistogram extends Iced {
     }
   }
 
+  /** Add one row with value d, as {@link #updateHisto} does for each of its rows. */
+  void addValue(double d, double w, double wy, double wyy) {
+    if (d < _min2) _min2 = d;
+    if (d > _maxIn) _maxIn = d;
+    int b = bin(d);
+    _vals[3*b + 0] += w;
+    _vals[3*b + 1] += wy;
+    _vals[3*b + 2] += wyy;
+  }
+
+  /** True if {@link #updateHistoBins} can be used, i.e. our bins are a range of the pre-binned global bins. */
+  public boolean isPrebinned() { return _prebinned; }
+
+  /**
+   * Same as {@link #updateHisto}, for pre-binned column data.  The observed
+   * min/max are the ones of the outermost global bins seen, a conservative
+   * bound.
+   * @param bins global bin per row, -1 for NA
+   */
+  public void updateHistoBins(double[] ws, int[] bins, double[] ys, int [] rows, int hi, int lo){
+    assert isPrebinned();
+    int gmin = Integer.MAX_VALUE, gmax = -1;
+    for(int r = lo; r< hi; ++r) {
+      int k = rows[r];
+      double weight = ws[k];
+      if (weight == 0) continue;
+      int g = bins[k];
+      int b;
+      if (g < 0) b = _nbin; // NA bucket
+      else {
+        if (g < gmin) gmin = g;
+        if (g > gmax) gmax = g;
+        b = g - _binOffset;
+        if (b < 0) b = 0; // Infinities, see bin()
+        else if (b >= _nbin) b = _nbin-1;
+      }
+      double y = ys[k];
+      assert (!Double.isNaN(y));
+      double wy = weight * y;
+      double wyy = wy * y;
+      _vals[3*b + 0] += weight;
+      _vals[3*b + 1] += wy;
+      _vals[3*b + 2] += wyy;
+    }
+    updateMinMaxBins(gmin, gmax);
+  }
+
+  /** Widen the observed min/max to the ranges of global bins gmin..gmax (none if gmax < 0). */
+  void updateMinMaxBins(int gmin, int gmax) {
+    if (gmax >= 0) {
+      if (_binMin[gmin] < _min2) _min2 = _binMin[gmin];
+      if (_binMax[gmax] > _maxIn) _maxIn = _binMax[gmax];
+    }
+  }
+
+  /** Add one pre-binned row by its global bin, without tracking the observed min/max. */
+  void addGlobalBin(int g, double w, double wy, double wyy) {
+    int b = g - _binOffset;
+    if (b < 0) b = 0;
+    else if (b >= _nbin) b = _nbin-1;
+    _vals[3*b + 0] += w;
+    _vals[3*b + 1] += wy;
+    _vals[3*b + 2] += wyy;
+  }
+
+  /**
+   * Add rows with value 0, given only as their sums (e.g. a leaf's total less
+   * its nonzero rows).  Ignored if 0 is out of range, there can be no such
+   * rows then, only roundoff error.
+   */
+  void addZeros(double w, double wy, double wyy) {
+    if (w <= 0 || !(_min <= 0 && 0 < _maxEx)) return;
+    int b = bin(0);
+    _vals[3*b + 0] += w;
+    _vals[3*b + 1] += wy;
+    _vals[3*b + 2] += Math.max(0, wyy);
+    if (0 < _min2) _min2 = 0;
+    if (0 > _maxIn) _maxIn = 0;
+  }
+
+  /** Global bin of d in the sorted global split points; NaN is not allowed. */
+  static int globalBin(double[] splitPts, double d) {
+    int g = Arrays.binarySearch(splitPts, d);
+    if (g < 0) g = -g - 2;
+    if (g < 0) return 0;
+    return g >= splitPts.length ? splitPts.length - 1 : g;
+  }
+
   /**
    * Cast bin values *except for sums of weights and Na-bucket counters to floats to drop least significant bits.
    * Improves reproducibility (drop bits most affected by floating point error).
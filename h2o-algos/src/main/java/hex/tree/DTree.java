@@ -282,7 +282,10 @@ public class DTree extends Iced {
         if( h._isInt > 0 && !(min+1 < maxEx ) )
           continue; // This column will not split again
         assert min < maxEx && adj_nbins > 1 : ""+min+"<"+maxEx+" nbins="+adj_nbins;
-        nhists[j] = DHistogram.make(h._name, adj_nbins, h._isInt, min, maxEx, h._seed*0xDECAF+(way+1), parms, h._globalQuantilesKey);
+        if( parms._histogram_subtraction && _col!=j && min == h._min && maxEx == h._maxEx )
+          nhists[j] = new DHistogram(h); // Range unchanged: keep the parent's (no coarser) bins, so the sibling's histogram can be subtracted
+        else
+          nhists[j] = DHistogram.make(h._name, adj_nbins, h._isInt, min, maxEx, h._seed*0xDECAF+(way+1), parms, h._globalQuantilesKey);
         cnt++;                    // At least some chance of splitting
       }
       return cnt == 0 ? null : nhists;
@@ -301,6 +304,8 @@ public class DTree extends Iced {
   public static class UndecidedNode extends Node {
     public transient DHistogram[] _hs; //(up to) one histogram per column
     public final int _scoreCols[];      // A list of columns to score; could be null for all
+    transient DHistogram[] _parentHs;   // Parent's filled histograms, if ours can be derived as parent minus sibling
+    transient int _siblingNid = -1;     // The (smaller) sibling whose histograms are built directly
     public UndecidedNode( DTree tree, int pid, DHistogram[] hs ) {
       super(tree,pid);
       assert hs.length==tree._ncols;
@@ -517,6 +522,14 @@ public class DTree extends Iced {
         // Assign a new (yet undecided) node to each child, and connect this (the parent) decided node and the newly made histograms to it
         _nids[way] = nhists == null ? ScoreBuildHistogram.UNDECIDED_CHILD_NODE_ID : makeUndecidedNode(nhists)._nid;
       }
+      // Only the smaller child gets its histograms built from the data, the
+      // larger one (mostly) derives them as parent minus sibling
+      if( _tree._parms._histogram_subtraction && _nids[0] >= 0 && _nids[1] >= 0 ) {
+        int small = _split._n0 <= _split._n1 ? 0 : 1;
+        UndecidedNode large = _tree.undecided(_nids[1-small]);
+        large._parentHs = hs;
+        large._siblingNid = _nids[small];
+      }
     }
 
     public int getChildNodeID(Chunk [] chks, int row ) {
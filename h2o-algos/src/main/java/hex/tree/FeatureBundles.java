@@ -0,0 +1,295 @@
+package hex.tree;
+
+import water.DKV;
+import water.Futures;
+import water.Iced;
+import water.Key;
+import water.MRTask;
+import water.MemoryManager;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.util.Log;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exclusive feature bundling: groups of sparse, pre-binned or 0/1 predictors
+ * that are never nonzero in the same row (e.g. one-hot indicators), stored together as
+ * one column.  The bundled value of a row is 0 if all members are 0, otherwise
+ * the global bin of the nonzero member, shifted by that member's offset.
+ *
+ * <p>{@link ScoreBuildHistogram2} builds the histograms of all members from one
+ * pass over the bundled column, and the zero bins from the leaf totals.  The
+ * histograms, and so the splits, stay per original column; trees never see
+ * the bundles.
+ */
+public class FeatureBundles extends Iced<FeatureBundles> {
+  static final double MAX_DENSITY = 0.1;     // Only columns with at most this fraction of nonzeros are bundled
+  static final int MAX_BUNDLE_BINS = 1 << 16; // Upper bound on the bins of all members of one bundle
+  static final int SAMPLE_ROWS = 1 << 16;     // Rows sampled to find the bundles; they are checked on all rows
+
+  final int[][] _cols;      // Predictors in each bundle
+  final int[][] _offsets;   // Per member, the bundled value of its global bin 0, less 1
+  final int[][] _memberOf;  // Per bundle, the member of each bundled value (-1 for 0)
+  final int[] _bundleOf;    // Per predictor, its bundle or -1
+  transient Frame _fr;      // The bundled columns, one per bundle (driver only)
+
+  private FeatureBundles(int ncols, int[][] cols, int[][] offsets, double[][] splitPts) {
+    _cols = cols;
+    _offsets = offsets;
+    _bundleOf = new int[ncols];
+    Arrays.fill(_bundleOf, -1);
+    _memberOf = new int[cols.length][];
+    for (int b = 0; b < cols.length; b++) {
+      int[] members = cols[b];
+      int last = members.length - 1;
+      int total = offsets[b][last] + splitPts[members[last]].length;
+      int[] memberOf = _memberOf[b] = new int[total + 1];
+      memberOf[0] = -1;
+      for (int m = 0; m < members.length; m++) {
+        _bundleOf[members[m]] = b;
+        int to = (m == last ? total : offsets[b][m+1]) + 1;
+        Arrays.fill(memberOf, offsets[b][m] + 1, to, m);
+      }
+    }
+  }
+
+  public int numBundles() { return _cols.length; }
+
+  /**
+   * Finds bundles among the pre-binned predictors, and materializes them.
+   * @param train training frame, predictors first
+   * @param ncols number of predictors
+   * @param binned global split points per predictor, null for the ones that are not pre-binned
+   * @param keys global quantiles keys per predictor; the bins of the bundled 0/1 predictors are published there
+   * @return the bundles, with their columns in {@code _fr}, or null if nothing could be bundled
+   */
+  static FeatureBundles make(Frame train, int ncols, double[][] binned, Key[] keys, Futures fs) {
+    return make(train, ncols, binned, keys, fs, SAMPLE_ROWS);
+  }
+
+  static FeatureBundles make(Frame train, int ncols, double[][] binned, Key[] keys, Futures fs, int sampleRows) {
+    double[][] splitPts = binned.clone();
+    int[] cands = new int[ncols];
+    int n = 0;
+    for (int c = 0; c < ncols; c++) {
+      Vec v = train.vec(c);
+      if (splitPts[c] == null && v.isBinary() && !v.isCategorical())
+        splitPts[c] = DHistogram.BINARY_BINS;
+      if (splitPts[c] == null) continue;
+      if (v.naCnt() == 0 && v.nzCnt() <= MAX_DENSITY * v.length())
+        cands[n++] = c;
+    }
+    if (n < 2) return null;
+    cands = Arrays.copyOf(cands, n);
+    Vec[] vecs = new Vec[n];
+    for (int i = 0; i < n; i++) vecs[i] = train.vec(cands[i]);
+    int[] sampleStart = sampleChunks(vecs[0], sampleRows);
+    int[][] nzRows = new SampleNonzeros(n, sampleStart).doAll(vecs)._rows;
+
+    // Greedy, densest columns first: join the first bundle with no sampled row in common
+    Integer[] order = new Integer[n];
+    for (int i = 0; i < n; i++) order[i] = i;
+    final Vec[] fvecs = vecs;
+    Arrays.sort(order, new Comparator<Integer>() {
+      @Override public int compare(Integer a, Integer b) { return Long.compare(fvecs[b].nzCnt(), fvecs[a].nzCnt()); }
+    });
+    List<List<Integer>> bundles = new ArrayList<>();
+    List<BitSet> bundleRows = new ArrayList<>();
+    List<Integer> bundleBins = new ArrayList<>();
+    for (int i : order) {
+      int nbins = splitPts[cands[i]].length;
+      int b = 0;
+      for (; b < bundles.size(); b++)
+        if (bundleBins.get(b) + nbins <= MAX_BUNDLE_BINS && !anySet(bundleRows.get(b), nzRows[i]))
+          break;
+      if (b == bundles.size()) {
+        bundles.add(new ArrayList<Integer>());
+        bundleRows.add(new BitSet());
+        bundleBins.add(0);
+      }
+      bundles.get(b).add(i);
+      BitSet rows = bundleRows.get(b);
+      for (int r : nzRows[i]) rows.set(r);
+      bundleBins.set(b, bundleBins.get(b) + nbins);
+    }
+
+    List<int[]> cols = new ArrayList<>();
+    for (List<Integer> bundle : bundles) {
+      if (bundle.size() < 2) continue; // Nothing to gain
+      int[] bcols = new int[bundle.size()];
+      for (int m = 0; m < bcols.length; m++) bcols[m] = cands[bundle.get(m)];
+      cols.add(bcols);
+    }
+    if (cols.isEmpty()) return null;
+    FeatureBundles fb = make(ncols, cols, splitPts);
+    Bundle bundle = new Bundle(fb, splitPts);
+    Frame fr = bundle.doAll(fb._cols.length, Vec.T_NUM, new Frame(fb.members(train))).outputFrame(fb.names(), null);
+
+    // The rows left out of the sample may still conflict: drop those bundles
+    int nconflicts = 0;
+    for (boolean c : bundle._conflicts) if (c) nconflicts++;
+    if (nconflicts > 0) {
+      List<int[]> kept = new ArrayList<>();
+      List<Vec> keptVecs = new ArrayList<>();
+      Futures rfs = new Futures();
+      for (int b = 0; b < fb._cols.length; b++) {
+        if (bundle._conflicts[b]) fr.vec(b).remove(rfs);
+        else {
+          kept.add(fb._cols[b]);
+          keptVecs.add(fr.vec(b));
+        }
+      }
+      rfs.blockForPending();
+      Log.info("Dropped " + nconflicts + " bundles with conflicts outside of the sampled rows.");
+      if (kept.isEmpty()) return null;
+      fb = make(ncols, kept, splitPts);
+      fr = new Frame(fb.names(), keptVecs.toArray(new Vec[0]));
+    }
+    fb._fr = fr;
+
+    int nmembers = 0;
+    for (int[] members : fb._cols)
+      for (int c : members) {
+        nmembers++;
+        // A 0/1 member is pre-binned over its values, so that its histograms line up with the bundle
+        if (binned[c] == null && keys[c] != null)
+          DKV.putReplicated(new DHistogram.HistoQuantiles(keys[c], DHistogram.BINARY_BINS, DHistogram.BINARY_BINS, DHistogram.BINARY_BINS), fs);
+      }
+    Log.info("Bundled " + nmembers + " exclusive sparse predictors into " + fb._cols.length + " columns.");
+    return fb;
+  }
+
+  // The bundles of the given members, each member's bins after the previous one's
+  private static FeatureBundles make(int ncols, List<int[]> cols, double[][] splitPts) {
+    int[][] offsets = new int[cols.size()][];
+    for (int b = 0; b < offsets.length; b++) {
+      int[] bcols = cols.get(b);
+      int[] boffs = offsets[b] = new int[bcols.length];
+      int off = 0;
+      for (int m = 0; m < bcols.length; m++) {
+        boffs[m] = off;
+        off += splitPts[bcols[m]].length;
+      }
+    }
+    return new FeatureBundles(ncols, cols.toArray(new int[0][]), offsets, splitPts);
+  }
+
+  private Vec[] members(Frame train) {
+    List<Vec> vecs = new ArrayList<>();
+    for (int[] members : _cols)
+      for (int c : members) vecs.add(train.vec(c));
+    return vecs.toArray(new Vec[0]);
+  }
+
+  private String[] names() {
+    String[] names = new String[_cols.length];
+    for (int b = 0; b < names.length; b++) names[b] = "Bundle_" + b;
+    return names;
+  }
+
+  // Per chunk, the index of its first row in the sample, or -1 if not
+  // sampled: whole chunks, evenly spread, up to about sampleRows rows
+  private static int[] sampleChunks(Vec v, int sampleRows) {
+    int nchunks = v.nChunks();
+    int[] start = new int[nchunks];
+    Arrays.fill(start, -1);
+    long[] espc = v.espc();
+    int nsampled = (int) Math.min(nchunks, Math.max(1, (long) sampleRows * nchunks / Math.max(1, v.length())));
+    int rows = 0;
+    for (int i = 0; i < nsampled; i++) {
+      int cidx = (int) ((long) i * nchunks / nsampled);
+      start[cidx] = rows;
+      rows += (int) (espc[cidx + 1] - espc[cidx]);
+    }
+    return start;
+  }
+
+  private static boolean anySet(BitSet bits, int[] rows) {
+    for (int r : rows)
+      if (bits.get(r)) return true;
+    return false;
+  }
+
+  // Per column, the sampled rows where it is nonzero
+  private static class SampleNonzeros extends MRTask<SampleNonzeros> {
+    final int _n;
+    final int[] _sampleStart;
+    int[][] _rows;
+    SampleNonzeros(int n, int[] sampleStart) { _n = n; _sampleStart = sampleStart; }
+    @Override public void map(Chunk[] cs) {
+      int start = _sampleStart[cs[0].cidx()];
+      if (start < 0) return;
+      int len = cs[0]._len;
+      double[] vals = MemoryManager.malloc8d(len);
+      int[] ids = MemoryManager.malloc4(len);
+      _rows = new int[_n][];
+      for (int c = 0; c < cs.length; c++) {
+        int nz = cs[c].getSparseDoubles(vals, ids);
+        int[] rows = new int[nz];
+        int k = 0;
+        for (int i = 0; i < nz; i++)
+          if (vals[i] != 0) rows[k++] = start + ids[i];
+        _rows[c] = Arrays.copyOf(rows, k);
+      }
+    }
+    @Override public void reduce(SampleNonzeros sn) {
+      if (_rows == null) { _rows = sn._rows; return; }
+      if (sn._rows == null) return;
+      for (int c = 0; c < _n; c++) {
+        int[] rows = Arrays.copyOf(_rows[c], _rows[c].length + sn._rows[c].length);
+        System.arraycopy(sn._rows[c], 0, rows, _rows[c].length, sn._rows[c].length);
+        _rows[c] = rows;
+      }
+    }
+    @Override public void postGlobal() {
+      if (_rows == null) _rows = new int[_n][0];
+    }
+  }
+
+  // The bundled values, from the members of all bundles in order, and which
+  // bundles have two members nonzero in the same row
+  private static class Bundle extends MRTask<Bundle> {
+    final FeatureBundles _fb;
+    final double[][] _splitPts;
+    boolean[] _conflicts;
+    Bundle(FeatureBundles fb, double[][] splitPts) { _fb = fb; _splitPts = splitPts; }
+    @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+      int len = cs[0]._len;
+      double[] vals = MemoryManager.malloc8d(len);
+      int[] ids = MemoryManager.malloc4(len);
+      int[] bundled = MemoryManager.malloc4(len);
+      _conflicts = new boolean[_fb._cols.length];
+      int k = 0;
+      for (int b = 0; b < _fb._cols.length; b++) {
+        Arrays.fill(bundled, 0);
+        int[] members = _fb._cols[b];
+        for (int m = 0; m < members.length; m++, k++) {
+          double[] pts = _splitPts[members[m]];
+          int off = _fb._offsets[b][m] + 1;
+          int nz = cs[k].getSparseDoubles(vals, ids);
+          for (int i = 0; i < nz; i++) {
+            if (vals[i] == 0) continue;
+            if (bundled[ids[i]] != 0) _conflicts[b] = true;
+            bundled[ids[i]] = off + DHistogram.globalBin(pts, vals[i]);
+          }
+        }
+        for (int r = 0; r < len; r++) ncs[b].addNum(bundled[r], 0);
+      }
+    }
+    @Override public void reduce(Bundle bd) {
+      if (_conflicts == null) { _conflicts = bd._conflicts; return; }
+      if (bd._conflicts == null) return;
+      for (int b = 0; b < _conflicts.length; b++) _conflicts[b] |= bd._conflicts[b];
+    }
+    @Override public void postGlobal() {
+      if (_conflicts == null) _conflicts = new boolean[_fb._cols.length];
+    }
+  }
+}
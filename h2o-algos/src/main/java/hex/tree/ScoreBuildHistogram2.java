@@ -64,13 +64,25 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
   transient double [][] _ws;
   transient int [][] _nhs;
   transient int [][] _rss;
+  transient int [][] _lfs;    // Per chunk with sparse predictors, the leaf of each row (negative if none); else null
+  transient double [][] _lts; // Per chunk with sparse predictors or bundles, the leaf totals of w, wY and wYY; else null
+  double [] _bundleLts;       // With bundles, the leaf totals of w, wY and wYY over all rows, for the members' zero bins
   Frame _fr2;
   final int _numLeafs;
   final IcedBitSet _activeCols;
+  final boolean [][] _derived; // [leaf][col] histograms filled as parent minus sibling in postGlobal, instead of from the data
+  final int [] _binIdxs; // Per predictor, index of its pre-binned column in the frame or -1, then per bundle; null if none
+  final FeatureBundles _bundles; // Predictors whose histograms are built from a bundled column; null if none
 
   public ScoreBuildHistogram2(H2O.H2OCountedCompleter cc, int k, int ncols, int nbins, int nbins_cats, DTree tree, int leaf, DHistogram[][] hcs, DistributionFamily family, int weightIdx, int workIdx, int nidIdxs) {
+    this(cc, k, ncols, nbins, nbins_cats, tree, leaf, hcs, family, weightIdx, workIdx, nidIdxs, null, null);
+  }
+
+  public ScoreBuildHistogram2(H2O.H2OCountedCompleter cc, int k, int ncols, int nbins, int nbins_cats, DTree tree, int leaf, DHistogram[][] hcs, DistributionFamily family, int weightIdx, int workIdx, int nidIdxs, int[] binIdxs, FeatureBundles bundles) {
     super(cc, k, ncols, nbins, nbins_cats, tree, leaf, hcs, family, weightIdx, workIdx, nidIdxs);
     _numLeafs = _hcs.length;
+    _binIdxs = binIdxs;
+    _bundles = binIdxs == null ? null : bundles;
 
     int hcslen = _hcs.length;
     IcedBitSet activeCols = new IcedBitSet(ncols);
@@ -85,9 +97,49 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       }
     }
     _activeCols = activeCols;
+    _derived = _tree._parms._histogram_subtraction ? derivedHistos() : null;
     _hcs = ArrayUtils.transpose(_hcs);
   }
 
+  // Which leaf histograms can be derived from the parent's and the sibling's:
+  // all three need the same bins, and the sibling must build its histogram.
+  // The leaves keep only the parent's histograms they derive from; the others
+  // are released here, and the rest in postGlobal.
+  private boolean [][] derivedHistos() {
+    boolean [][] derived = null;
+    for (int n = 0; n < _numLeafs; n++) {
+      DTree.UndecidedNode u = _tree.undecided(n + _leaf);
+      DHistogram[] parentHs = u._parentHs;
+      if (parentHs == null) continue;
+      u._parentHs = null;
+      int sib = u._siblingNid - _leaf;
+      if (sib < 0 || sib >= _numLeafs) continue;
+      DTree.UndecidedNode s = _tree.undecided(u._siblingNid);
+      for (int c = 0; c < _ncols; c++) {
+        DHistogram h = _hcs[n][c], p = parentHs[c];
+        if (h == null || p == null || p._vals == null) continue;
+        if (!h.sameBins(p) || !h.sameBins(_hcs[sib][c])) continue;
+        if (!scores(u, c) || !scores(s, c)) continue;
+        if (derived == null) derived = new boolean[_numLeafs][];
+        if (derived[n] == null) {
+          derived[n] = new boolean[_ncols];
+          u._parentHs = new DHistogram[_ncols];
+        }
+        derived[n][c] = true;
+        u._parentHs[c] = p;
+      }
+    }
+    return derived;
+  }
+
+  private static boolean scores(DTree.UndecidedNode u, int col) {
+    return u._scoreCols == null || ArrayUtils.find(u._scoreCols, col) >= 0;
+  }
+
+  private boolean isDerived(int n, int col) {
+    return _derived != null && _derived[n] != null && _derived[n][col];
+  }
+
   @Override
   public ScoreBuildHistogram dfork2(byte[] types, Frame fr, boolean run_local) {
     _fr2 = fr;
@@ -146,6 +198,29 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     return res;
   }
 
+  // Node-local memory: per-row nids, sorted rows, responses and weights, plus
+  // what phase 2 holds at once - at most one worker per CPU, each with a
+  // private copy of the leaf histograms of one column (of all members, for a
+  // bundle) and its chunk scratch arrays.  Saturates instead of wrapping
+  // around on absurd sizes.
+  @Override
+  protected long memoryPerNode() {
+    long rows = _fr2.numRows() / Math.max(1, H2O.CLOUD.size());
+    long rowBytes = rows * (4 + 4 + 8 + (_weightIdx == -1 ? 0 : 8));
+    long histoBytes = (long) _numLeafs * (3L * Math.max(_nbins, _nbins_cats) + 3) * 8;
+    long[] espc = _fr2.anyVec().espc();
+    long maxChunkSz = 0;
+    for (int i = 1; i < espc.length; i++)
+      maxChunkSz = Math.max(maxChunkSz, espc[i] - espc[i - 1]);
+    int cols = 1;
+    if (_bundles != null)
+      for (int[] members : _bundles._cols) cols = Math.max(cols, members.length);
+    if (histoBytes > Long.MAX_VALUE / (cols * (long) H2O.NUMCPUS)) return Long.MAX_VALUE;
+    long threadBytes = histoBytes * cols + maxChunkSz * (8 + 4 + 4);
+    if (threadBytes > (Long.MAX_VALUE - rowBytes) / H2O.NUMCPUS) return Long.MAX_VALUE;
+    return rowBytes + threadBytes * H2O.NUMCPUS;
+  }
+
   @Override
   public void setupLocal() {
     addToPendingCount(1);
@@ -159,6 +234,8 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     _ws = new double[_cids.length][];
     _nhs = new int[_cids.length][];
     _rss = new int[_cids.length][];
+    _lfs = new int[_cids.length][];
+    _lts = new double[_cids.length][];
     long [] espc = v.espc();
     int largestChunkSz = 0;
     for(int i = 1; i < espc.length; ++i){
@@ -175,7 +252,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     // First do the phase 1 on all local data
     new LocalMR(new MrFun(){
       // more or less copied from ScoreBuildHistogram
-      private void map(int id, Chunk [] chks) {
+      private int [] map(int id, Chunk [] chks) {
         final C4VolatileChunk nids = (C4VolatileChunk) chks[_nidIdx];
         // Pass 1: Score a prior partially-built tree model, and make new Node
         // assignments to every row.  This involves pulling out the current
@@ -207,6 +284,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
         for (int row = 0; row < nnids.length; row++)
           if (nnids[row] >= 0)
             rows[nh[nnids[row]]++] = row;
+        return nnids;
 
       }
       @Override
@@ -217,7 +295,7 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           Chunk [] chks = _chks[id];
           for (int i = 0; i < chks.length; ++i)
             chks[i] = vecs[i].chunkForChunkIdx(cidx);
-          map(id,chks);
+          int [] nnids = map(id,chks);
           chks[_nidIdx].close(cidx,_fs);
           Chunk resChk = chks[_workIdx];
           int len = resChk.len();
@@ -227,16 +305,26 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
           if(_weightIdx != -1){
             _ws[id] = chks[_weightIdx].getDoubles(MemoryManager.malloc8d(len), 0, len);
           }
+          if (hasSparseZero(chks)) _lfs[id] = nnids;
+          if (_lfs[id] != null || _bundles != null)
+            _lts[id] = leafTotals(_ws[id], _ys[id], _nhs[id], _rss[id]);
         }
       }
     },new H2O.H2OCountedCompleter(this){
       public void onCompletion(CountedCompleter cc){
+        if (_bundles != null) {
+          _bundleLts = new double[3*_numLeafs];
+          for (double [] lts : _lts)
+            if (lts != null) ArrayUtils.add(_bundleLts, lts);
+        }
         final int ncols = _ncols;
         final int [] active_cols = _activeCols == null?null:new int[Math.max(1,_activeCols.cardinality())];
         int nactive_cols = active_cols == null?ncols:active_cols.length;
         final int numWrks = _hcs.length*nactive_cols < 16*1024?H2O.NUMCPUS:Math.min(H2O.NUMCPUS,Math.max(4*H2O.NUMCPUS/nactive_cols,1));
         final int rem = H2O.NUMCPUS-numWrks*ncols;
-        ScoreBuildHistogram2.this.addToPendingCount(1+nactive_cols);
+        final int nbundles = _bundles == null || _hcs.length == 0 ? 0 : _bundles.numBundles();
+        final int ncol_tasks = nactive_cols;
+        ScoreBuildHistogram2.this.addToPendingCount(1+nactive_cols+nbundles);
         if(active_cols != null) {
           int j = 0;
           for (int i = 0; i < ncols; ++i)
@@ -252,17 +340,52 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
         //       Other threads start stealing work from the bottom.
         //    2) forks the leaf task and (because its polling from the top) executes the LocalMr for the column 0.
         // This way we should have columns as equally distributed as possible without resorting to shared priority queue
+        // Bundled columns come last, each one in place of all its member columns.
         new LocalMR(new MrFun() {
           @Override
           protected void map(int c) {
+            if (c >= ncol_tasks) {
+              int b = c - ncol_tasks;
+              new LocalMR(new ComputeBundleThread(b,fLargestChunkSz,new AtomicInteger()),numWrks,ScoreBuildHistogram2.this).fork();
+              return;
+            }
             c = active_cols == null?c:active_cols[c];
+            if (nbundles > 0 && _bundles._bundleOf[c] >= 0) {
+              ScoreBuildHistogram2.this.tryComplete(); // Built by its bundle
+              return;
+            }
             new LocalMR(new ComputeHistoThread(_hcs.length == 0?new DHistogram[0]:_hcs[c],c,fLargestChunkSz,new AtomicInteger()),numWrks + (c < rem?1:0),ScoreBuildHistogram2.this).fork();
           }
-        },nactive_cols,ScoreBuildHistogram2.this).fork();
+        },nactive_cols+nbundles,ScoreBuildHistogram2.this).fork();
       }
     }).fork();
   }
 
+  private boolean hasSparseZero(Chunk [] chks) {
+    for (int c = 0; c < _ncols; c++)
+      if (chks[c].isSparseZero()) return true;
+    return false;
+  }
+
+  // Sums of w, wY and wYY over the rows of each leaf
+  private double [] leafTotals(double [] ws, double [] ys, int [] nh, int [] rs) {
+    double [] lts = new double[3*_numLeafs];
+    for (int n = 0; n < _numLeafs; n++) {
+      int hi = nh[n];
+      int lo = (n == 0 ? 0 : nh[n - 1]);
+      for (int r = lo; r < hi; ++r) {
+        int k = rs[r];
+        double weight = ws[k];
+        if (weight == 0) continue;
+        double wy = weight * ys[k];
+        lts[3*n] += weight;
+        lts[3*n+1] += wy;
+        lts[3*n+2] += wy * ys[k];
+      }
+    }
+    return lts;
+  }
+
   private static void mergeHistos(DHistogram [] hcs, DHistogram [] hcs2){
     // Distributed histograms need a little work
     for( int i=0; i< hcs.length; i++ ) {
@@ -296,13 +419,75 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     @Override
     protected void map(int id){
       double [] cs = null;
+      int [] bs = null;
+      int [] ids = null;
+      double [] nz = null;
       for(int i = _cidx.getAndIncrement(); i < _cids.length; i = _cidx.getAndIncrement()) {
         if(cs == null) cs = MemoryManager.malloc8d(_maxChunkSz);
-        computeChunk(i,cs,_ws[i]);
+        if(_chks[i][_col].isSparseZero()) {
+          if(ids == null) ids = MemoryManager.malloc4(_maxChunkSz);
+          if(nz == null) nz = MemoryManager.malloc8d(3*_lh.length);
+          computeSparseChunk(i,cs,ids,nz,_ws[i]);
+          continue;
+        }
+        if(bs == null && _binIdxs != null && _binIdxs[_col] >= 0) bs = MemoryManager.malloc4(_maxChunkSz);
+        computeChunk(i,cs,bs,_ws[i]);
       }
     }
 
-    private void computeChunk(int id, double [] cs, double [] ws){
+    // Leaf histogram of this column to fill from chunk id, initialized; null if none
+    private DHistogram histo(int id, int n) {
+      int [] nh = _nhs[id];
+      int hi = nh[n];
+      int lo = (n == 0 ? 0 : nh[n - 1]);
+      DHistogram h = _lh[n];
+      if (hi == lo || h == null || isDerived(n, _col) || !scores(_tree.undecided(n + _leaf), _col)) return null;
+      if (h._vals == null) h.init();
+      return h;
+    }
+
+    // Visits only the nonzero rows; the zero bin of each leaf gets the leaf
+    // total less the nonzero rows
+    private void computeSparseChunk(int id, double [] vals, int [] ids, double [] nz, double [] ws){
+      int len = _chks[id][_workIdx]._len;
+      double [] ys = ScoreBuildHistogram2.this._ys[id];
+      int [] lfs = _lfs[id];
+      double [] lts = _lts[id];
+      if(_weightIdx != -1) _chks[id][_weightIdx].getDoubles(ws, 0, len);
+      final int hcslen = _lh.length;
+      DHistogram [] hs = new DHistogram[hcslen];
+      boolean any = false;
+      for (int n = 0; n < hcslen; n++)
+        any |= (hs[n] = histo(id, n)) != null;
+      if (!any) return;
+      Arrays.fill(nz, 0, 3*hcslen, 0);
+      int nzs = _chks[id][_col].getSparseDoubles(vals, ids);
+      for (int i = 0; i < nzs; i++) {
+        double d = vals[i];
+        if (d == 0) continue; // Counted with the zeros
+        int k = ids[i];
+        int n = lfs[k];
+        if (n < 0) continue;
+        DHistogram h = hs[n];
+        double weight = ws[k];
+        if (h == null || weight == 0) continue;
+        double y = ys[k];
+        double wy = weight * y;
+        double wyy = wy * y;
+        h.addValue(d, weight, wy, wyy);
+        nz[3*n] += weight; nz[3*n+1] += wy; nz[3*n+2] += wyy;
+      }
+      for (int n = 0; n < hcslen; n++) {
+        DHistogram h = hs[n];
+        if (h == null) continue;
+        double tw = lts[3*n];
+        double zw = tw - nz[3*n];
+        if (zw > 1e-12 * tw) // Else all rows were nonzero, up to roundoff error
+          h.addZeros(zw, lts[3*n+1] - nz[3*n+1], lts[3*n+2] - nz[3*n+2]);
+      }
+    }
+
+    private void computeChunk(int id, double [] cs, int [] bs, double [] ws){
       int [] nh = _nhs[id];
       int [] rs = _rss[id];
       Chunk resChk = _chks[id][_workIdx];
@@ -310,15 +495,23 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
       double [] ys = ScoreBuildHistogram2.this._ys[id];
       if(_weightIdx != -1) _chks[id][_weightIdx].getDoubles(ws, 0, len);
       final int hcslen = _lh.length;
-      boolean extracted = false;
+      boolean extracted = false, extractedBins = false;
       for (int n = 0; n < hcslen; n++) {
         int sCols[] = _tree.undecided(n + _leaf)._scoreCols; // Columns to score (null, or a list of selected cols)
-        if (sCols == null || ArrayUtils.find(sCols, _col) >= 0) {
+        if ((sCols == null || ArrayUtils.find(sCols, _col) >= 0) && !isDerived(n, _col)) {
           DHistogram h = _lh[n];
           int hi = nh[n];
           int lo = (n == 0 ? 0 : nh[n - 1]);
           if (hi == lo || h == null) continue; // Ignore untracked columns in this split
           if (h._vals == null) h.init();
+          if (bs != null && h.isPrebinned()) {
+            if (!extractedBins) {
+              _chks[id][_binIdxs[_col]].getIntegers(bs,0,len,-1);
+              extractedBins = true;
+            }
+            h.updateHistoBins(ws, bs, ys, rs, hi, lo);
+            continue;
+          }
           if (!extracted) {
             _chks[id][_col].getDoubles(cs,0,len);
             extracted = true;
@@ -335,8 +528,199 @@ public class ScoreBuildHistogram2 extends ScoreBuildHistogram {
     }
   }
 
+  // Histograms of all members of one bundle, from one pass over the bundled
+  // column.  Only nonzeros are added here, and a member's histogram of a leaf
+  // is allocated at its first nonzero in the leaf; the zero bins are filled
+  // from the leaf totals in postGlobal.
+  private class ComputeBundleThread extends MrFun<ComputeBundleThread> {
+    final int _b;
+    final int _maxChunkSz;
+    final int [] _cols;
+    final DHistogram [][] _lh; // [member][leaf]
+
+    AtomicInteger _cidx;
+
+    ComputeBundleThread(int b, int maxChunkSz, AtomicInteger cidx){
+      this(b, maxChunkSz, cidx, null);
+    }
+
+    private ComputeBundleThread(int b, int maxChunkSz, AtomicInteger cidx, DHistogram [][] lh){
+      _b = b; _maxChunkSz = maxChunkSz; _cidx = cidx;
+      _cols = _bundles._cols[b];
+      if (lh == null) {
+        lh = new DHistogram[_cols.length][];
+        for (int m = 0; m < _cols.length; m++) lh[m] = _hcs[_cols[m]];
+      }
+      _lh = lh;
+    }
+
+    @Override
+    public ComputeBundleThread makeCopy() {
+      return new ComputeBundleThread(_b,_maxChunkSz,_cidx,ArrayUtils.deepClone(_lh));
+    }
+
+    @Override
+    protected void map(int id){
+      int nm = _cols.length;
+      int [] bs = null;
+      double [] cs = null;
+      DHistogram [] hs = new DHistogram[nm];
+      int [] gmin = new int[nm], gmax = new int[nm];
+      for(int i = _cidx.getAndIncrement(); i < _cids.length; i = _cidx.getAndIncrement()) {
+        if (bs == null) bs = MemoryManager.malloc4(_maxChunkSz);
+        computeChunk(i, bs, _ws[i], hs, gmin, gmax);
+        if (hasRaw()) {
+          if (cs == null) cs = MemoryManager.malloc8d(_maxChunkSz);
+          computeRaw(i, cs, _ws[i]);
+        }
+      }
+    }
+
+    // Whether the histogram of member m in leaf n is built here
+    private boolean scored(int m, int n, int [] sCols) {
+      int c = _cols[m];
+      return _lh[m][n] != null && !isDerived(n, c) && (sCols == null || ArrayUtils.find(sCols, c) >= 0);
+    }
+
+    // Whether some member's histogram has bins that do not line up with the global ones
+    private boolean hasRaw() {
+      for (DHistogram [] lh : _lh)
+        for (DHistogram h : lh)
+          if (h != null && h._vals != null && !h.isPrebinned()) return true;
+      return false;
+    }
+
+    private void computeChunk(int id, int [] bs, double [] ws, DHistogram [] hs, int [] gmin, int [] gmax){
+      int [] nh = _nhs[id];
+      int [] rs = _rss[id];
+      int len = _chks[id][_workIdx]._len;
+      double [] ys = ScoreBuildHistogram2.this._ys[id];
+      if(_weightIdx != -1) _chks[id][_weightIdx].getDoubles(ws, 0, len);
+      final int [] memberOf = _bundles._memberOf[_b];
+      final int [] offsets = _bundles._offsets[_b];
+      boolean extracted = false;
+      for (int n = 0; n < _numLeafs; n++) {
+        int hi = nh[n];
+        int lo = (n == 0 ? 0 : nh[n - 1]);
+        if (hi == lo) continue;
+        int sCols[] = _tree.undecided(n + _leaf)._scoreCols; // Columns to score (null, or a list of selected cols)
+        boolean any = false;
+        for (int m = 0; m < _cols.length; m++) {
+          DHistogram h = _lh[m][n];
+          hs[m] = null;
+          if (!scored(m, n, sCols) || (h._vals != null && !h.isPrebinned())) continue; // Raw ones in computeRaw
+          hs[m] = h;
+          any = true;
+        }
+        if (!any) continue;
+        if (!extracted) {
+          _chks[id][_binIdxs[_ncols + _b]].getIntegers(bs, 0, len, 0);
+          extracted = true;
+        }
+        Arrays.fill(gmin, Integer.MAX_VALUE);
+        Arrays.fill(gmax, -1);
+        for (int r = lo; r < hi; ++r) {
+          int k = rs[r];
+          int v = bs[k];
+          if (v == 0) continue;
+          double weight = ws[k];
+          if (weight == 0) continue;
+          int m = memberOf[v];
+          DHistogram h = hs[m];
+          if (h == null) continue;
+          if (h._vals == null) {
+            h.init();
+            if (!h.isPrebinned()) { // Left to computeRaw, this chunk included
+              hs[m] = null;
+              continue;
+            }
+          }
+          double y = ys[k];
+          double wy = weight * y;
+          int g = v - 1 - offsets[m];
+          h.addGlobalBin(g, weight, wy, wy * y);
+          if (g < gmin[m]) gmin[m] = g;
+          if (g > gmax[m]) gmax[m] = g;
+        }
+        for (int m = 0; m < _cols.length; m++)
+          if (hs[m] != null && gmax[m] >= 0)
+            hs[m].updateMinMaxBins(gmin[m], gmax[m]);
+      }
+    }
+
+    // Members whose bins do not line up with the global ones, from their raw
+    // values: each one read once per chunk, then added for all its leaves
+    private void computeRaw(int id, double [] cs, double [] ws){
+      int [] nh = _nhs[id];
+      int [] rs = _rss[id];
+      int len = _chks[id][_workIdx]._len;
+      double [] ys = ScoreBuildHistogram2.this._ys[id];
+      for (int m = 0; m < _cols.length; m++) {
+        boolean extracted = false;
+        for (int n = 0; n < _numLeafs; n++) {
+          int hi = nh[n];
+          int lo = (n == 0 ? 0 : nh[n - 1]);
+          if (hi == lo) continue;
+          DHistogram h = _lh[m][n];
+          if (h == null || h._vals == null || h.isPrebinned()) continue;
+          if (!scored(m, n, _tree.undecided(n + _leaf)._scoreCols)) continue;
+          if (!extracted) {
+            _chks[id][_cols[m]].getDoubles(cs, 0, len);
+            extracted = true;
+          }
+          h.updateHisto(ws, cs, ys, rs, hi, lo);
+        }
+      }
+    }
+
+    @Override
+    protected void reduce(ComputeBundleThread cc) {
+      assert _lh != cc._lh;
+      for (int m = 0; m < _lh.length; m++)
+        mergeHistos(_lh[m], cc._lh[m]);
+    }
+  }
+
+  @Override public void reduce(ScoreBuildHistogram sbh) {
+    super.reduce(sbh);
+    double [] lts = ((ScoreBuildHistogram2) sbh)._bundleLts;
+    if (_bundleLts == null) _bundleLts = lts;
+    else if (lts != null && lts != _bundleLts) ArrayUtils.add(_bundleLts, lts);
+  }
+
+  // The bundles added only the members' nonzeros: each zero bin gets what is
+  // left of the leaf total.  A member on the raw path has all its rows
+  // already, and nothing is left.
+  private void addBundledZeros() {
+    for (int n = 0; n < _hcs.length; n++) {
+      double tw = _bundleLts[3*n], twy = _bundleLts[3*n+1], twyy = _bundleLts[3*n+2];
+      for (int [] members : _bundles._cols)
+        for (int c : members) {
+          DHistogram h = _hcs[n][c];
+          if (h == null || h._vals == null || isDerived(n, c)) continue;
+          double w = 0, wy = 0, wyy = 0;
+          for (int i = 0; i < h._vals.length; i += 3) {
+            w += h._vals[i]; wy += h._vals[i+1]; wyy += h._vals[i+2];
+          }
+          double zw = tw - w;
+          if (zw > 1e-12 * tw) // Else all rows were nonzero, up to roundoff error
+            h.addZeros(zw, twy - wy, twyy - wyy);
+        }
+    }
+  }
+
   @Override public void postGlobal(){
     _hcs = ArrayUtils.transpose(_hcs);
+    if (_bundleLts != null) addBundledZeros();
+    if (_derived != null)
+      for (int n = 0; n < _hcs.length; n++) {
+        if (_derived[n] == null) continue;
+        DTree.UndecidedNode u = _tree.undecided(n + _leaf);
+        for (int c = 0; c < _ncols; c++)
+          if (_derived[n][c])
+            _hcs[n][c].setToDifference(u._parentHs[c], _hcs[u._siblingNid - _leaf][c]);
+        u._parentHs = null; // Done with the parent's histograms
+      }
     for(DHistogram [] ary:_hcs)
       for(DHistogram dh:ary) {
         if(dh == null) continue;
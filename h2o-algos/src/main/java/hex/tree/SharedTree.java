@@ -17,6 +17,7 @@ import water.exceptions.H2OIllegalArgumentException;
 import water.exceptions.H2OModelBuilderIllegalArgumentException;
 import water.fvec.Chunk;
 import water.fvec.Frame;
+import water.fvec.NewChunk;
 import water.fvec.Vec;
 import water.udf.CFuncRef;
 import water.util.*;
@@ -70,6 +71,17 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
   protected transient int _lastScoredTree = 0;
 
   protected transient Frame _trainPredsCache;
+
+  // Global-quantile bin indices of the predictors, see _parms._histogram_prebin;
+  // _prebinnedIdxs[c] is the column of predictor c, or -1
+  protected transient Frame _prebinned;
+  protected transient int[] _prebinnedIdxs;
+  // Bundles of exclusive sparse pre-binned predictors, see _parms._exclusive_feature_bundling
+  protected transient FeatureBundles _bundles;
+
+  // Per class, row weights to build the histograms with instead of the
+  // training weights (e.g. GBM's GOSS sampling); null to use the training weights
+  protected transient Vec[] _treeWeights;
   protected transient Frame _validPredsCache;
 
   public boolean isSupervised(){return true;}
@@ -199,6 +211,7 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
 
     @Override public void computeImpl() {
       _model = null;            // Resulting model!
+      Frame pinned = null;      // Working set kept resident while building trees
       try {
         init(true);             // Do any expensive tests & conversions now
         if( error_count() > 0 )
@@ -290,6 +303,8 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
           Key[] keys = new Key[splitPoints.length];
           for (int i=0;i<keys.length;++i)
             keys[i] = getGlobalQuantilesKey(i);
+          // Every node reads the split points for every histogram; replicate them up front
+          Futures fs = new Futures();
           for (int i=0;i<origQuantiles.length;++i) {
             if (!_train.vec(i).isNumeric() || _train.vec(i).isCategorical() || _train.vec(i).isBinary() || origQuantiles[i].length <= 1) {
               keys[i] = null;
@@ -302,12 +317,15 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
             else
               splitPoints[i] = ArrayUtils.padUniformly(splitPoints[i], _parms._nbins_top_level);
             assert splitPoints[i] == null || splitPoints[i].length > 1;
-            if (splitPoints[i]!=null && keys[i]!=null) {
+            if (splitPoints[i]!=null && keys[i]!=null && !(_parms._histogram_prebin && i < _ncols)) {
 //              Log.info("Creating quantiles for column " + i + " (key: "+ keys[i] +")");
 //              Log.info("Quantiles for column " + i + ": " + Arrays.toString(quantiles[i]));
-              DKV.put(new DHistogram.HistoQuantiles(keys[i], splitPoints[i]));
+              DKV.putReplicated(new DHistogram.HistoQuantiles(keys[i], splitPoints[i]), fs);
             }
           }
+          if (_parms._histogram_prebin)
+            prebin(splitPoints, keys, fs);
+          fs.blockForPending();
           qm.delete();
           DKV.remove(rndKey);
         }
@@ -340,6 +358,11 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
         _train.add(names, vs);
         // Append number of trees participating in on-the-fly scoring
         _train.add("OUT_BAG_TREES", _response.makeZero());
+        // Every tree rescans the whole training frame; hint the Cleaner to keep it in memory
+        pinned = new Frame(_train);
+        if (_prebinned != null) pinned.add(_prebinned);
+        if (_bundles != null) pinned.add(_bundles._fr);
+        EvictionPolicy.pin(pinned);
 
         if (_valid != null) {
           _validWorkspace = makeValidWorkspace();
@@ -356,8 +379,21 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
         scoreAndBuildTrees(doOOBScoring());
 
       } finally {
+        if( pinned!=null ) EvictionPolicy.unpin(pinned);
         if( _model!=null ) _model.unlock(_job);
         for (Key k : getGlobalQuantilesKeys()) if (k!=null) k.remove();
+        if (_prebinned != null) {
+          _prebinned.remove();
+          _prebinned = null;
+        }
+        if (_bundles != null) {
+          _bundles._fr.remove();
+          _bundles = null;
+        }
+        if (_treeWeights != null) {
+          for (Vec v : _treeWeights) if (v != null) v.remove();
+          _treeWeights = null;
+        }
         if (_validWorkspace != null) {
           _validWorkspace.remove();
           _validWorkspace = null;
@@ -373,6 +409,40 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
       }
     }
 
+    // Convert the predictors with global split points into their bin indices,
+    // once for all trees, and publish the split points along with the
+    // observed range of each bin
+    private void prebin(double[][] splitPoints, Key[] keys, Futures fs) {
+      int[] cols = new int[_ncols];
+      int n = 0;
+      for (int i = 0; i < _ncols; ++i)
+        if (splitPoints[i] != null && keys[i] != null) cols[n++] = i;
+      if (n == 0) return;
+      cols = Arrays.copyOf(cols, n);
+      Vec[] vecs = new Vec[n];
+      double[][] pts = new double[n][];
+      String[] names = new String[n];
+      for (int j = 0; j < n; ++j) {
+        vecs[j] = _train.vec(cols[j]);
+        pts[j] = splitPoints[cols[j]];
+        names[j] = "Bins_" + _train.name(cols[j]);
+      }
+      PreBin pb = new PreBin(pts).doAll(n, Vec.T_NUM, new Frame(vecs));
+      _prebinned = pb.outputFrame(names, null);
+      _prebinnedIdxs = new int[_ncols];
+      Arrays.fill(_prebinnedIdxs, -1);
+      for (int j = 0; j < n; ++j) {
+        _prebinnedIdxs[cols[j]] = j;
+        DKV.putReplicated(new DHistogram.HistoQuantiles(keys[cols[j]], pts[j], pb._binMin[j], pb._binMax[j]), fs);
+      }
+      Log.info("Pre-binned " + n + " predictors for histogram building.");
+      if (_parms._exclusive_feature_bundling) {
+        double[][] binned = new double[_ncols][];
+        for (int j = 0; j < n; ++j) binned[cols[j]] = pts[j];
+        _bundles = FeatureBundles.make(_train, _ncols, binned, getGlobalQuantilesKeys(), fs);
+      }
+    }
+
     // Abstract classes implemented by the tree builders
     abstract protected M makeModel(Key<M> modelKey, P parms);
     abstract protected boolean doOOBScoring();
@@ -445,6 +515,43 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
     }
   }
 
+  // Global bin index of every value (NA for NAs), and the observed min/max per bin
+  private static class PreBin extends MRTask<PreBin> {
+    final double[][] _splitPts;
+    double[][] _binMin, _binMax;
+    PreBin(double[][] splitPts) { _splitPts = splitPts; }
+    @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+      _binMin = new double[cs.length][];
+      _binMax = new double[cs.length][];
+      double[] ds = MemoryManager.malloc8d(cs[0]._len);
+      for (int c = 0; c < cs.length; ++c) {
+        double[] pts = _splitPts[c];
+        double[] mins = _binMin[c] = new double[pts.length];
+        double[] maxs = _binMax[c] = new double[pts.length];
+        Arrays.fill(mins, Double.MAX_VALUE);
+        Arrays.fill(maxs, -Double.MAX_VALUE);
+        cs[c].getDoubles(ds, 0, cs[c]._len);
+        for (int r = 0; r < cs[c]._len; ++r) {
+          double d = ds[r];
+          if (Double.isNaN(d)) { ncs[c].addNA(); continue; }
+          int g = DHistogram.globalBin(pts, d);
+          if (d < mins[g]) mins[g] = d;
+          if (d > maxs[g]) maxs[g] = d;
+          ncs[c].addNum(g, 0);
+        }
+      }
+    }
+    @Override public void reduce(PreBin pb) {
+      if (_binMin == null) { _binMin = pb._binMin; _binMax = pb._binMax; return; }
+      if (pb._binMin == null) return;
+      for (int c = 0; c < _binMin.length; ++c)
+        for (int g = 0; g < _binMin[c].length; ++g) {
+          _binMin[c][g] = Math.min(_binMin[c][g], pb._binMin[c][g]);
+          _binMax[c][g] = Math.max(_binMax[c][g], pb._binMax[c][g]);
+        }
+    }
+  }
+
   // --------------------------------------------------------------------------
   // Build an entire layer of all K trees
   protected DHistogram[][][] buildLayer(final Frame fr, final int nbins, int nbins_cats, final DTree ktrees[], final int leafs[], final DHistogram hcs[][][], boolean build_tree_one_node) {
@@ -469,13 +576,32 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
       fr2.add(fr._names[idx_tree(k)],vecs[idx_tree(k)]);                              //tree predictions
       int workIdx = fr2.numCols(); fr2.add(fr._names[idx_work(k)],vecs[idx_work(k)]); //target value to fit (copy of actual response for DRF, residual for GBM)
       int nidIdx  = fr2.numCols(); fr2.add(fr._names[idx_nids(k)],vecs[idx_nids(k)]); //node indices for tree construction
+      if (_treeWeights != null && _treeWeights[k] != null) { // weights of this tree's sample, replacing the training weights
+        weightIdx = fr2.numCols(); fr2.add("TreeWeights_" + k, _treeWeights[k]);
+      }
+      int[] binIdxs = null;
+      if (_prebinned != null) { // pre-binned predictors, read instead of the raw values where the histograms allow
+        binIdxs = new int[_ncols];
+        Arrays.fill(binIdxs, -1);
+        for (int c = 0; c < _ncols; c++) {
+          int j = _prebinnedIdxs[c];
+          if (j < 0) continue;
+          binIdxs[c] = fr2.numCols(); fr2.add(_prebinned._names[j], _prebinned.vec(j));
+        }
+        if (_bundles != null) { // bundled columns follow, at binIdxs[_ncols+b]
+          binIdxs = Arrays.copyOf(binIdxs, _ncols + _bundles.numBundles());
+          for (int b = 0; b < _bundles.numBundles(); b++) {
+            binIdxs[_ncols + b] = fr2.numCols(); fr2.add(_bundles._fr._names[b], _bundles._fr.vec(b));
+          }
+        }
+      }
       if (DEV_DEBUG) {
         System.out.println("Building a layer for class " + k + ":\n" + fr2.toTwoDimTable());
       }
       // Async tree building
       // step 1: build histograms
       // step 2: split nodes
-      H2O.submitTask(sb1ts[k] = new ScoreBuildOneTree(this,k,nbins, nbins_cats, tree, leafs, hcs, fr2, build_tree_one_node, _improvPerVar, _model._parms._distribution, weightIdx, workIdx, nidIdx));
+      H2O.submitTask(sb1ts[k] = new ScoreBuildOneTree(this,k,nbins, nbins_cats, tree, leafs, hcs, fr2, build_tree_one_node, _improvPerVar, _model._parms._distribution, weightIdx, workIdx, nidIdx, binIdxs, _bundles));
     }
     // Block for all K trees to complete.
     boolean did_split=false;
@@ -514,10 +640,12 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
     final int _weightIdx;
     final int _workIdx;
     final int _nidIdx;
+    final int[] _binIdxs;
+    final FeatureBundles _bundles;
 
     boolean _did_split;
 
-    ScoreBuildOneTree(SharedTree st, int k, int nbins, int nbins_cats, DTree tree, int leafs[], DHistogram hcs[][][], Frame fr2, boolean build_tree_one_node, float[] improvPerVar, DistributionFamily family, int weightIdx, int workIdx, int nidIdx) {
+    ScoreBuildOneTree(SharedTree st, int k, int nbins, int nbins_cats, DTree tree, int leafs[], DHistogram hcs[][][], Frame fr2, boolean build_tree_one_node, float[] improvPerVar, DistributionFamily family, int weightIdx, int workIdx, int nidIdx, int[] binIdxs, FeatureBundles bundles) {
       _st   = st;
       _k    = k;
       _nbins= nbins;
@@ -532,6 +660,8 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
       _weightIdx = weightIdx;
       _workIdx = workIdx;
       _nidIdx = nidIdx;
+      _binIdxs = binIdxs;
+      _bundles = bundles;
     }
     @Override public void compute2() {
       // Fuse 2 conceptual passes into one:
@@ -543,7 +673,7 @@ public abstract class SharedTree<M extends SharedTreeModel<M,P,O>, P extends Sha
       // got assigned into.  Collect counts, mean, variance, min, max per bin,
       // per column.
 //      new ScoreBuildHistogram(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _weightIdx, _workIdx, _nidIdx).dfork2(null,_fr2,_build_tree_one_node);
-      new ScoreBuildHistogram2(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _weightIdx, _workIdx, _nidIdx).dfork2(null,_fr2,_build_tree_one_node);
+      new ScoreBuildHistogram2(this,_k, _st._ncols, _nbins, _nbins_cats, _tree, _leafOffsets[_k], _hcs[_k], _family, _weightIdx, _workIdx, _nidIdx, _binIdxs, _bundles).dfork2(null,_fr2,_build_tree_one_node);
     }
     @Override public void onCompletion(CountedCompleter caller) {
       ScoreBuildHistogram sbh = (ScoreBuildHistogram) caller;
@@ -61,6 +61,12 @@ public abstract class SharedTreeModel<
     public enum HistogramType { AUTO, UniformAdaptive, Random, QuantilesGlobal, RoundRobin }
     public HistogramType _histogram_type = HistogramType.AUTO; // What type of histogram to use for finding optimal split points
 
+    public boolean _histogram_subtraction = false; // Build the larger child's histograms as parent minus sibling (non-split columns keep the parent's bins while their range doesn't narrow)
+
+    public boolean _histogram_prebin = false; // QuantilesGlobal only: convert predictors to global bin indices once and build histograms from those (children use the unpadded global bins)
+
+    public boolean _exclusive_feature_bundling = false; // With _histogram_prebin: bundle sparse predictors that are never nonzero together, and build their histograms in one pass
+
     public double _r2_stopping = Double.MAX_VALUE; // Stop when the r^2 metric equals or exceeds this value
 
     public int _nbins_top_level = 1<<10; //hardcoded maximum top-level number of bins for real-valued columns
@@ -148,6 +148,14 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       error("_max_abs_leafnode_pred", "max_abs_leafnode_pred must be larger than 0.");
     if (_parms._pred_noise_bandwidth < 0)
       error("_pred_noise_bandwidth", "pred_noise_bandwidth must be >= 0.");
+    if (_parms._goss_top_rate != 0) {
+      if (!(0. < _parms._goss_top_rate && _parms._goss_top_rate < 1.0))
+        error("_goss_top_rate", "goss_top_rate must be between 0 and 1");
+      if (!(0. < _parms._goss_other_rate && _parms._goss_top_rate + _parms._goss_other_rate <= 1.0))
+        error("_goss_other_rate", "goss_other_rate must be larger than 0, and at most 1 - goss_top_rate");
+      if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null)
+        error("_goss_top_rate", "GOSS replaces row sampling, sample_rate and sample_rate_per_class must not be set");
+    }
   }
 
   // ----------------------
@@ -355,7 +363,11 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       // ESL2, page 387.  Step 2b iii.  Compute the gammas (leaf node predictions === fit best constant), and store them back
       // into the tree leaves.  Includes learn_rate.
       GammaPass gp = new GammaPass(frameMap, ktrees, leaves, new Distribution(_parms), _nclass);
-      gp.doAll(_train);
+      if (_treeWeights != null) { // GOSS sample weights, after all the columns of the frame map
+        gp._treeWeights0Index = _train.numCols();
+        gp.doAll(new Frame(_train).add(new Frame(_treeWeights)));
+      } else
+        gp.doAll(_train);
       if (_parms._distribution == DistributionFamily.laplace) {
         fitBestConstantsQuantile(ktrees, leaves[0], 0.5); //special case for Laplace: compute the median for each leaf node and store that as prediction
       } else if (_parms._distribution == DistributionFamily.quantile) {
@@ -398,6 +410,32 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       return converged;
     }
 
+    /**
+     * Gradient-based one-side sampling: keep the rows with the largest
+     * residuals (the top goss_top_rate fraction, by weighted quantile), and a
+     * random goss_other_rate fraction of all rows from the rest, with their
+     * weights scaled up to stand for the rows left out.  The sampled weights
+     * are used for the histograms and the leaf predictions.
+     * @param ktrees trees about to be grown, one per class
+     */
+    private void sampleGOSS(DTree[] ktrees) {
+      if (_treeWeights == null) _treeWeights = _response.makeVolatileDoubles(_nclass);
+      final double otherProb = _parms._goss_other_rate / (1 - _parms._goss_top_rate);
+      for (int k = 0; k < _nclass; k++) {
+        if (ktrees[k] == null) continue;
+        Vec absRes = new AbsResiduals().doAll(Vec.T_NUM, vec_work(_train, k)).outputFrame().anyVec();
+        double threshold = MathUtils.computeWeightedQuantile(_weights, absRes, 1 - _parms._goss_top_rate);
+        absRes.remove();
+        Frame fr = new Frame(vec_nids(_train, k), _response, vec_work(_train, k), _treeWeights[k]);
+        if (_weights != null) fr.add("weights", _weights);
+        long seed = (0xDECAF + _parms._seed) * (0xFAAAAAAB + k * _parms._ntrees + _model._output._ntrees);
+        new GOSSSample(seed, threshold, otherProb).doAll(fr, _parms._build_tree_one_node);
+        if (DEV_DEBUG) {
+          Log.debug("GOSS sampled rows (threshold " + threshold + "). NIDS:\n" + new Frame(vec_nids(_train, k)).toTwoDimTable());
+        }
+      }
+    }
+
     /**
      * How may trees are actually calculated for the number of classes the model uses.
      * @return number of trees
@@ -432,7 +470,9 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
       }
 
       // Sample - mark the lines by putting 'OUT_OF_BAG' into nid(<klass>) vector
-      if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null) {
+      if (_parms._goss_top_rate > 0) {
+        sampleGOSS(ktrees);
+      } else if (_parms._sample_rate < 1 || _parms._sample_rate_per_class != null) {
         Sample ss[] = new Sample[_nclass];
         for (int k = 0; k < _nclass; k++)
           if (ktrees[k] != null)
@@ -896,6 +936,59 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
   }
 
 
+  private static class AbsResiduals extends MRTask<AbsResiduals> {
+    @Override
+    public void map(Chunk res, NewChunk abs) {
+      for (int row = 0; row < res._len; row++)
+        abs.addNum(Math.abs(res.atd(row)));
+    }
+  }
+
+  /**
+   * Marks the rows left out by GOSS as OUT_OF_BAG, and stores the weight of
+   * each row in the sample (amplified for the small-residual ones, 0 for the
+   * rows left out).
+   * Columns: nids, response, residuals, sample weights, [training weights].
+   */
+  static class GOSSSample extends MRTask<GOSSSample> {
+    private final long _seed;
+    private final double _threshold;
+    private final double _otherProb;
+
+    GOSSSample(long seed, double threshold, double otherProb) {
+      _seed = seed;
+      _threshold = threshold;
+      _otherProb = otherProb;
+    }
+
+    @Override
+    protected boolean modifiesVolatileVecs() {
+      return true;
+    }
+
+    @Override
+    public void map(Chunk[] chks) {
+      int[] nids = ((C4VolatileChunk) chks[0]).getValues();
+      Chunk ys = chks[1];
+      Chunk res = chks[2];
+      double[] ws = ((C8DVolatileChunk) chks[3]).getValues();
+      Chunk weights = chks.length > 4 ? chks[4] : new C0DChunk(1, ys._len);
+      final double amplify = 1 / _otherProb;
+      Random rand = RandomUtils.getRNG(_seed);
+      for (int row = 0; row < ys._len; row++) {
+        double w = weights.atd(row);
+        boolean skip = ys.isNA(row);
+        if (!skip && Math.abs(res.atd(row)) < _threshold) {
+          rand.setSeed(_seed + row + ys.start()); //seeding is independent of chunking
+          skip = rand.nextFloat() >= _otherProb;
+          w *= amplify;
+        }
+        if (skip) nids[row] = ScoreBuildHistogram.OUT_OF_BAG; // Flag row as being ignored by sampling
+        ws[row] = skip ? 0 : w;
+      }
+    }
+  }
+
   private static class StoreResiduals extends MRTask<StoreResiduals> {
     private FrameMap fm;
     private Distribution dist;
@@ -948,6 +1041,7 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
     private final int _nclass;
     private double[/*tree/klass*/][/*tree-relative node-id*/] _num;
     private double[/*tree/klass*/][/*tree-relative node-id*/] _denom;
+    int _treeWeights0Index = -1; // Per-class sample weights replacing the training weights, if any
 
     public GammaPass(FrameMap frameMap, DTree[] trees, int[] leafs, Distribution distribution, int nClasses) {
       fm = frameMap;
@@ -996,7 +1090,8 @@ public class GBM extends SharedTree<GBMModel,GBMModel.GBMParameters,GBMModel.GBM
         final Chunk ress = chks[fm.work0Index + k];  // Residuals for this tree/class
         final Chunk offset = fm.offsetIndex >= 0 ? chks[fm.offsetIndex] : new C0DChunk(0, chks[0]._len);
         final Chunk preds = chks[fm.tree0Index + k];
-        final Chunk weights = fm.weightIndex >= 0 ? chks[fm.weightIndex] : new C0DChunk(1, chks[0]._len);
+        final Chunk weights = _treeWeights0Index >= 0 ? chks[_treeWeights0Index + k] :
+            fm.weightIndex >= 0 ? chks[fm.weightIndex] : new C0DChunk(1, chks[0]._len);
 
         // If we have all constant responses, then we do not split even the
         // root and the residuals should be zero.
@@ -313,4 +313,110 @@ public class HistogramTest extends TestUtil {
       Log.info("N=" + N + " Sum:" + sum + " Time: " + PrettyPrint.msecs(done - start, true));
     }
   }
+
+  // The child histogram derived as parent minus sibling is the one built directly from the child's rows
+  @Test public void testSubtraction() {
+    int N = 10000;
+    Random rng = RandomUtils.getRNG(0xDECAF);
+    double[] cs = new double[N], ys = new double[N], ws = new double[N];
+    int[] all = new int[N], child = new int[N], sibling = new int[N];
+    int nc = 0, ns = 0;
+    for (int i = 0; i < N; ++i) {
+      cs[i] = rng.nextDouble() < 0.02 ? Double.NaN : Math.max(-49, Math.min(49, 10 * rng.nextGaussian()));
+      ys[i] = rng.nextGaussian();
+      ws[i] = rng.nextInt(4);
+      all[i] = i;
+      if (rng.nextDouble() < 0.3) child[nc++] = i;
+      else sibling[ns++] = i;
+    }
+    for (SharedTreeModel.SharedTreeParameters.HistogramType histoType : new SharedTreeModel.SharedTreeParameters.HistogramType[]{
+        SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, SharedTreeModel.SharedTreeParameters.HistogramType.Random}) {
+      DHistogram hp = new DHistogram("myhisto", 20, 20, (byte) 0, -50, 50, 0, histoType, 1234, null);
+      DHistogram hc = new DHistogram(hp), hs = new DHistogram(hp), hd = new DHistogram(hp);
+      hp.init();
+      hc.init();
+      hs.init();
+      hp.updateHisto(ws, cs, ys, all, N, 0);
+      hc.updateHisto(ws, cs, ys, child, nc, 0);
+      hs.updateHisto(ws, cs, ys, sibling, ns, 0);
+      hd.setToDifference(hp, hs);
+      Assert.assertEquals(hc._vals.length, hd._vals.length);
+      for (int i = 0; i < hc._vals.length; ++i) // w, wY and wYY of every bin, NA bucket included
+        Assert.assertEquals(histoType + " " + i, hc._vals[i], hd._vals[i], 1e-9 * Math.max(1, Math.abs(hp._vals[i])));
+      Assert.assertTrue(hd._min2 <= hc._min2 && hd._maxIn >= hc._maxIn);
+    }
+  }
+
+  static DHistogram roundTrip(DHistogram h) {
+    return new AutoBuffer().put(h).flipForReading().get();
+  }
+
+  // Histograms without pre-binned data are not pre-binned on other nodes either
+  @Test public void testNotPrebinnedRoundTrip() {
+    for (SharedTreeModel.SharedTreeParameters.HistogramType histoType : new SharedTreeModel.SharedTreeParameters.HistogramType[]{
+        SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, SharedTreeModel.SharedTreeParameters.HistogramType.Random,
+        SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal}) {
+      DHistogram h = roundTrip(new DHistogram("myhisto", 20, 20, (byte) 0, -50, 50, 0, histoType, 1234, null));
+      Assert.assertFalse(histoType.toString(), h.isPrebinned());
+      h.init();
+      Assert.assertFalse(histoType.toString(), h.isPrebinned());
+    }
+  }
+
+  // Filling from the pre-binned values gives the histogram of the raw values
+  @Test public void testPrebinned() {
+    int N = 10000;
+    Random rng = RandomUtils.getRNG(0xC0FFEE);
+    double[] splitPts = new double[30];
+    splitPts[0] = -50;
+    for (int i = 1; i < splitPts.length; ++i)
+      splitPts[i] = splitPts[i-1] + 0.5 + 5 * rng.nextDouble();
+    double[] cs = new double[N], ys = new double[N], ws = new double[N];
+    int[] bins = new int[N], rows = new int[N];
+    double[] binMin = new double[splitPts.length], binMax = new double[splitPts.length];
+    Arrays.fill(binMin, Double.MAX_VALUE);
+    Arrays.fill(binMax, -Double.MAX_VALUE);
+    for (int i = 0; i < N; ++i) {
+      cs[i] = rng.nextDouble() < 0.02 ? Double.NaN : -50 + 100 * rng.nextDouble();
+      ys[i] = rng.nextGaussian();
+      ws[i] = 1 + rng.nextInt(3); // No zero weights, which the observed range of a bin does not skip
+      rows[i] = i;
+      if (Double.isNaN(cs[i])) { bins[i] = -1; continue; }
+      int g = bins[i] = DHistogram.globalBin(splitPts, cs[i]);
+      binMin[g] = Math.min(binMin[g], cs[i]);
+      binMax[g] = Math.max(binMax[g], cs[i]);
+    }
+    Key k = Key.make();
+    DKV.put(new DHistogram.HistoQuantiles(k, splitPts, binMin, binMax));
+    try {
+      // The whole range, and a leaf's range that covers only some of the global bins
+      for (double[] range : new double[][]{{-50, 50}, {-20, 30}}) {
+        int n = 0;
+        for (int i = 0; i < N; ++i)
+          if (!(cs[i] < range[0] || cs[i] >= range[1])) rows[n++] = i; // NAs included
+        DHistogram raw = new DHistogram("myhisto", 20, 20, (byte) 0, range[0], range[1], 0,
+            SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, 1234, k);
+        // As on a remote node: transient fields lose their initializers
+        DHistogram binned = roundTrip(new DHistogram(raw));
+        Assert.assertFalse(binned.isPrebinned());
+        raw.init();
+        binned.init();
+        Assert.assertTrue(binned.isPrebinned());
+        raw.updateHisto(ws, cs, ys, rows, n, 0);
+        binned.updateHistoBins(ws, bins, ys, rows, n, 0);
+        Assert.assertArrayEquals(raw._vals, binned._vals, 0);
+        if (range[0] == -50) {
+          // All rows: the observed range of the outermost bins is the observed range
+          Assert.assertEquals(raw._min2, binned._min2, 0);
+          Assert.assertEquals(raw._maxIn, binned._maxIn, 0);
+        } else {
+          // Some rows: the observed range of the outermost bins, a bound within the leaf's range
+          Assert.assertTrue(binned._min2 <= raw._min2 && binned._min2 >= binMin[DHistogram.globalBin(splitPts, range[0])]);
+          Assert.assertTrue(binned._maxIn >= raw._maxIn && binned._maxIn <= binMax[DHistogram.globalBin(splitPts, range[1])]);
+        }
+      }
+    } finally {
+      k.remove();
+    }
+  }
 }
@@ -0,0 +1,236 @@
+package hex.tree;
+
+import hex.genmodel.utils.DistributionFamily;
+import hex.tree.gbm.GBMModel;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Futures;
+import water.Key;
+import water.MRTask;
+import water.TestUtil;
+import water.fvec.CXIChunk;
+import water.fvec.Chunk;
+import water.fvec.Frame;
+import water.fvec.NewChunk;
+import water.fvec.Vec;
+import water.util.RandomUtils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * The special paths of ScoreBuildHistogram2 (sparse chunks, bundled columns)
+ * against the plain one, on the root histograms of a tree.
+ */
+public class ScoreBuildHistogram2Test extends TestUtil {
+  static final int N = 20000;
+  static final int LEVELS = 12;
+  static final long SEED = 0xDECAFFEE;
+
+  @BeforeClass public static void stall() { stall_till_cloudsize(1); }
+
+  // Root histograms of the first ncols columns of fr, built by ScoreBuildHistogram2
+  // from deserialized copies of the initial histograms
+  private static DHistogram[] rootHistograms(Frame fr, int ncols, Vec response, Vec weights, Key[] keys,
+                                             SharedTreeModel.SharedTreeParameters.HistogramType histoType, FeatureBundles fb) {
+    GBMModel.GBMParameters parms = new GBMModel.GBMParameters();
+    parms._histogram_type = histoType;
+    DHistogram[] hs = DHistogram.initialHist(fr, ncols, parms._nbins, new DHistogram[ncols], SEED, parms, keys);
+    for (int c = 0; c < ncols; c++) // As the histograms reach the other nodes
+      if (hs[c] != null) hs[c] = HistogramTest.roundTrip(hs[c]);
+    DTree tree = new DTree(fr, ncols, (char) 1, ncols, ncols, SEED, parms);
+    new DTree.UndecidedNode(tree, DTree.NO_PARENT, hs);
+    Frame fr2 = new Frame(Arrays.copyOf(fr.names(), ncols), Arrays.copyOf(fr.vecs(), ncols));
+    int workIdx = fr2.numCols(); fr2.add("response", response);
+    Vec nids = response.makeVolatileInts(new int[]{0})[0];
+    int nidIdx = fr2.numCols(); fr2.add("nids", nids);
+    int weightIdx = -1;
+    if (weights != null) {
+      weightIdx = fr2.numCols(); fr2.add("weights", weights);
+    }
+    int[] binIdxs = null;
+    if (fb != null) {
+      binIdxs = new int[ncols + fb.numBundles()];
+      Arrays.fill(binIdxs, -1);
+      for (int b = 0; b < fb.numBundles(); b++) {
+        binIdxs[ncols + b] = fr2.numCols(); fr2.add(fb._fr._names[b], fb._fr.vec(b));
+      }
+    }
+    try {
+      ScoreBuildHistogram sbh = new ScoreBuildHistogram2(null, 0, ncols, parms._nbins, parms._nbins_cats, tree, 0,
+          new DHistogram[][]{hs}, DistributionFamily.gaussian, weightIdx, workIdx, nidIdx, binIdxs, fb).dfork2(null, fr2, false);
+      sbh.getResult();
+      return sbh._hcs[0];
+    } finally {
+      nids.remove();
+    }
+  }
+
+  private static void assertSameHistogram(String msg, DHistogram expected, DHistogram actual) {
+    assertEquals(msg, expected.nbins(), actual.nbins());
+    for (int i = 0; i < expected._vals.length; i++) // Equal up to the float rounding of reducePrecision
+      assertEquals(msg + " " + i, expected._vals[i], actual._vals[i], 1e-6 * Math.max(1, Math.abs(expected._vals[i])));
+    assertEquals(msg, expected._min2, actual._min2, 0);
+    assertEquals(msg, expected._maxIn, actual._maxIn, 0);
+  }
+
+  // Two one-hot encoded columns of LEVELS levels each, the first cycling
+  // through its levels row by row and the second LEVELS times slower, then a
+  // dense column and the response
+  private static class OneHots extends MRTask<OneHots> {
+    @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+      long start = cs[0].start();
+      Random rng = RandomUtils.getRNG(SEED + start);
+      for (int r = 0; r < cs[0]._len; r++) {
+        long row = start + r;
+        int a = (int) (row % LEVELS), b = (int) (row / LEVELS % LEVELS);
+        for (int l = 0; l < LEVELS; l++) {
+          ncs[l].addNum(l == a ? 1 : 0);
+          ncs[LEVELS + l].addNum(l == b ? 1 : 0);
+        }
+        ncs[2 * LEVELS].addNum(rng.nextGaussian());
+        ncs[2 * LEVELS + 1].addNum(a - b + rng.nextGaussian());
+      }
+    }
+  }
+
+  @Test public void testBundledHistograms() {
+    final int ncols = 2 * LEVELS + 1;
+    Vec v = null;
+    Frame fr = null;
+    FeatureBundles fb = null;
+    Key[] keys = new Key[ncols];
+    try {
+      v = Vec.makeCon(0, N);
+      String[] names = new String[ncols + 1];
+      for (int c = 0; c < names.length; c++) names[c] = "C" + c;
+      fr = new OneHots().doAll(ncols + 1, Vec.T_NUM, new Frame(v)).outputFrame(names, null);
+      for (int c = 0; c < ncols; c++) keys[c] = Key.make();
+      Futures fs = new Futures();
+      fb = FeatureBundles.make(fr, ncols, new double[ncols][], keys, fs);
+      fs.blockForPending();
+
+      // Each one-hot column is a bundle: its indicators are never 1 together,
+      // and each of them is 1 together with some indicator of the other column
+      assertNotNull(fb);
+      assertEquals(2, fb.numBundles());
+      int ba = fb._bundleOf[0], bb = fb._bundleOf[LEVELS];
+      assertTrue(ba >= 0 && bb >= 0 && ba != bb);
+      for (int l = 0; l < LEVELS; l++) {
+        assertEquals(ba, fb._bundleOf[l]);
+        assertEquals(bb, fb._bundleOf[LEVELS + l]);
+      }
+      assertEquals(LEVELS, fb._cols[ba].length);
+      assertEquals(LEVELS, fb._cols[bb].length);
+      assertEquals(-1, fb._bundleOf[2 * LEVELS]); // Dense
+
+      // The members' histograms from their bundles match the ones from their own columns
+      Vec response = fr.vec(ncols);
+      DHistogram[] plain = rootHistograms(fr, ncols, response, null, keys,
+          SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, null);
+      DHistogram[] bundled = rootHistograms(fr, ncols, response, null, keys,
+          SharedTreeModel.SharedTreeParameters.HistogramType.QuantilesGlobal, fb);
+      for (int c = 0; c < ncols; c++) {
+        assertNotNull(plain[c]);
+        assertEquals(fb._bundleOf[c] >= 0, bundled[c].isPrebinned());
+        assertSameHistogram(fr.name(c), plain[c], bundled[c]);
+      }
+    } finally {
+      if (fb != null) fb._fr.remove();
+      for (Key k : keys) if (k != null) k.remove();
+      if (fr != null) fr.remove();
+      if (v != null) v.remove();
+    }
+  }
+
+  // Indicators of rows 0, 1 and 2 mod 20, then of 0 and 1 again; the first
+  // two are also both 1 in the last row
+  private static class LateConflict extends MRTask<LateConflict> {
+    @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+      long start = cs[0].start();
+      for (int r = 0; r < cs[0]._len; r++) {
+        long row = start + r;
+        int k = (int) (row % 20);
+        boolean last = row == N - 1;
+        ncs[0].addNum(k == 0 || last ? 1 : 0);
+        ncs[1].addNum(k == 1 || last ? 1 : 0);
+        ncs[2].addNum(k == 2 ? 1 : 0);
+        ncs[3].addNum(k == 0 ? 1 : 0);
+        ncs[4].addNum(k == 1 ? 1 : 0);
+      }
+    }
+  }
+
+  @Test public void testConflictOutsideSample() {
+    Vec v = null;
+    Frame fr = null;
+    FeatureBundles fb = null;
+    try {
+      v = Vec.makeConN(N, 4);
+      fr = new LateConflict().doAll(5, Vec.T_NUM, new Frame(v)).outputFrame(new String[]{"a", "b", "c", "d", "e"}, null);
+      Futures fs = new Futures();
+      // Only the first chunk is sampled: a, b and c look exclusive there, and
+      // d and e conflict with a and b
+      fb = FeatureBundles.make(fr, 5, new double[5][], new Key[5], fs, 1);
+      fs.blockForPending();
+      assertNotNull(fb);
+      assertEquals(1, fb.numBundles());
+      assertEquals(1, fb._fr.numCols());
+      assertArrayEquals(new int[]{-1, -1, -1, 0, 0}, fb._bundleOf);
+      Vec bundled = fb._fr.vec(0);
+      for (long r = 0; r < N; r++)
+        assertEquals(r % 20 < 2, bundled.at8(r) != 0);
+    } finally {
+      if (fb != null) fb._fr.remove();
+      if (fr != null) fr.remove();
+      if (v != null) v.remove();
+    }
+  }
+
+  // The same sparse integers (with NAs, at least one per chunk) twice, the
+  // second time stored dense, then the response and the weights
+  private static class SparseDense extends MRTask<SparseDense> {
+    @Override public void map(Chunk[] cs, NewChunk[] ncs) {
+      int len = cs[0]._len;
+      ncs[1].setSparseRatio(len + 1); // Never sparse
+      Random rng = RandomUtils.getRNG(SEED + cs[0].start());
+      for (int r = 0; r < len; r++) {
+        double u = rng.nextDouble();
+        if (r == 0 || u < 0.005) {
+          ncs[0].addNA();
+          ncs[1].addNA();
+        } else {
+          long x = u < 0.05 ? rng.nextInt(101) - 50 : 0;
+          ncs[0].addNum(x, 0);
+          ncs[1].addNum(x, 0);
+        }
+        ncs[2].addNum(rng.nextGaussian());
+        ncs[3].addNum(rng.nextInt(4));
+      }
+    }
+  }
+
+  @Test public void testSparseHistograms() {
+    Vec v = null;
+    Frame fr = null;
+    try {
+      v = Vec.makeCon(0, N);
+      fr = new SparseDense().doAll(4, Vec.T_NUM, new Frame(v)).outputFrame(new String[]{"sparse", "dense", "response", "weights"}, null);
+      for (int i = 0; i < v.nChunks(); i++) {
+        assertTrue(fr.vec(0).chunkForChunkIdx(i) instanceof CXIChunk);
+        assertFalse(fr.vec(1).chunkForChunkIdx(i).isSparseZero());
+      }
+      assertTrue(fr.vec(0).naCnt() >= v.nChunks());
+      // computeSparseChunk builds the first histogram, computeChunk the second, over the same values
+      DHistogram[] hs = rootHistograms(fr, 2, fr.vec(2), fr.vec(3), new Key[2],
+          SharedTreeModel.SharedTreeParameters.HistogramType.UniformAdaptive, null);
+      assertTrue(hs[0].wNA() > 0);
+      assertSameHistogram("sparse", hs[1], hs[0]);
+    } finally {
+      if (fr != null) fr.remove();
+      if (v != null) v.remove();
+    }
+  }
+}
@@ -4,6 +4,7 @@ import hex.*;
 import hex.genmodel.algos.tree.SharedTreeNode;
 import hex.genmodel.algos.tree.SharedTreeSubgraph;
 import hex.genmodel.utils.DistributionFamily;
+import hex.tree.ScoreBuildHistogram;
 import hex.tree.SharedTreeModel;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -12,6 +13,8 @@ import org.junit.Test;
 import water.*;
 import water.api.StreamingSchema;
 import water.exceptions.H2OModelBuilderIllegalArgumentException;
+import water.fvec.C4VolatileChunk;
+import water.fvec.C8DVolatileChunk;
 import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.RebalanceDataSet;
@@ -2035,6 +2038,56 @@ public class GBMTest extends TestUtil {
     }
   }
 
+  // Rows of a GOSS sample: kept, kept among the top residuals, and weights
+  private static class GOSSCheck extends MRTask<GOSSCheck> {
+    final double _threshold, _amplify;
+    long _kept, _top, _topDropped, _badWeights;
+    double _sampledWeight;
+    GOSSCheck(double threshold, double amplify) { _threshold = threshold; _amplify = amplify; }
+    @Override public void map(Chunk[] cs) {
+      int[] nids = ((C4VolatileChunk) cs[0]).getValues();
+      double[] ws = ((C8DVolatileChunk) cs[2]).getValues();
+      for (int row = 0; row < cs[0]._len; row++) {
+        boolean kept = nids[row] != ScoreBuildHistogram.OUT_OF_BAG;
+        if (kept) _kept++;
+        if (Math.abs(cs[1].atd(row)) >= _threshold) {
+          _top++;
+          if (!kept || ws[row] != 1) _topDropped++;
+        } else if (kept) {
+          _sampledWeight += ws[row];
+          if (Math.abs(ws[row] - _amplify) > 1e-12) _badWeights++;
+        } else if (ws[row] != 0) _badWeights++;
+      }
+    }
+    @Override public void reduce(GOSSCheck gc) {
+      _kept += gc._kept; _top += gc._top; _topDropped += gc._topDropped; _badWeights += gc._badWeights;
+      _sampledWeight += gc._sampledWeight;
+    }
+  }
+
+  @Test public void gossSampling() {
+    Frame fr = null;
+    try {
+      final int N = 100000;
+      final double a = 0.2, b = 0.1; // goss_top_rate, goss_other_rate
+      Vec res = Vec.makeSeq(1, N); // |residual| of row i is i+1
+      fr = new Frame(res.makeVolatileInts(new int[]{0})[0], res.makeCon(1), res, res.makeVolatileDoubles(1)[0]);
+      double threshold = MathUtils.computeWeightedQuantile(null, res, 1 - a);
+      double otherProb = b / (1 - a); // Sampling rate of the rows below the threshold
+      new GBM.GOSSSample(0xDECAFFEE, threshold, otherProb).doAll(fr);
+
+      GOSSCheck gc = new GOSSCheck(threshold, 1 / otherProb).doAll(fr.vec(0), fr.vec(2), fr.vec(3));
+      Log.info("GOSS kept " + gc._kept + " of " + N + " rows, " + gc._top + " top rows");
+      assertEquals(a * N, gc._top, 0.001 * N);
+      assertEquals(0, gc._topDropped); // Top rows are always in, with their own weight
+      assertEquals(0, gc._badWeights); // The others are amplified to stand for the rows left out
+      assertEquals(a + b, (double) gc._kept / N, 0.01);
+      assertEquals((1 - a) * N, gc._sampledWeight, 0.02 * N);
+    } finally {
+      if (fr != null) fr.remove();
+    }
+  }
+
   @Test public void sampleRatePerClass() {
     Frame tfr = null;
     Key[] ksplits = null;
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import water.fvec.Chunk;
 import water.fvec.NewChunk;
+import water.fvec.RowBatch;
 
 /**
  * Chunk access patterns benchmark
@@ -94,6 +95,19 @@ public class ChunkBench {
     return sum;
   }
 
+  @Benchmark
+  public double rowsColsReadWithRowBatch() {
+    double sum = 0;
+    RowBatch batch = new RowBatch(chunks);
+    for (int row = 0; row < rows; ++row) {
+      batch.load(row);
+      for (int col = 0; col < cols; ++col) {
+        sum += batch.atd(col, row);
+      }
+    }
+    return sum;
+  }
+
   @Benchmark
   public double colsRowsReadWithFinalChunk() {
     double sum = 0;
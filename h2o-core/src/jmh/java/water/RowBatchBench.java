@@ -0,0 +1,122 @@
+package water;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import water.fvec.Chunk;
+import water.fvec.NewChunk;
+import water.fvec.RowBatch;
+
+/**
+ * Row-major scans over chunks of a single type: per-cell atd against
+ * RowBatch, with a column-major bulk getDoubles pass as the baseline.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RowBatchBench {
+
+  @Param({"C1N", "C1", "C1S", "C2", "C2S", "C4", "C4S", "C8", "C8D", "CBS", "CNB", "CXI", "CRLE", "CUD"})
+  private String type;
+  @Param({"100"})
+  private int cols;
+  @Param({"100000"})
+  private int rows;
+  private Chunk[] chunks;
+
+  @Benchmark
+  public double rowsColsRead() {
+    double sum = 0;
+    for (int row = 0; row < rows; ++row)
+      for (int col = 0; col < cols; ++col)
+        sum += chunks[col].atd(row);
+    return sum;
+  }
+
+  @Benchmark
+  public double rowsColsReadWithRowBatch() {
+    double sum = 0;
+    RowBatch batch = new RowBatch(chunks);
+    for (int row = 0; row < rows; ++row) {
+      batch.load(row);
+      for (int col = 0; col < cols; ++col)
+        sum += batch.atd(col, row);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public double colsRowsWithBulkRead() {
+    double sum = 0;
+    double[] vals = new double[rows];
+    for (int col = 0; col < cols; ++col) {
+      chunks[col].getDoubles(vals, 0, rows);
+      for (int row = 0; row < rows; ++row)
+        sum += vals[row];
+    }
+    return sum;
+  }
+
+  @Setup
+  public void setup() {
+    chunks = new Chunk[cols];
+    for (int col = 0; col < cols; ++col) {
+      Random rng = new Random(col);
+      NewChunk nc = new NewChunk(null, 0);
+      for (int row = 0; row < rows; ++row)
+        add(nc, row, rng);
+      chunks[col] = nc.compress();
+      if (!chunks[col].getClass().getSimpleName().equals(type + "Chunk"))
+        throw new IllegalStateException("Values for " + type + " compressed to " + chunks[col].getClass().getSimpleName());
+    }
+  }
+
+  // One value compressing to the benchmarked chunk type
+  private void add(NewChunk nc, int i, Random rng) {
+    long mix = i * 2654435761L;
+    switch (type) {
+      case "C1N":  nc.addNum(i % 200, 0); break;
+      case "C1":   if (i % 97 == 0) nc.addNA(); else nc.addNum(i % 200, 0); break;
+      case "C1S":  nc.addNum(1000 + i % 200, 0); break;
+      case "C2":   nc.addNum((i * 61) % 65535 - 32767, 0); break;
+      case "C2S":  nc.addNum(100000 + (i * 61) % 65535, 0); break;
+      case "C4":   nc.addNum(mix % Integer.MAX_VALUE, 0); break;     // Too wide to bit-pack
+      case "C4S":  nc.addNum(mix % 1000000, -2); break;              // Two decimals
+      case "C8":   nc.addNum((mix * 2654435761L) >> 4 | 1, 0); break; // 60 bits; odd, so no trailing zeros
+      case "C8D":  nc.addNum(rng.nextDouble()); break;
+      case "CBS":  nc.addNum(i % 3 == 0 ? 1 : 0, 0); break;
+      case "CNB":  nc.addNum(1000 + (i * 7919) % 2000, 0); break;   // 11 bits
+      case "CXI":  nc.addNum(i % 100 == 0 ? i % 7 + 1 : 0, 0); break;
+      case "CRLE": nc.addNum(i / 100, 0); break;
+      case "CUD":  nc.addNum((i % 10) * Math.PI); break;
+      default: throw H2O.unimpl();
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    Options opt = new OptionsBuilder()
+        .include(RowBatchBench.class.getSimpleName())
+        .build();
+
+    new Runner(opt).run();
+  }
+}
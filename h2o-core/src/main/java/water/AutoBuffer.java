@@ -492,6 +492,10 @@ public final class AutoBuffer {
     assert isClosed();
   }
 
+  // True if writes are streamed out to a Channel (now or once the buffer
+  // fills), rather than collected in an ever-expanding byte[].
+  private boolean isStreaming() { return _h2o != null || _chan != null; }
+
   // True if we opened a TCP channel, or will open one to close-and-send
   boolean hasTCP() { assert !isClosed(); return SocketChannelUtils.isSocketChannel(_chan) || (_h2o!=null && _bb.position() >= MTU); }
 
@@ -618,6 +622,25 @@ public final class AutoBuffer {
     return _bb;
   }
 
+  // Read from the channel straight into dst until it is full, bypassing the
+  // (empty) ByteBuffer.
+  private void getDirect( ByteBuffer dst ) {
+    assert _read && !_bb.hasRemaining() : "Reading past buffered bytes";
+    long ns = System.nanoTime();
+    try {
+      while( dst.hasRemaining() ) {
+        int res = ((ReadableByteChannel) _chan).read(dst);
+        if( res <= 0 )
+          throw new AutoBufferException(new EOFException("Reading "+dst.remaining()+" more bytes, AB="+this));
+        _size += res;
+      }
+    } catch( IOException e ) {
+      throw new AutoBufferException(e);
+    }
+    _time_io_ns += (System.nanoTime()-ns);
+    _firstPage = false;
+  }
+
   private int readAnInt() throws IOException {
     if (_is == null) return ((ReadableByteChannel) _chan).read(_bb);
 
@@ -646,9 +669,14 @@ public final class AutoBuffer {
 
   // Do something with partial results, because the ByteBuffer is full.
   // If we are doing I/O, ship the bytes we have now and flip the ByteBuffer.
-  private ByteBuffer sendPartial() {
+  private ByteBuffer sendPartial() { return sendPartial(null); }
+
+  // Ship the bytes we have now, followed by an optional payload straight from
+  // the caller's memory.  Big arrays go out in one gathering write instead of
+  // being staged through the ByteBuffer one buffer-full at a time.
+  private ByteBuffer sendPartial(ByteBuffer payload) {
     // Doing I/O with the full ByteBuffer - ship partial results
-    _size += _bb.position();
+    _size += _bb.position() + (payload == null ? 0 : payload.remaining());
     if( _chan == null )
       TimeLine.record_send(this, true);
 
@@ -658,11 +686,21 @@ public final class AutoBuffer {
         tcpOpen(); // This is a big operation.  Open a TCP socket as-needed.
       //for( int i=0; i < _bb.limit(); i++ ) if( _bb.get(i)==0 ) _zeros++;
       long ns = System.nanoTime();
+      if( payload != null && _chan instanceof GatheringByteChannel ) {
+        ByteBuffer[] srcs = new ByteBuffer[]{_bb, payload};
+        while( payload.hasRemaining() ) {
+          ((GatheringByteChannel) _chan).write(srcs);
+          if( RANDOM_TCP_DROP != null && SocketChannelUtils.isSocketChannel(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
+            throw new IOException("Random TCP Write Fail");
+        }
+      }
       while( _bb.hasRemaining() ) {
         ((WritableByteChannel) _chan).write(_bb);
         if( RANDOM_TCP_DROP != null && SocketChannelUtils.isSocketChannel(_chan) && RANDOM_TCP_DROP.nextInt(100) == 0 )
           throw new IOException("Random TCP Write Fail");
       }
+      while( payload != null && payload.hasRemaining() ) // Channel cannot gather
+        ((WritableByteChannel) _chan).write(payload);
       _time_io_ns += (System.nanoTime()-ns);
     } catch( IOException e ) {  // Some kind of TCP fail?
       // Change to an unchecked exception (so we don't have to annotate every
@@ -1037,6 +1075,14 @@ public final class AutoBuffer {
   public byte[] getA1( int len ) {
     byte[] buf = MemoryManager.malloc1(len);
     int sofar = 0;
+    if( len - _bb.remaining() > _bb.capacity() && _is == null && _chan instanceof ReadableByteChannel ) {
+      // Big array coming from I/O: drain the buffered bytes, then read the
+      // rest straight into the array instead of through the ByteBuffer
+      sofar = _bb.remaining();
+      _bb.get(buf, 0, sofar);
+      getDirect(ByteBuffer.wrap(buf, sofar, len - sofar));
+      return buf;
+    }
     while( sofar < len ) {
       int more = Math.min(_bb.remaining(), len - sofar);
       _bb.get(buf, sofar, more);
@@ -1100,12 +1146,19 @@ public final class AutoBuffer {
     int y = getInt();           // Non-zero in the middle
     int z = y==0 ? 0 : getInt();// Trailing zeros
     long[] buf = MemoryManager.malloc8(x+y+z);
-    switch( get1U() ) {      // 1,2,4 or 8 for how the middle section is passed
-    case 1: for( int i=x; i<x+y; i++ ) buf[i] =       get1U(); return buf;
-    case 2: for( int i=x; i<x+y; i++ ) buf[i] = (short)get2(); return buf;
-    case 4: for( int i=x; i<x+y; i++ ) buf[i] =        get4(); return buf;
-    case 8: break;
-    default: throw H2O.fail();
+    int sz = get1U();           // 1,2,4 or 8 for how the middle section is passed
+    if( sz != 1 && sz != 2 && sz != 4 && sz != 8 ) throw H2O.fail();
+    if( sz < 8 ) {              // Narrowed section: widen a buffer-full at a time
+      for( int i=x; i<x+y; ) {
+        ByteBuffer bb = getSp(sz);
+        int e = i + Math.min(x+y-i, bb.remaining()/sz);
+        switch( sz ) {
+        case 1: for( ; i<e; i++ ) buf[i] = bb.get()&0xFF; break;
+        case 2: for( ; i<e; i++ ) buf[i] = bb.getShort(); break;
+        case 4: for( ; i<e; i++ ) buf[i] = bb.getInt  (); break;
+        }
+      }
+      return buf;
     }
 
     int sofar = x;
@@ -1262,6 +1315,10 @@ public final class AutoBuffer {
   public AutoBuffer putA1( byte[] ary, int length ) { return putA1(ary,0,length); }
   public AutoBuffer putA1( byte[] ary, int sofar, int length ) {
     if (length - sofar > _bb.remaining()) expandByteBuffer(length-sofar);
+    if (length - sofar > _bb.capacity() && isStreaming()) { // Big array (e.g. Chunk._mem) going to I/O
+      sendPartial(ByteBuffer.wrap(ary, sofar, length - sofar));
+      return this;
+    }
     while( sofar < length ) {
       int len = Math.min(length - sofar, _bb.remaining());
       _bb.put(ary, sofar, len);
@@ -1321,18 +1378,12 @@ public final class AutoBuffer {
     // Size trim the NZ section: pass as bytes or shorts if possible.
     long min=Long.MAX_VALUE, max=Long.MIN_VALUE;
     for( int i=x; i<y; i++ ) { if( ary[i]<min ) min=ary[i]; if( ary[i]>max ) max=ary[i]; }
-    if( 0 <= min && max < 256 ) { // Ship as unsigned bytes
-      put1(1);  for( int i=x; i<y; i++ ) put1((int)ary[i]);
-      return this;
-    }
-    if( Short.MIN_VALUE <= min && max < Short.MAX_VALUE ) { // Ship as shorts
-      put1(2);  for( int i=x; i<y; i++ ) put2((short)ary[i]);
-      return this;
-    }
-    if( Integer.MIN_VALUE <= min && max < Integer.MAX_VALUE ) { // Ship as ints
-      put1(4);  for( int i=x; i<y; i++ ) put4((int)ary[i]);
-      return this;
-    }
+    if( 0 <= min && max < 256 ) // Ship as unsigned bytes
+      return putA8Narrow(ary, x, y, 1);
+    if( Short.MIN_VALUE <= min && max < Short.MAX_VALUE ) // Ship as shorts
+      return putA8Narrow(ary, x, y, 2);
+    if( Integer.MIN_VALUE <= min && max < Integer.MAX_VALUE ) // Ship as ints
+      return putA8Narrow(ary, x, y, 4);
 
     put1(8);                    // Ship as full longs
     int sofar = x;
@@ -1347,6 +1398,23 @@ public final class AutoBuffer {
     }
     return this;
   }
+  // Ship longs narrowed to sz bytes each, a buffer-full at a time rather
+  // than checking for room on every element.
+  private AutoBuffer putA8Narrow( long[] ary, int x, int y, int sz ) {
+    put1(sz);
+    if ((y-x)*sz > _bb.remaining()) expandByteBuffer((y-x)*sz);
+    for( int i=x; i<y; ) {
+      ByteBuffer bb = putSp(sz);
+      int e = i + Math.min(y-i, bb.remaining()/sz);
+      switch( sz ) {
+      case 1: for( ; i<e; i++ ) bb.put     ((byte) ary[i]); break;
+      case 2: for( ; i<e; i++ ) bb.putShort((short)ary[i]); break;
+      case 4: for( ; i<e; i++ ) bb.putInt  ((int)  ary[i]); break;
+      default: throw H2O.fail();
+      }
+    }
+    return this;
+  }
   public AutoBuffer putA4f( float[] ary ) {
     //_arys++;
     if( ary == null ) return putInt(-1);
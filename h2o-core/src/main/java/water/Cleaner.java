@@ -4,7 +4,9 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 import water.fvec.Chunk;
+import water.persist.SwapCodec;
 import water.util.Log;
+import water.util.Metrics;
 import water.util.PrettyPrint;
 
 /** Store Cleaner: User-Mode Swap-To-Disk */
@@ -43,6 +45,9 @@ class Cleaner extends Thread {
   // Desired cache level. Set by the MemoryManager asynchronously.
   static volatile long DESIRED;
 
+  private static final Metrics.Counter SWAPPED_BYTES = Metrics.counter("cleaner_swapped_bytes_total", "Bytes of Values written out by the Cleaner");
+  private static final Metrics.Counter FREED_BYTES = Metrics.counter("cleaner_freed_bytes_total", "Bytes of heap freed by the Cleaner");
+
   Cleaner() {
     super("MemCleaner");
     setDaemon(true);
@@ -107,7 +112,7 @@ class Cleaner extends Thread {
       if( DESIRED == -1 ) clean_to_age = now;  // Test mode: clean all
 
       // No logging if under memory pressure: can deadlock the cleaner thread
-      String s = h+" DESIRED="+(DESIRED>>20)+"M dirtysince="+(now-dirty)+" force="+force+" clean2age="+(now-clean_to_age);
+      String s = h+" policy="+EvictionPolicy.POLICY.name()+" DESIRED="+(DESIRED>>20)+"M dirtysince="+(now-dirty)+" force="+force+" clean2age="+(now-clean_to_age);
       if( MemoryManager.canAlloc() ) Log.debug(s);
       else                           System.err.println(s);
       long cleaned = 0;         // Disk i/o bytes
@@ -132,7 +137,7 @@ class Cleaner extends Thread {
         boolean isChunk = p instanceof Chunk && !((Chunk)p).isVolatile();
         // Ignore things younger than the required age.  In particular, do
         // not spill-to-disk all dirty things we find.
-        long touched = val._lastAccessedTime;
+        long touched = EvictionPolicy.effectiveAccessTime(val, now);
         if( touched > clean_to_age ) { // Too recently touched?
           // But can toss out a byte-array if already deserialized & on disk
           // (no need for both forms).  Note no savings for Chunks, for which m==p._mem
@@ -152,7 +157,9 @@ class Cleaner extends Thread {
 
         // Should I write this value out to disk?
         // Should I further force it from memory?
-        if( isChunk && !val.isPersisted() && !diskFull && ((Key)ok).home() ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
+        // A full disk does not stop spilling while the off-heap tier has room.
+        boolean canSpill = !diskFull || MemoryManager.offHeapAvailable() >= val._max;
+        if( isChunk && !val.isPersisted() && canSpill && ((Key)ok).home() ) { // && (force || (lazyPersist() && lazy_clean(key)))) {
           long now_ns = System.nanoTime();
           try { val.storePersist(); } // Write to disk
           catch( FileNotFoundException fnfe ) { continue; } // Can happen due to racing key delete/remove
@@ -186,6 +193,8 @@ class Cleaner extends Thread {
         force = (h._cached >= DESIRED || !MemoryManager.CAN_ALLOC); // Forced to clean
       }
 
+      SWAPPED_BYTES.add(cleaned);
+      FREED_BYTES.add(freed);
       String s1 = "Cleaner pass took: "+PrettyPrint.msecs(System.currentTimeMillis()-now,true)+
                   ", spilled "+PrettyPrint.bytes(cleaned)+" in "+PrettyPrint.usecs(io_ns>>10);
       h = Histo.current(true); // Force a new histogram
@@ -226,6 +235,8 @@ class Cleaner extends Thread {
     // built nor blocking for one being in-progress.
     static long cached() { return H._cached; }
     static long swapped(){ return H._swapped;}
+    static long offHeap(){ return H._offHeap;}
+    static long swapStored(){ return H._swapStored;}
 
     final long[] _hs = new long[128];
     long _oldest; // Time of the oldest K/V discovered this pass
@@ -234,7 +245,9 @@ class Cleaner extends Thread {
     long _cached; // Total alive data in the histogram
     long _total;  // Total data in local K/V
     long _when;   // When was this histogram computed
-    long _swapped;// On-disk stuff
+    long _swapped;// On-disk stuff, including the off-heap tier
+    long _offHeap;// Swapped stuff held in the off-heap tier rather than on disk
+    long _swapStored; // Bytes actually written for the swapped stuff, after swap codecs
     Value _vold;  // For assertions: record the oldest Value
     boolean _clean; // Was "clean" K/V when built?
 
@@ -250,6 +263,7 @@ class Cleaner extends Thread {
       long cached = 0; // Total K/V cached in ram
       long total = 0;  // Total K/V in local node
       long swapped=0;  // Total K/V persisted
+      long swapStored=0; // Total K/V persisted, as encoded on the ice backend
       long oldest = Long.MAX_VALUE; // K/V with the longest time since being touched
       Value vold = null;
       // Start the walk at slot 2, because slots 0,1 hold meta-data
@@ -261,7 +275,10 @@ class Cleaner extends Thread {
         Value val = (Value)ov;
         if( val.isNull() ) { Value.STORE_get(val._key); continue; } // Another flavor of NULL
         total += val._max;
-        if( val.isPersisted() ) swapped += val._max;
+        if( val.isPersisted() ) {
+          swapped += val._max;
+          swapStored += val.onICE() && val.swapCodec() != SwapCodec.NONE ? val.swapSize() : val._max;
+        }
         int len = 0;
         byte[] m = val.rawMem();
         Object p = val.rawPOJO();
@@ -271,12 +288,14 @@ class Cleaner extends Thread {
         if( len == 0 ) continue;
         cached += len; // Accumulate total amount of cached keys
 
-        if( val._lastAccessedTime < oldest ) { // Found an older Value?
+        // Bucket by the effective access time, as ranked by the eviction policy
+        long touched = EvictionPolicy.effectiveAccessTime(val, _when);
+        if( touched < oldest ) { // Found an older Value?
           vold = val; // Record oldest Value seen
-          oldest = val._lastAccessedTime;
+          oldest = touched;
         }
         // Compute histogram bucket
-        int idx = (int)((val._lastAccessedTime - eldest)/_hStep);
+        int idx = (int)((touched - eldest)/_hStep);
         if( idx < 0 ) idx = 0;
         else if( idx >= _hs.length ) idx = _hs.length-1;
         _hs[idx] += len;      // Bump histogram bucket
@@ -284,6 +303,8 @@ class Cleaner extends Thread {
       _cached = cached; // Total cached; NOTE: larger than sum of histogram buckets
       _total = total;   // Total used data
       _swapped = swapped;
+      _swapStored = swapStored;
+      _offHeap = MemoryManager.offHeapUsed();
       _oldest = oldest; // Oldest seen in this pass
       _vold = vold;
       _clean = clean && _dirty==Long.MAX_VALUE; // Looks like a clean K/V the whole time?
@@ -291,23 +312,25 @@ class Cleaner extends Thread {
 
     // Compute the time (in msec) for which we need to throw out things
     // to throw out enough things to hit the desired cached memory level.
+    // Pinned Chunks look touched at _when and land in the newest bucket; if
+    // even that bucket has to go, everything goes, pinned Chunks included.
     long clean_to( long desired ) {
       long age = _eldest;       // Age of bucket zero
       if( _cached < desired ) return age; // Already there; nothing to remove
       long s = 0;               // Total amount toss out
-      for( long t : _hs ) {     // For all buckets...
-        s += t;                 // Raise amount tossed out
+      for( int i=0; i<_hs.length; i++ ) { // For all buckets...
+        s += _hs[i];            // Raise amount tossed out
         age += _hStep;          // Raise age beyond which you need to go
-        if( _cached - s < desired ) break;
+        if( _cached - s < desired ) return i == _hs.length-1 ? Long.MAX_VALUE : age;
       }
-      return age;
+      return Long.MAX_VALUE;    // Not enough even with everything tossed
     }
 
     // Pretty print
     @Override public String toString() {
       long x = _eldest;
       long now = System.currentTimeMillis();
-      return "H(cached:"+(_cached>>20)+"M, eldest:"+x+"L < +"+(_oldest-x)+"ms <...{"+_hStep+"ms}...< +"+(_hStep*_hs.length)+"ms < +"+(now-x)+")";
+      return "H(cached:"+(_cached>>20)+"M, swapped:"+(_swapped>>20)+"M stored as "+(_swapStored>>20)+"M, offheap:"+(_offHeap>>20)+"M, eldest:"+x+"L < +"+(_oldest-x)+"ms <...{"+_hStep+"ms}...< +"+(_hStep*_hs.length)+"ms < +"+(now-x)+")";
     }
   }
 }
@@ -1,5 +1,9 @@
 package water;
 
+import water.util.Metrics;
+
+import java.util.Arrays;
+
 /** A Distributed Key/Value Store.
  *  <p>
  *  Functions to Get and Put Values into the K/V store by Key.
@@ -87,6 +91,28 @@ public abstract class DKV {
     }
   }
 
+  /** Make the mapping <em>keyed._key -&gt; keyed</em> and push a copy of it
+   *  into every node's cache, for read-mostly Values that all nodes fetch
+   *  repeatedly (e.g. split points or a model being scored).  Blocks for the
+   *  put; the copies are added to <em>fs</em>.  Copies are tracked as
+   *  replicas on the home node, so a later put invalidates them as usual.  */
+  static public Value putReplicated( Keyed keyed, Futures fs ) {
+    Value old = put(keyed);     // Must reach home before it can be replicated
+    replicate(keyed._key,fs);
+    return old;
+  }
+  /** Make the mapping <em>keyed._key -&gt; keyed</em> and push a copy of it
+   *  into every node's cache.  Blocking.  */
+  static public Value putReplicated( Keyed keyed ) {
+    Futures fs = new Futures();
+    Value old = putReplicated(keyed,fs);
+    fs.blockForPending();
+    return old;
+  }
+  /** Push copies of the current Value of <em>key</em> from its home node into
+   *  every other node's cache.  */
+  static public void replicate( Key key, Futures fs ) { TaskReplicateKey.replicate(key,fs); }
+
   /** Remove any mapping for <em>key</em>.  Blocking.  */
   static public Value remove( Key key ) { return put(key,null); }
   /** Remove any mapping for <em>key</em>.  */
@@ -162,6 +188,15 @@ public abstract class DKV {
           rpc.get();
   }
 
+  // Gets of Keys homed elsewhere: served from the local cache, or fetched
+  private static final Metrics.Counter CACHE_HITS = Metrics.counter("dkv_cache_hits_total", "Gets of remotely homed Keys served from the local cache");
+  private static final Metrics.Counter CACHE_MISSES = Metrics.counter("dkv_cache_misses_total", "Gets of remotely homed Keys that needed a remote fetch");
+  private static final Metrics.Timer GET_TIMER = Metrics.timer("dkv_remote_get_seconds", "Time blocked on fetching a Value from its home node");
+  /** Number of gets of remotely homed Keys served from the local cache */
+  static public long cacheHits() { return CACHE_HITS.get(); }
+  /** Number of gets of remotely homed Keys that needed a remote fetch */
+  static public long cacheMisses() { return CACHE_MISSES.get(); }
+
   static public <T extends Iced> T getGet(String key) { return key == null ? null : (T)getGet(Key.make(key)); }
   static public <T extends Iced> T getGet(Key key) {
     if (null == key) return null;
@@ -186,14 +221,19 @@ public abstract class DKV {
    *  Non-blocking. */
   static public void prefetch( String key_name ) {        get(Key.make(key_name),false); }
 
-  static private Value get( Key key, boolean blocking ) {
+  static private Value get( Key key, boolean blocking ) { return get(key,blocking,true); }
+
+  // Count in the cache statistics unless the caller already has
+  static private Value get( Key key, boolean blocking, boolean count ) {
     // Read the Cloud once per put-attempt, to keep a consistent snapshot.
     H2O cloud = H2O.CLOUD;
     Value val = Value.STORE_get(key);
     // Hit in local cache?
     if( val != null ) {
-      if( val.rawMem() != null || val.rawPOJO() != null || val.isPersisted() )
+      if( val.rawMem() != null || val.rawPOJO() != null || val.isPersisted() ) {
+        if( count && !key.home() ) CACHE_HITS.inc();
         return val;
+      }
       assert !key.home(); // Master must have *something*; we got nothing & need to fetch
     }
 
@@ -215,8 +255,76 @@ public abstract class DKV {
     TaskPutKey tpk = home.pendingPutKey(key);
     if( tpk != null ) return tpk._xval == null || tpk._xval.isNull() ? null : tpk._xval;
 
+    if( count ) CACHE_MISSES.inc();
+
+    // Already part of a batched fetch?  Take that one.
+    final long start = System.nanoTime();
+    RPC<TaskGetKeys> tgks = TaskGetKeys.pending(key);
+    if( tgks != null ) {
+      if( !blocking ) return null;
+      Value res = TaskGetKeys.get(tgks,key);
+      GET_TIMER.recordSince(start);
+      return res;
+    }
+
     // Get data "the hard way"
     RPC<TaskGetKey> tgk = TaskGetKey.start(home,key);
-    return blocking ? TaskGetKey.get(tgk) : null;
+    if( !blocking ) return null;
+    Value res = TaskGetKey.get(tgk);
+    GET_TIMER.recordSince(start);
+    return res;
+  }
+
+  /** Prefetch and cache the Values for all <em>keys</em>.  Non-blocking.
+   *  Keys missing locally are grouped by home node and fetched with a single
+   *  RPC per node. */
+  static public void prefetch( Key[] keys ) { get(keys,false); }
+
+  /** Return the {@link Value}s mapped to <em>keys</em>, in order; null for
+   *  keys with no mapping.  Blocks till all data is available, always caches.
+   *  Keys missing locally are grouped by home node and fetched with a single
+   *  RPC per node.
+   *  @return The {@link Value}s mapped to <em>keys</em> */
+  static public Value[] get( Key[] keys ) { return get(keys,true); }
+
+  static private Value[] get( Key[] keys, boolean blocking ) {
+    H2O cloud = H2O.CLOUD;
+    Value[] vals = blocking ? new Value[keys.length] : null;
+    // Bucket the remote misses by home node
+    Key[][] misses = new Key[cloud.size()][];
+    int[] nmiss = new int[cloud.size()];
+    for( int i=0; i<keys.length; i++ ) {
+      Key key = keys[i];
+      if( key == null ) continue;
+      Value val = Value.STORE_get(key);
+      if( val != null && (val.rawMem() != null || val.rawPOJO() != null || val.isPersisted()) ) {
+        if( !key.home() ) CACHE_HITS.inc();
+        if( blocking ) vals[i] = val;
+        continue;               // Hit in local cache
+      }
+      int h = key.home(cloud);
+      if( cloud._memary[h] == H2O.SELF ) continue; // Home with no Value; null
+      if( cloud._memary[h].pendingPutKey(key) != null ||
+          TaskGetKey.pending(key) != null || TaskGetKeys.pending(key) != null ) {
+        get(key,false);         // Counted as the single-key path does; collected below
+        continue;
+      }
+      if( misses[h] == null ) misses[h] = new Key[keys.length];
+      misses[h][nmiss[h]++] = key;
+    }
+    // One RPC per node; a lone key goes the usual single-key way
+    for( int h=0; h<misses.length; h++ ) {
+      if( nmiss[h] == 1 ) get(misses[h][0],false);
+      else if( nmiss[h] > 1 ) {
+        CACHE_MISSES.add(nmiss[h]);
+        TaskGetKeys.start(cloud._memary[h],Arrays.copyOf(misses[h],nmiss[h]));
+      }
+    }
+    if( !blocking ) return null;
+    // Everything is local or in-flight now, and counted; collect in order
+    for( int i=0; i<keys.length; i++ )
+      if( keys[i] != null && vals[i] == null )
+        vals[i] = get(keys[i],true,false);
+    return vals;
   }
 }
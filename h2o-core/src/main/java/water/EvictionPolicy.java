@@ -0,0 +1,115 @@
+package water;
+
+import water.fvec.Frame;
+import water.nbhm.NonBlockingHashMap;
+
+/**
+ * Decides which Values the {@link Cleaner} spills and frees first.
+ * <p>
+ * The Cleaner ranks Values by an <em>effective</em> last-access time: it
+ * builds its histogram over that time and tosses out everything older than a
+ * cutoff age.  Plain LRU uses the real last-access time; other policies bend
+ * it, e.g. making frequently used Values look more recent, or big Values look
+ * older.  The policy is picked with {@link #PROP_POLICY}.
+ * <p>
+ * On top of any policy, Jobs can pin the Vecs of a Frame they are actively
+ * iterating over (see {@link #pin(Frame)}); Chunks of pinned Vecs always look
+ * freshly touched, so they are evicted only once everything else is gone.
+ * Pins are hints, counted per Vec, and are set on every node.
+ */
+public abstract class EvictionPolicy {
+  /** One of "lru" (default), "lfu" or "size". */
+  public static final String PROP_POLICY = H2O.OptArgs.SYSTEM_PROP_PREFIX + "cleaner.policy";
+
+  static final EvictionPolicy POLICY = make(System.getProperty(PROP_POLICY, "lru"));
+
+  static EvictionPolicy make(String name) {
+    switch( name.toLowerCase() ) {
+    case "lru":  return new LRU();
+    case "lfu":  return new LFU();
+    case "size": return new SizeWeighted();
+    default: throw new IllegalArgumentException("Unknown cleaner policy '" + name + "' given by " + PROP_POLICY);
+    }
+  }
+
+  /** Effective last-access time of the Value, in msec.  Values with the
+   *  oldest effective time are evicted first.  */
+  abstract long accessTime(Value v, long now);
+
+  abstract String name();
+
+  /** Effective last-access time under the configured policy.  Pinned Chunks
+   *  look touched right now: evicted last, but still evictable when nothing
+   *  else is left.  */
+  static long effectiveAccessTime(Value v, long now) {
+    if( !PINS.isEmpty() && v._key.isChunkKey() && PINS.containsKey(v._key.getVecKey()) )
+      return now;
+    return POLICY.accessTime(v, now);
+  }
+
+  /** Least recently used: the real last-access time. */
+  static class LRU extends EvictionPolicy {
+    @Override long accessTime(Value v, long now) { return v._lastAccessedTime; }
+    @Override String name() { return "lru"; }
+  }
+
+  /** Least frequently used, with aging: every access after the first credits
+   *  a second of recency, up to a minute; a hot Value left alone for longer
+   *  than its credit still ages out.  */
+  static class LFU extends EvictionPolicy {
+    static final long CREDIT_MS = 1000;
+    static final int MAX_CREDITS = 60;
+    @Override long accessTime(Value v, long now) {
+      int credits = Math.min(Math.max(v._accessCount - 1, 0), MAX_CREDITS);
+      return v._lastAccessedTime + credits * CREDIT_MS;
+    }
+    @Override String name() { return "lfu"; }
+  }
+
+  /** Size-weighted LRU: every megabyte of a Value ages it by a second, so big
+   *  cold Values go before small ones touched at the same time, freeing more
+   *  memory per eviction.  */
+  static class SizeWeighted extends EvictionPolicy {
+    static final long MS_PER_MB = 1000;
+    @Override long accessTime(Value v, long now) { return v._lastAccessedTime - (v._max >> 20) * MS_PER_MB; }
+    @Override String name() { return "size"; }
+  }
+
+  // ---
+  // Pinned Vec Keys, with a pin count per Vec
+  private static final NonBlockingHashMap<Key, Integer> PINS = new NonBlockingHashMap<>();
+
+  static synchronized void pinLocal(Key[] vecKeys) {
+    for( Key k : vecKeys ) {
+      Integer n = PINS.get(k);
+      PINS.put(k, n == null ? 1 : n + 1);
+    }
+  }
+
+  static synchronized void unpinLocal(Key[] vecKeys) {
+    for( Key k : vecKeys ) {
+      Integer n = PINS.get(k);
+      if( n == null ) continue;
+      if( n == 1 ) PINS.remove(k);
+      else PINS.put(k, n - 1);
+    }
+  }
+
+  /** Hint on every node that the Frame is being iterated over repeatedly and
+   *  its Chunks should stay resident.  Must be balanced by {@link #unpin}. */
+  public static void pin(Frame fr) { new PinTask(fr.keys(), true).doAllNodes(); }
+
+  /** Drop a pin set by {@link #pin}; the Frame must still hold the same Vec
+   *  Keys, but the Vecs themselves may already be deleted. */
+  public static void unpin(Frame fr) { new PinTask(fr.keys(), false).doAllNodes(); }
+
+  private static class PinTask extends MRTask<PinTask> {
+    private final Key[] _vecKeys;
+    private final boolean _pin;
+    PinTask(Key[] vecKeys, boolean pin) { _vecKeys = vecKeys; _pin = pin; }
+    @Override protected void setupLocal() {
+      if( _pin ) pinLocal(_vecKeys);
+      else unpinLocal(_vecKeys);
+    }
+  }
+}
@@ -723,7 +723,7 @@ final public class H2O {
     try { H2O.getJetty().stop(); } catch( Exception ignore ) { }
     try { NetworkInit._tcpSocket.close(); } catch( IOException ignore ) { }
     PersistManager PM = H2O.getPM();
-    if( PM != null ) PM.getIce().cleanUp();
+    if( PM != null ) PM.cleanUpIce();
   }
 
 
@@ -1188,7 +1188,7 @@ final public class H2O {
   }
 
   // Easy peeks at the FJ queues
-  static int getWrkQueueSize  (int i) { return FJPS[i]==null ? -1 : FJPS[i].getQueuedSubmissionCount();}
+  public static int getWrkQueueSize  (int i) { return FJPS[i]==null ? -1 : FJPS[i].getQueuedSubmissionCount();}
   static int getWrkThrPoolSize(int i) { return FJPS[i]==null ? -1 : FJPS[i].getPoolSize();             }
 
   // For testing purposes (verifying API work exceeds grunt model-build work)
@@ -4,9 +4,12 @@ import jsr166y.CountedCompleter;
 import jsr166y.ForkJoinPool;
 import water.fvec.*;
 import water.util.DistributedException;
+import water.util.Log;
+import water.util.Metrics;
 import water.util.PrettyPrint;
 import water.fvec.Vec.VectorGroup;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
@@ -290,6 +293,58 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
    *  some output vector.  */
   public void reduce( T mrt ) { }
 
+  /** Override to declare the memory, in bytes, this task needs on each node
+   *  for its node-local structures, from {@link #setupLocal} until {@link
+   *  #closeLocal}.  Work on a node is only admitted once this much task
+   *  memory can be reserved from the {@link MemoryManager}, which throttles
+   *  concurrent memory-hungry tasks instead of letting them all OOM or drive
+   *  the Cleaner into a swap storm.  Zero (the default) skips admission.  */
+  protected long memoryPerNode() { return 0; }
+
+  /** Override to declare the memory, in bytes, each map call needs beyond its
+   *  input Chunks.  A map call starts only once this much task memory can be
+   *  reserved, so fewer maps run in parallel when memory is short.  Zero (the
+   *  default) skips admission.  */
+  protected long memoryPerChunk() { return 0; }
+
+  /** Longest time, in msec, to wait for a memory reservation.  After that the
+   *  task proceeds without one: waiting forever could deadlock nested tasks on
+   *  memory held by their parents.  */
+  static final long ADMISSION_WAIT_MS = Long.getLong(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mrtask.admission.wait", 60*1000);
+
+  /** Size, in chunks, of the read-ahead window of the local map phase.  Once
+   *  the divide-and-conquer split narrows to this many chunks, the swapped-out
+   *  (and for run-local tasks, remote) chunks of the whole window are loaded
+   *  in the background while the map calls work through it.  Zero disables.  */
+  static final int READ_AHEAD = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mrtask.readahead", 4);
+
+  /** True once read-ahead was started for a window enclosing this chunk range */
+  transient boolean _readAhead;
+
+  private static final Metrics.Timer MAP_TIMER = Metrics.timer("mrtask_map_seconds", "Time in MRTask map calls, per chunk");
+  private static final Metrics.Timer REDUCE_TIMER = Metrics.timer("mrtask_reduce_seconds", "Time in MRTask reduce calls");
+
+  /** Task memory reserved on this node for the node-local structures */
+  transient long _nodeMemReserved;
+
+  // Reserve task memory.  A declaration beyond the whole task pool can never
+  // be met; rather than clipping it and locking every other task out, such a
+  // task runs unadmitted, like one that timed out waiting.
+  // Returns the reserved bytes; zero if nothing was reserved.
+  private static long reserveMem(long bytes) {
+    if( bytes <= 0 ) return 0;
+    if( bytes > MemoryManager.TASK_MEM_MAX ) {
+      Log.warn("Task declares "+PrettyPrint.bytes(bytes)+" but the task memory is only "+PrettyPrint.bytes(MemoryManager.TASK_MEM_MAX)+"; running without a reservation");
+      return 0;
+    }
+    return MemoryManager.reserveTaskMem(bytes, ADMISSION_WAIT_MS) ? bytes : 0;
+  }
+  private void freeNodeMem() {
+    long m = _nodeMemReserved;
+    _nodeMemReserved = 0;
+    MemoryManager.freeTaskMem(m);
+  }
+
   /** Override to do any remote initialization on the 1st remote instance of
    *  this object, for initializing node-local shared data structures.  */
   protected void setupLocal() {}
@@ -511,6 +566,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   private void setupLocal0() {
     if(_profile != null)
       (_profile = new MRProfile(this))._localstart = System.currentTimeMillis();
+    // Admission: wait for the node-local memory this task declared
+    _nodeMemReserved = reserveMem(memoryPerNode());
     // Make a blockable Futures for both internal and user work to block on.
     _fs = new Futures();
     if(modifiesVolatileVecs() && _fr != null){
@@ -542,6 +599,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
       _lo = 0;  _hi = _fr.numCols()==0 ? 0 : _fr.anyVec().nChunks(); // Do All Chunks
       // get the Vecs from the K/V store, to avoid racing fetches from the map calls
       _fr.vecs();
+      _readAhead = false;
     } else if( _keys != null ) {    // Else doing a set of Keys
       _lo = 0;  _hi = _keys.length; // Do All Keys
     }
@@ -574,6 +632,35 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     return null; // nlo >= nhi => no remote work
   }
 
+  // Load the chunks of [_lo,_hi) in the background, ahead of the map calls.
+  // Swapped-out local chunks are re-read from the ice backend by a helper
+  // task; chunks homed elsewhere (only for run-local tasks) are batch-fetched.
+  private void readAhead() {
+    _readAhead = true;
+    Vec[] vecs = _fr.vecs();
+    final ArrayList<Value> swapped = new ArrayList<>();
+    ArrayList<Key> remote = new ArrayList<>();
+    for( Vec vec : vecs ) {
+      if( vec == null || !vec.canReadAhead() ) continue; // Computed chunks
+      for( int cidx = _lo; cidx < _hi; cidx++ ) {
+        Key k = vec.chunkKey(cidx);
+        if( k.home() ) {
+          Value val = Value.STORE_get(k);
+          if( val != null && val.rawMem() == null && val.rawPOJO() == null && val.isPersisted() )
+            swapped.add(val);
+        } else if( _run_local ) remote.add(k);
+      }
+    }
+    if( !remote.isEmpty() ) DKV.prefetch(remote.toArray(new Key[remote.size()]));
+    if( !swapped.isEmpty() )
+      H2O.submitTask(new H2O.H2OCountedCompleter(priority()) {
+        @Override public void compute2() {
+          for( Value val : swapped ) val.readAhead();
+          tryComplete();
+        }
+      });
+  }
+
   /** Called from FJ threads to do local work.  The first called Task (which is
    *  also the last one to Complete) also reduces any global work.  Called
    *  internal by F/J.  Not expected to be user-called.  */
@@ -581,6 +668,8 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     assert _left == null && _rite == null && _res == null;
     if(_profile!=null) _profile._mapstart = System.currentTimeMillis();
     if( (_hi-_lo) >= 2 ) { // Multi-chunk case: just divide-and-conquer to 1 chunk
+      if( !_readAhead && _fr != null && _hi-_lo <= READ_AHEAD )
+        readAhead();            // Start loading this window; children inherit the flag
       final int mid = (_lo+_hi)>>>1; // Mid-point
       _left = copyAndInit();
       _rite = copyAndInit();
@@ -611,6 +700,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
         Vec vecs[] = _fr.vecs();
         Chunk bvs[] = new Chunk[vecs.length];
         NewChunk [] appendableChunks = null;
+        if( _run_local ) Vec.prefetchChunks(vecs,_lo); // Chunks may be remote; batch the fetches
         for( int i=0; i<vecs.length; i++ )
           if( vecs[i] != null ) {
             assert _run_local || vecs[i].chunkKey(_lo).home()
@@ -628,33 +718,39 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
           }
         }
         // Call all the various map() calls that apply
+        final long chunkMem = reserveMem(memoryPerChunk());
         if(_profile!=null)
           _profile._userstart = System.currentTimeMillis();
-
-        int num_fr_vecs = _fr.vecs().length;
-        int num_outputs = _output_types == null? 0 : _output_types.length;
-        if (num_outputs == 0) {
-          if (num_fr_vecs == 1) map(bvs[0]);
-          else if (num_fr_vecs == 2) map(bvs[0], bvs[1]);
-          else if (num_fr_vecs == 3) map(bvs[0], bvs[1], bvs[2]);
-          map(bvs);
-        }
-        else if (num_outputs == 1) {  // convenience versions for cases with single output.
-          assert appendableChunks != null;
-          if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0]);
-          else if (num_fr_vecs == 2) map(bvs[0], bvs[1], appendableChunks[0]);
-          // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0]);
-          map(bvs, appendableChunks[0]);
-        }
-        else if (num_outputs == 2) {  // convenience versions for cases with 2 outputs (e.g split).
-          assert appendableChunks != null;
-          if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0], appendableChunks[1]);
-          // else if (fr_vecs_length == 2) map(bvs[0], bvs[1], appendableChunks[0], appendableChunks[1]);
-          // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0], appendableChunks[1]);
-          map(bvs, appendableChunks[0], appendableChunks[1]);
+        final long mapStart = System.nanoTime();
+        try {
+          int num_fr_vecs = _fr.vecs().length;
+          int num_outputs = _output_types == null? 0 : _output_types.length;
+          if (num_outputs == 0) {
+            if (num_fr_vecs == 1) map(bvs[0]);
+            else if (num_fr_vecs == 2) map(bvs[0], bvs[1]);
+            else if (num_fr_vecs == 3) map(bvs[0], bvs[1], bvs[2]);
+            map(bvs);
+          }
+          else if (num_outputs == 1) {  // convenience versions for cases with single output.
+            assert appendableChunks != null;
+            if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0]);
+            else if (num_fr_vecs == 2) map(bvs[0], bvs[1], appendableChunks[0]);
+            // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0]);
+            map(bvs, appendableChunks[0]);
+          }
+          else if (num_outputs == 2) {  // convenience versions for cases with 2 outputs (e.g split).
+            assert appendableChunks != null;
+            if (num_fr_vecs == 1) map(bvs[0], appendableChunks[0], appendableChunks[1]);
+            // else if (fr_vecs_length == 2) map(bvs[0], bvs[1], appendableChunks[0], appendableChunks[1]);
+            // else if (fr_vecs_length == 3) map(bvs[0], bvs[1], bvs[2], appendableChunks[0], appendableChunks[1]);
+            map(bvs, appendableChunks[0], appendableChunks[1]);
+          }
+          if (num_outputs >= 0)
+            map(bvs, appendableChunks);
+        } finally {
+          MemoryManager.freeTaskMem(chunkMem);
+          MAP_TIMER.recordSince(mapStart);
         }
-        if (num_outputs >= 0)
-          map(bvs, appendableChunks);
 
         _res = self();          // Save results since called map() at least once!
         // Further D/K/V put any new vec results.
@@ -692,7 +788,11 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     if(_profile!=null)
       _profile.gather(mrt._profile,0);
     if( _res == null ) _res = mrt._res;
-    else if( mrt._res != null ) _res.reduce4(mrt._res);
+    else if( mrt._res != null ) {
+      final long start = System.nanoTime();
+      _res.reduce4(mrt._res);
+      REDUCE_TIMER.recordSince(start);
+    }
     // Futures are shared on local node and transient (so no remote updates)
     assert _fs == mrt._fs;
   }
@@ -706,6 +806,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
   // Copy any final results into 'this', such that a return of 'this' has the results.
   private void postLocal0() {
     closeLocal();               // User's node-local cleanup
+    freeNodeMem();
     if(_profile!=null) _profile._closeLocalDone = System.currentTimeMillis();
     reduce3(_nleft);            // Reduce global results from neighbors.
     reduce3(_nrite);
@@ -778,6 +879,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     // catch & ignore, keeping only the first one we already got.
     RPC<T> nl = _nleft; if( nl != null ) try { nl.get(); } catch( Throwable ignore ) { } _nleft = null;
     RPC<T> nr = _nrite; if( nr != null ) try { nr.get(); } catch( Throwable ignore ) { } _nrite = null;
+    if( _topLocal ) freeNodeMem();
     return true;
   }
 
@@ -790,6 +892,7 @@ public abstract class MRTask<T extends MRTask<T>> extends DTask<T> implements Fo
     x._nleft = x._nrite = null;
     x. _left = x. _rite = null;
     x._fs = _fs;
+    x._nodeMemReserved = 0; // Only the top local task holds the node reservation
     if( _profile!=null )  x._profile = new MRProfile(this);
     else                  x._profile = null;    // Clone needs its own profile
     x.setPendingCount(0); // Volatile write for completer field; reset pending count also
@@ -301,7 +301,8 @@ abstract public class MemoryManager {
   public static double [] arrayCopyOf( double[] orig, int sz) { return arrayCopyOfRange(orig,0,sz); }
 
   // Memory available for tasks (we assume 3/4 of the heap is available for tasks)
-  static final AtomicLong _taskMem = new AtomicLong(MEM_MAX-(MEM_MAX>>2));
+  static final long TASK_MEM_MAX = MEM_MAX-(MEM_MAX>>2);
+  static final AtomicLong _taskMem = new AtomicLong(TASK_MEM_MAX);
 
   /**
    * Try to reserve memory needed for task execution and return true if
@@ -345,6 +346,39 @@ abstract public class MemoryManager {
     }
   }
 
+  /**
+   * Reserve memory needed for task execution, blocking for at most maxWaitMs
+   * until enough is free and allocations are allowed.  Unlike {@link
+   * #reserveTaskMem(long)} this gives up eventually, so that nested tasks
+   * waiting on memory held by their parents cannot deadlock; the caller then
+   * proceeds on a best-effort basis without a reservation.
+   *
+   * @param m - requested number of bytes, at most all of the task memory
+   * @param maxWaitMs - longest time to block
+   * @return true if the memory was reserved and must be freed with {@link #freeTaskMem}
+   */
+  static boolean reserveTaskMem(final long m, long maxWaitMs) {
+    assert m <= TASK_MEM_MAX : "Cannot ever reserve " + m + " bytes";
+    if( tryReserveTaskMem(m) ) return true;
+    final long deadline = System.currentTimeMillis() + maxWaitMs;
+    final boolean[] reserved = new boolean[1];
+    try {
+      ForkJoinPool.managedBlock(new ManagedBlocker() {
+        @Override public boolean isReleasable() {
+          return reserved[0] || (reserved[0] = tryReserveTaskMem(m)) || System.currentTimeMillis() >= deadline;
+        }
+        @Override public boolean block() throws InterruptedException {
+          long left = deadline - System.currentTimeMillis();
+          // Wake up at least every second: the end of a memory-low period is not signalled here
+          if( left > 0 )
+            synchronized(_taskMemLock) { _taskMemLock.wait(Math.min(left, 1000)); }
+          return isReleasable();
+        }
+      });
+    } catch (InterruptedException e){ Log.throwErr(e); }
+    return reserved[0];
+  }
+
   /**
    * Free the memory successfully reserved by task.
    * @param m
@@ -356,4 +390,44 @@ abstract public class MemoryManager {
       _taskMemLock.notifyAll();
     }
   }
+
+  // Off-heap budget for spilled Values, in bytes; zero disables the off-heap
+  // tier and every spill goes straight to the ice directory.  The bytes live
+  // outside the GC'd heap, so they are not part of MEM_MAX nor of the K/V
+  // cached amount the Cleaner tries to keep below DESIRED.
+  public static final long OFF_HEAP_MAX = Long.getLong(H2O.OptArgs.SYSTEM_PROP_PREFIX + "mem.offheap.max", 0);
+  private static final AtomicLong _offHeapUsed = new AtomicLong();
+
+  /** Bytes currently held in the off-heap tier. */
+  public static long offHeapUsed() { return _offHeapUsed.get(); }
+  /** Bytes still available to the off-heap tier. */
+  public static long offHeapAvailable() { return Math.max(OFF_HEAP_MAX - _offHeapUsed.get(), 0); }
+
+  /**
+   * Try to reserve off-heap memory for a spilled Value.  Never blocks: if the
+   * budget is exhausted the caller is expected to fall back to disk.
+   *
+   * @param m - requested number of bytes
+   * @return true if the bytes were reserved
+   */
+  public static boolean tryReserveOffHeap(long m) { return tryReserveOffHeap(m, OFF_HEAP_MAX); }
+
+  /** As {@link #tryReserveOffHeap(long)}, against the given budget instead of {@link #OFF_HEAP_MAX}. */
+  public static boolean tryReserveOffHeap(long m, long max) {
+    assert m >= 0 : "m < 0: " + m;
+    if( max == 0 ) return false;
+    long current = _offHeapUsed.addAndGet(m);
+    if( current > max ) {
+      _offHeapUsed.addAndGet(-m);
+      return false;
+    }
+    return true;
+  }
+
+  /** Return off-heap memory reserved by {@link #tryReserveOffHeap}. */
+  public static void freeOffHeap(long m) {
+    if( m == 0 ) return;
+    long current = _offHeapUsed.addAndGet(-m);
+    assert current >= 0 : "off-heap accounting underflow: " + current;
+  }
 }
@@ -7,6 +7,7 @@ import water.H2O.H2OCountedCompleter;
 import water.UDP.udp;
 import water.util.DistributedException;
 import water.util.Log;
+import water.util.Metrics;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -67,6 +68,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
 
   // Time we started this sucker up.  Controls re-send behavior.
   final long _started;
+  private final long _startedNs; // For the round-trip metric
   long _retry;                  // When we should attempt a retry
 
   int _resendsCnt;
@@ -116,6 +118,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
     _target = target;
     _dt = dtask;
     _started = System.currentTimeMillis();
+    _startedNs = System.nanoTime();
     _retry = RETRY_MS;
   }
   RPC<V> setTaskNum() {
@@ -192,6 +195,8 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
       // finish off the current AutoBuffer (which is now going TCP style), and
       // make a new UDP-sized packet.  On a re-send of a TCP-sized hunk, just
       // send the basic UDP control packet.
+      // The timeout below grows on every send; past the initial one, this is a resend
+      if( _retry > RETRY_MS ) RETRIES.inc();
       if( !_sentTcp ) {
         while( true ) {         // Retry loop for broken TCP sends
           AutoBuffer ab = new AutoBuffer(_target,_dt.priority());
@@ -599,6 +604,7 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
           if (!isCancelled())       // Can be canceled already (locally by MRTask while recieving remote answer)
             _dt.onAck();            // One time only execute (before sending ACKACK)
           _done = true;             // Only read one (of many) response packets
+          ROUND_TRIP.recordSince(_startedNs);
           ab._h2o.taskRemove(_tasknum); // Flag as task-completed, even if the result is null
           notifyAll();              // And notify in any case
         }
@@ -648,6 +654,8 @@ public class RPC<V extends DTask> implements Future<V>, Delayed, ForkJoinPool.Ma
 
   // ---
   static final long RETRY_MS = 10000; // Initial UDP packet retry in msec
+  private static final Metrics.Timer ROUND_TRIP = Metrics.timer("rpc_round_trip_seconds", "Time from sending a remote RPC to receiving its answer");
+  private static final Metrics.Counter RETRIES = Metrics.counter("rpc_retries_total", "Remote RPC packets resent after a timeout");
   // How long until we should do the "timeout" action?
   @Override public final long getDelay( TimeUnit unit ) {
     long delay = (_started+_retry)-System.currentTimeMillis();
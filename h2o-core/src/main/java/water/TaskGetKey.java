@@ -20,6 +20,9 @@ public class TaskGetKey extends DTask<TaskGetKey> {
   // requests close in time.  Batch them up.
   private static final NonBlockingHashMap<Key,RPC<TaskGetKey>> TGKS = new NonBlockingHashMap();
 
+  // In-progress fetch of this key, or null
+  static RPC<TaskGetKey> pending( Key key ) { return TGKS.get(key); }
+
   // Get a value from a named remote node
   static Value get( H2ONode target, Key key ) { return get(start(target,key)); }
 
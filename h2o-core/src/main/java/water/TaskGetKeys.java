@@ -0,0 +1,98 @@
+package water;
+
+import water.nbhm.NonBlockingHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Get a batch of keys, all homed on the same remote node, in a single RPC.
+ * Used by {@link DKV#prefetch(Key[])} and {@link DKV#get(Key[])} so that
+ * touching many small remote keys costs one round trip per node instead of
+ * one per key.
+ */
+public class TaskGetKeys extends DTask<TaskGetKeys> {
+  Key[] _keys;               // Set by client/sender JVM, cleared by server JVM
+  Value[] _vals;             // Set by server JVM, read by client JVM
+  transient Key[] _xkeys;    // Set by client, read by client
+  transient H2ONode _h2o;    // Set by server JVM, read by server JVM on ACKACK
+
+  // Keys with a batched fetch in-flight, so a racing single-key get (or
+  // another batch) waits on the pending RPC instead of fetching again.
+  private static final NonBlockingHashMap<Key,RPC<TaskGetKeys>> TGKS = new NonBlockingHashMap<>();
+
+  // In-progress batched fetch of this key, or null
+  static RPC<TaskGetKeys> pending( Key key ) { return TGKS.get(key); }
+
+  // Block for the batch and pull out the Value of one of its keys
+  static Value get( RPC<TaskGetKeys> rpc, Key key ) {
+    TaskGetKeys tgks = rpc.get(); // Block for it
+    for( int i=0; i<tgks._xkeys.length; i++ )
+      if( tgks._xkeys[i].equals(key) )
+        return tgks._vals[i];
+    throw H2O.fail("Key "+key+" not part of batched fetch");
+  }
+
+  // Start an RPC to fetch the Values of keys all homed on target.  Keys
+  // already being fetched (batched or not) are left to the in-flight RPC.
+  // Returns null if nothing was left to fetch.
+  static RPC<TaskGetKeys> start( H2ONode target, Key[] keys ) {
+    Key[] ks = new Key[keys.length];
+    int n=0;
+    RPC<TaskGetKeys> rpc = new RPC<>(target,new TaskGetKeys(ks),1.0f);
+    for( Key key : keys )
+      if( TaskGetKey.pending(key) == null && TGKS.putIfMatchUnlocked(key,rpc,null) == null )
+        ks[n++] = key;          // Claimed this key for our batch
+    if( n == 0 ) return null;
+    if( n < ks.length ) {       // Trim keys claimed by racing fetches
+      Key[] trim = Arrays.copyOf(ks,n);
+      rpc._dt._keys = rpc._dt._xkeys = trim;
+    }
+    rpc.setTaskNum().call();    // Start the op
+    return rpc;
+  }
+
+  private TaskGetKeys( Key[] keys ) { super(H2O.GET_KEY_PRIORITY); _keys = _xkeys = keys; }
+
+  // Top-level non-recursive invoke
+  @Override public void dinvoke( H2ONode sender ) {
+    _h2o = sender;
+    Key[] ks = _keys;
+    _keys = null;         // Not part of the return result
+    _vals = new Value[ks.length];
+    for( int i=0; i<ks.length; i++ ) {
+      assert ks[i].home();  // Gets are always from home
+      // Same replica tracking as TaskGetKey, per key
+      Value val;
+      do  val = Value.STORE_get(ks[i]);
+      while( val != null && !val.setReplica(sender) );
+      _vals[i] = val;
+    }
+    tryComplete();
+  }
+  @Override public void compute2() { throw H2O.fail(); }
+
+  // Received an ACK; executes on the node asking&receiving the Values
+  @Override public void onAck() {
+    // Install each Value exactly as TaskGetKey.onAck does: only over a null
+    // or empty local Value, else keep the more recent local one.
+    for( int i=0; i<_xkeys.length; i++ ) {
+      Key key = _xkeys[i];
+      Value val = _vals[i];
+      if( val != null ) {       // Set transient fields after deserializing
+        assert !key.home() && val._key == null;
+        val._key = key;
+      }
+      Value old = H2O.STORE.get(key);
+      if( old != null && !old.isEmpty() ) old=null;
+      Value res = H2O.putIfMatch(key,val,old);
+      if( res != old ) _vals[i] = res;
+      TGKS.remove(key);       // Clear from dup cache
+    }
+  }
+
+  // Received an ACKACK; executes on the node sending the Values
+  @Override public void onAckAck() {
+    for( Value val : _vals )
+      if( val != null ) val.lowerActiveGetCount(_h2o);
+  }
+}
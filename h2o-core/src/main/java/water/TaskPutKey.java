@@ -1,5 +1,7 @@
 package water;
 
+import water.util.Metrics;
+
 /** Push the given key to the remote node
  *  @author <a href="mailto:cliffc@h2o.ai"></a>
  *  @version 1.0
@@ -10,9 +12,14 @@ public class TaskPutKey extends DTask<TaskPutKey> {
   boolean _dontCache; // delete cached value on the sender's side?
   transient Value _xval;
   transient Key _xkey;
+  private transient long _startNs; // For the put latency metric
+
+  private static final Metrics.Timer PUT_TIMER = Metrics.timer("dkv_remote_put_seconds", "Time from starting a put on a non-home node to its completion at home");
 
   static void put( H2ONode h2o, Key key, Value val, Futures fs, boolean dontCache) {
-    fs.add(RPC.call(h2o,new TaskPutKey(key,val,dontCache)));
+    TaskPutKey tpk = new TaskPutKey(key,val,dontCache);
+    tpk._startNs = System.nanoTime();
+    fs.add(RPC.call(h2o,tpk));
   }
 
   protected TaskPutKey( Key key, Value val ) { this(key,val,false);}
@@ -52,5 +59,6 @@ public class TaskPutKey extends DTask<TaskPutKey> {
     // (ie memory can be reclaimed and we assume we have plenty of disk space)
     if( _dontCache && !_xval.isPersisted() ) H2O.putIfMatch(_xkey, null, _xval);
     if( _xval != null ) _xval.completeRemotePut();
+    if( _startNs != 0 ) PUT_TIMER.recordSince(_startNs);
   }
 }
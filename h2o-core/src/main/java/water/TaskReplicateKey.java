@@ -0,0 +1,73 @@
+package water;
+
+/** Push copies of a home Value into the caches of every other node.
+ *  <p>
+ *  Meant for read-mostly Values that every node fetches over and over (split
+ *  points, models being scored and the like).  Each copy is recorded as a
+ *  replica on the home node exactly as a {@link TaskGetKey} fetch would be,
+ *  so a later PUT invalidates the copies with the usual {@link
+ *  TaskInvalidateKey}s and coherence is unchanged.
+ */
+class TaskReplicateKey extends DTask<TaskReplicateKey> {
+  Key _key;
+
+  // Replicate the current Value of key from its home node
+  static void replicate( Key key, Futures fs ) {
+    if( key.home() ) push(key,fs);
+    else fs.add(RPC.call(key.home_node(),new TaskReplicateKey(key)));
+  }
+
+  private TaskReplicateKey( Key key ) { super(H2O.PUT_KEY_PRIORITY); _key = key; }
+
+  @Override public void dinvoke( H2ONode sender ) {
+    // Block until all copies are installed, so the caller's Futures means
+    // "replicated everywhere"
+    push(_key,new Futures()).blockForPending();
+    _key = null;                // No return result
+    tryComplete();
+  }
+  @Override public void compute2() { throw H2O.fail(); }
+
+  // On the home node: ship the Value to every node not known to have it
+  private static Futures push( Key key, Futures fs ) {
+    assert key.home();
+    Value val = Value.STORE_get(key);
+    if( val == null || val.isNull() ) return fs;
+    for( H2ONode h2o : H2O.CLOUD._memary ) {
+      if( h2o == H2O.SELF ) continue;
+      // Read-lock the Value exactly as a remote GET does; a racing PUT will
+      // wait for the copy to land before invalidating it.  Fails if the
+      // Value is already being overwritten; no point copying it then.
+      if( !val.setReplica(h2o) ) return fs;
+      fs.add(RPC.call(h2o,new PushKey(key,val)));
+    }
+    return fs;
+  }
+
+  // Install a copy of a Value in a non-home node's cache
+  private static class PushKey extends DTask<PushKey> {
+    Key _key;
+    Value _val;
+    final transient Value _xval; // Set by home, read by home on ACK
+
+    PushKey( Key key, Value val ) { super(H2O.GET_KEY_PRIORITY); _key = key; _val = _xval = val; }
+
+    @Override public void dinvoke( H2ONode sender ) {
+      assert !_key.home() && _val._key == null;
+      _val._key = _key;       // Set transient fields after deserializing
+      // Same rules as installing a TaskGetKey result: only replace a missing
+      // or empty local Value; an existing one is at least as recent.
+      Value old = H2O.STORE.get(_key);
+      if( old == null || old.isEmpty() )
+        H2O.putIfMatch(_key,_val,old);
+      _key = null;            // No return result
+      _val = null;
+      tryComplete();
+    }
+    @Override public void compute2() { throw H2O.fail(); }
+
+    // Copy landed (or was not needed); release the read-lock on the home
+    // Value, possibly letting a pending PUT invalidate it.
+    @Override public void onAck() { _xval.lowerActiveGetCount(null); }
+  }
+}
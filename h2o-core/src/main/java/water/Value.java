@@ -94,17 +94,30 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   private volatile Freezable _pojo;
   Freezable rawPOJO() { return _pojo; }
 
+  // A summary computed from this exact Value and cached with it, on this
+  // node only; e.g. a Chunk's partial rollups.  Any write installs a new
+  // Value, so the summary can never be stale, and it goes away with the Value.
+  // It is not counted in the cached bytes either, so it also goes once both
+  // forms of the data are freed, e.g. by the Cleaner.
+  private transient volatile Freezable _derived;
+  /** @return the summary cached with this Value on this node, or null */
+  public Freezable derived() { return _derived; }
+  /** Cache a summary computed from this Value, on this node only. */
+  public void setDerived( Freezable f ) { _derived = f; }
+
   /** Invalidate byte[] cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freeMem() {
     assert isPersisted() || _pojo != null || _key.isChunkKey();
     _mem = null;
+    if( _pojo == null ) _derived = null;
   }
   /** Invalidate POJO cache.  Only used to eagerly free memory, for data
    *  which is expected to be read-once. */
   public final void freePOJO() {
     assert isPersisted() || _mem != null;
     _pojo = null;
+    if( _mem == null ) _derived = null;
   }
 
   /** The FAST path get-byte-array - final method for speed.  Will (re)build
@@ -157,7 +170,21 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   // ---
   // Time of last access to this value.
   transient long _lastAccessedTime = System.currentTimeMillis();
-  private void touch() {_lastAccessedTime = System.currentTimeMillis();}
+  // Racy count of accesses, a hint for the EvictionPolicy
+  transient int _accessCount;
+  private void touch() {
+    _lastAccessedTime = System.currentTimeMillis();
+    if( _accessCount < Integer.MAX_VALUE ) _accessCount++;
+  }
+  // Load a swapped-out Value back into memory ahead of its use.  Refreshes the
+  // access time so the Cleaner does not evict it again before it is read, but
+  // is not counted as an access.  Returns true if anything was loaded.
+  boolean readAhead() {
+    if( _mem != null || _pojo != null || !isPersisted() ) return false;
+    memOrLoad();
+    _lastAccessedTime = System.currentTimeMillis();
+    return true;
+  }
   // Exposed and used for testing only; used to trigger premature cleaning/disk-swapping
   void touchAt(long time) {_lastAccessedTime = time;}
 
@@ -195,6 +222,15 @@ public final class Value extends Iced implements ForkJoinPool.ManagedBlocker {
   public final boolean isDeleted() { return _deleted != 0; }
   public final void setDel() { _deleted=1; } // note: not atomic, but only monotonically set bit
 
+  // Codec of the spilled bytes (see water.persist.SwapCodec) and their size
+  // on the ice backend.  Set by the single writer (the Cleaner) just before
+  // the on-disk bit; only meaningful while the Value is persisted on ICE.
+  private transient volatile byte _swapCodec;
+  private transient volatile int _swapSize;
+  public final byte swapCodec() { return _swapCodec; }
+  public final int swapSize() { return _swapSize; }
+  public final void setSwapCodec(byte codec, int size) { _swapCodec = codec; _swapSize = size; }
+
 
   /** Best-effort store complete Values to disk.  */
   void storePersist() throws java.io.IOException {
@@ -27,6 +27,15 @@ class ParseHandler extends Handler {
                                       null,
                                       new ParseWriter.ParseErr[0], parse.chunk_size,
                                       parse.decrypt_tool != null ? parse.decrypt_tool.key() : null);
+    setup.setCategoricalFirstSeen(parse.categorical_first_seen);
+    setup.setSkippedColumns(parse.skipped_columns);
+    if (parse.filter_cols != null) {
+      if (parse.filter_min == null || parse.filter_max == null ||
+          parse.filter_min.length != parse.filter_cols.length || parse.filter_max.length != parse.filter_cols.length)
+        throw new H2OIllegalArgumentException("filter_cols, filter_min and filter_max must have the same length");
+      for (int i = 0; i < parse.filter_cols.length; i++)
+        setup.addRangeFilter(parse.filter_cols[i], parse.filter_min[i], parse.filter_max[i]);
+    }
 
     if (parse.source_frames == null) throw new H2OIllegalArgumentException("Data for Frame '" + parse.destination_frame.name + "' is not available. Please check that the path is valid (for all H2O nodes).'");
     Key[] srcs = new Key[parse.source_frames.length];
@@ -332,6 +332,18 @@ public class RegisterV3Api extends AbstractRegister {
             "GET /3/WaterMeterIo", WaterMeterIoHandler.class, "fetch_all",
             "Return IO usage snapshot of all nodes in the H2O cluster.");
 
+    context.registerEndpoint("metricsForNode",
+            "GET /3/Metrics/{nodeidx}", WaterMeterMetricsHandler.class, "fetch",
+            "Return the MRTask, RPC, DKV, Cleaner and fork/join queue metrics of a node in the H2O cluster.");
+
+    context.registerEndpoint("metricsForCluster",
+            "GET /3/Metrics", WaterMeterMetricsHandler.class, "fetch_all",
+            "Return the MRTask, RPC, DKV, Cleaner and fork/join queue metrics of all nodes in the H2O cluster.");
+
+    context.registerEndpoint("metricsPrometheus",
+            "GET /3/PrometheusMetrics", WaterMeterMetricsHandler.class, "prometheus",
+            "Return the metrics of all nodes in the H2O cluster in the Prometheus text format.");
+
     // Node persistent storage
     context.registerEndpoint("npsContains",
             "GET /3/NodePersistentStorage/categories/{category}/names/{name}/exists",
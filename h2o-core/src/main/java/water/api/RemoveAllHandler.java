@@ -28,7 +28,7 @@ public class RemoveAllHandler extends Handler {
       @Override public void setupLocal() {  H2O.raw_clear();  water.fvec.Vec.ESPC.clear(); }
     }.doAllNodes();
     // Wipe the backing store without regard as well
-    H2O.getPM().getIce().cleanUp();
+    H2O.getPM().cleanUpIce();
     H2O.updateNotIdle();
     Log.info("Finished removing objects");
     return u;
@@ -688,7 +688,8 @@ public class RequestServer extends HttpServlet {
     }
     if (s instanceof StreamingSchema) {
       StreamingSchema ss = (StreamingSchema) s;
-      NanoResponse r = new NanoStreamResponse(http_response_header, MIME_DEFAULT_BINARY, ss.getStreamWriter());
+      String mime = ss.getMimeType() == null ? MIME_DEFAULT_BINARY : ss.getMimeType();
+      NanoResponse r = new NanoStreamResponse(http_response_header, mime, ss.getStreamWriter());
       // Needed to make file name match class name
       r.addHeader("Content-Disposition", "attachment; filename=\"" + ss.getFilename() + "\"");
       return r;
@@ -10,6 +10,7 @@ public class StreamingSchema extends SchemaV3<Iced, StreamingSchema> {
 
   private final transient StreamWriter streamWriter;
   private final transient String filename;
+  private final transient String mimeType;
 
   public StreamingSchema() {
     this(null);
@@ -20,8 +21,13 @@ public class StreamingSchema extends SchemaV3<Iced, StreamingSchema> {
   }
 
   public StreamingSchema(StreamWriter streamWriter, String filename) {
+    this(streamWriter, filename, null);
+  }
+
+  public StreamingSchema(StreamWriter streamWriter, String filename, String mimeType) {
     this.streamWriter = streamWriter;
     this.filename = filename;
+    this.mimeType = mimeType;
   }
 
   /**
@@ -35,4 +41,11 @@ public class StreamingSchema extends SchemaV3<Iced, StreamingSchema> {
   public String getFilename() {
     return filename;
   }
+
+  /**
+   * Returns the content type of the stream, or null for the default binary type.
+   */
+  public String getMimeType() {
+    return mimeType;
+  }
 }
@@ -0,0 +1,41 @@
+package water.api;
+
+import water.api.schemas3.WaterMeterMetricsV3;
+import water.util.WaterMeterMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class WaterMeterMetricsHandler extends Handler {
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public WaterMeterMetricsV3 fetch(int version, WaterMeterMetricsV3 s) {
+    WaterMeterMetrics impl = s.createAndFillImpl();
+    impl.doIt(false);
+    return s.fillFromImpl(impl);
+  }
+
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public WaterMeterMetricsV3 fetch_all(int version, WaterMeterMetricsV3 s) {
+    WaterMeterMetrics impl = s.createAndFillImpl();
+    impl.doIt(true);
+    return s.fillFromImpl(impl);
+  }
+
+  /** All nodes' metrics in the Prometheus text exposition format. */
+  @SuppressWarnings("unused") // called through reflection by RequestServer
+  public StreamingSchema prometheus(int version, WaterMeterMetricsV3 s) {
+    WaterMeterMetrics impl = s.createAndFillImpl();
+    impl.doIt(true);
+    final byte[] text = impl.toPrometheus().getBytes(StandardCharsets.UTF_8);
+    return new StreamingSchema(new StreamWriter() {
+      @Override public void writeTo(OutputStream os) {
+        try {
+          os.write(text);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    }, "metrics.txt", "text/plain; version=0.0.4");
+  }
+}
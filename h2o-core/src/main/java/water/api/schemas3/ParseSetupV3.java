@@ -73,6 +73,18 @@ public class ParseSetupV3 extends RequestSchemaV3<ParseSetup, ParseSetupV3> {
   @API(help="Key-reference to an initialized instance of a Decryption Tool")
   public KeyV3.DecryptionToolKeyV3 decrypt_tool;
 
+  @API(help="Indices of the columns to leave out of the frame (Parquet only)", direction=API.Direction.INOUT)
+  public int[] skipped_columns;
+
+  @API(help="Columns of the range filters: only the row groups (Parquet) or stripes (ORC) that may hold values in [filter_min, filter_max] of each are read", direction=API.Direction.INOUT)
+  public int[] filter_cols;
+
+  @API(help="Lower bounds of the range filters", direction=API.Direction.INOUT)
+  public double[] filter_min;
+
+  @API(help="Upper bounds of the range filters", direction=API.Direction.INOUT)
+  public double[] filter_max;
+
   @Override
   public ParseSetup fillImpl(ParseSetup impl) {
     ParseSetup parseSetup = fillImpl(impl, new String[] {"parse_type"});
@@ -53,6 +53,21 @@ public class ParseV3 extends RequestSchemaV3<Iced, ParseV3> {
   @API(help="Key-reference to an initialized instance of a Decryption Tool")
   public KeyV3.DecryptionToolKeyV3 decrypt_tool;
 
+  @API(help="Number categorical levels in the order first seen instead of sorting them; not reproducible across runs", direction=API.Direction.INPUT)
+  public boolean categorical_first_seen;
+
+  @API(help="Indices of the columns to leave out of the frame (Parquet only)", direction=API.Direction.INPUT)
+  public int[] skipped_columns;
+
+  @API(help="Columns of the range filters: only the row groups (Parquet) or stripes (ORC) that may hold values in [filter_min, filter_max] of each are read", direction=API.Direction.INPUT)
+  public int[] filter_cols;
+
+  @API(help="Lower bounds of the range filters", direction=API.Direction.INPUT)
+  public double[] filter_min;
+
+  @API(help="Upper bounds of the range filters", direction=API.Direction.INPUT)
+  public double[] filter_max;
+
   // Output fields
   @API(help="Parse job", direction=API.Direction.OUTPUT)
   public JobV3 job;
@@ -0,0 +1,26 @@
+package water.api.schemas3;
+
+import water.api.API;
+import water.util.PojoUtils;
+import water.util.WaterMeterMetrics;
+
+public class WaterMeterMetricsV3 extends RequestSchemaV3<WaterMeterMetrics, WaterMeterMetricsV3> {
+  @API(help="Index of node to query metrics for (0-based)", direction = API.Direction.INPUT)
+  public int nodeidx;
+
+  @API(help="array of metrics", direction = API.Direction.OUTPUT)
+  public WaterMeterMetrics.MetricEntry metrics[];
+
+  // Version&Schema-specific filling into the implementation object
+  public WaterMeterMetrics createImpl() {
+    WaterMeterMetrics obj = new WaterMeterMetrics();
+    PojoUtils.copyProperties(obj, this, PojoUtils.FieldNaming.CONSISTENT);
+    return obj;
+  }
+
+  // Version&Schema-specific filling from the implementation object
+  public WaterMeterMetricsV3 fillFromImpl(WaterMeterMetrics i) {
+    PojoUtils.copyProperties(this, i, PojoUtils.FieldNaming.CONSISTENT);
+    return this;
+  }
+}
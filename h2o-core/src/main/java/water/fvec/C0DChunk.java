@@ -3,6 +3,7 @@ package water.fvec;
 import water.parser.BufferedString;
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -38,6 +39,10 @@ public class C0DChunk extends Chunk {
     if(Double.isNaN(_con)) return null; // speciall all missing case
     return super.atStr_impl(bStr,idx);
   }
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals, 0, to-from, Double.isNaN(_con) ? NA : _con);
+    return vals;
+  }
   // 3.3333333e33
 //  public int pformat_len0() { return 22; }
 //  public String pformat0() { return "% 21.15e"; }
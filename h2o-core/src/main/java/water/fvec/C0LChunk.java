@@ -2,6 +2,8 @@ package water.fvec;
 
 import water.util.UnsafeUtils;
 
+import java.util.Arrays;
+
 /**
  * The constant 'long' column.
  */
@@ -26,6 +28,11 @@ public class C0LChunk extends Chunk {
   @Override double min() { return _con; }
   @Override double max() { return _con; }
 
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA){
+    Arrays.fill(vals, 0, to-from, _con);
+    return vals;
+  }
+
   @Override public final void initFromBytes () {
     _start = -1;  _cidx = -1;
     _con = UnsafeUtils.get8(_mem,0);
@@ -0,0 +1,133 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+/**
+ * The N-bit integer compression function: each row holds its value minus
+ * the chunk's smallest value, packed into just the bits the span needs.  For
+ * spans that waste much of a byte-aligned width, e.g. 11 bits in a short,
+ * or timestamps whose span is far smaller than their magnitude.  If the
+ * chunk has NAs, the all-ones code is NA.
+ */
+public class CNBChunk extends Chunk {
+  static final int _OFF = 4 + 1 + 1 + 2 + 8; // _len, bits, hasNA, padding, base
+  /** Widest code; any row's bits fit in one unaligned 8-byte read. */
+  public static final int MAX_BITS = 57;
+  /** Bits needed to hold codes 0 to maxCode. */
+  public static int bitsFor(long maxCode) { return Math.max(1, 64 - Long.numberOfLeadingZeros(maxCode)); }
+  public static int computeByteSize(int bits, int len) {
+    return _OFF + (int)(((long)len*bits + 7) >> 3)
+            + 7; // Slack, so the last row can be read with get8
+  }
+
+  private transient int _bits;
+  private transient long _mask, _base;
+  private transient boolean _hasNA;
+
+  CNBChunk() {}
+  /** @param mem as filled in by NewChunk, the codes after the header */
+  CNBChunk(byte[] mem) { _mem = mem; initFromBytes(); }
+
+  static byte[] header(int len, int bits, boolean hasNA, long base) {
+    byte[] mem = MemoryManager.malloc1(computeByteSize(bits, len));
+    UnsafeUtils.set4(mem, 0, len);
+    mem[4] = (byte)bits;
+    mem[5] = (byte)(hasNA ? 1 : 0);
+    UnsafeUtils.set8(mem, 8, base);
+    return mem;
+  }
+  static void setCode(byte[] mem, int bits, int i, long code) {
+    long bit = (long)i*bits;
+    int off = _OFF + (int)(bit >>> 3), sh = (int)(bit & 7);
+    long mask = ((1L << bits) - 1) << sh;
+    UnsafeUtils.set8(mem, off, (UnsafeUtils.get8(mem, off) & ~mask) | (code << sh));
+  }
+  private long code(int i) {
+    long bit = (long)i*_bits;
+    return (UnsafeUtils.get8(_mem, _OFF + (int)(bit >>> 3)) >>> (bit & 7)) & _mask;
+  }
+  private boolean isNACode(long code) { return _hasNA && code == _mask; }
+
+  @Override public boolean hasFloat() { return false; }
+  @Override public boolean hasNA() { return _hasNA; }
+  @Override protected final long at8_impl( int i ) {
+    long code = code(i);
+    if( isNACode(code) ) throw new IllegalArgumentException("at8_abs but value is missing");
+    return _base + code;
+  }
+  @Override protected final double atd_impl( int i ) {
+    long code = code(i);
+    return isNACode(code) ? Double.NaN : _base + code;
+  }
+  @Override protected final boolean isNA_impl( int i ) { return isNACode(code(i)); }
+  @Override boolean set_impl(int i, long l) {
+    long code = l - _base;      // Wraps around for l far above a negative base
+    // In range, and not colliding with the NA code; else the caller inflates
+    if( l < _base || code < 0 || code > _mask || isNACode(code) ) return false;
+    setCode(_mem, _bits, i, code);
+    return true;
+  }
+  @Override boolean set_impl(int i, double d) { return (long)d == d && set_impl(i, (long)d); }
+  @Override boolean set_impl(int i, float f ) { return (long)f == f && set_impl(i, (long)f); }
+  @Override boolean setNA_impl(int i) {
+    if( !_hasNA ) return false;
+    setCode(_mem, _bits, i, _mask);
+    return true;
+  }
+
+  private void processRow(int i, ChunkVisitor v) {
+    long code = code(i);
+    if( isNACode(code) ) v.addNAs(1);
+    else v.addValue(_base + code);
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    for( int i = from; i < to; i++ ) processRow(i, v);
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for( int i : ids ) processRow(i, v);
+    return v;
+  }
+
+  // Bulk decoders: one unaligned read, shift and mask per row, with no
+  // per-row calls or branches beyond the NA check.
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
+    final byte[] mem = _mem;
+    final int bits = _bits;
+    final long mask = _mask, base = _base, na = _hasNA ? mask : -1;
+    long bit = (long)from*bits;
+    for( int i = from; i < to; i++, bit += bits ) {
+      long code = (UnsafeUtils.get8(mem, _OFF + (int)(bit >>> 3)) >>> (bit & 7)) & mask;
+      vals[i-from] = code == na ? NA : base + code;
+    }
+    return vals;
+  }
+  @Override public int [] getIntegers(int [] vals, int from, int to, int NA) {
+    final byte[] mem = _mem;
+    final int bits = _bits;
+    final long mask = _mask, base = _base, na = _hasNA ? mask : -1;
+    long bit = (long)from*bits;
+    for( int i = from; i < to; i++, bit += bits ) {
+      long code = (UnsafeUtils.get8(mem, _OFF + (int)(bit >>> 3)) >>> (bit & 7)) & mask;
+      if( code == na ) { vals[i-from] = NA; continue; }
+      long l = base + code;
+      if( (int)l != l ) throw new RuntimeException(l + " does not fit into int");
+      vals[i-from] = (int)l;
+    }
+    return vals;
+  }
+
+  @Override protected final void initFromBytes() {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem, 0));
+    _bits = _mem[4];
+    _hasNA = _mem[5] != 0;
+    _mask = (1L << _bits) - 1;
+    _base = UnsafeUtils.get8(_mem, 8);
+  }
+}
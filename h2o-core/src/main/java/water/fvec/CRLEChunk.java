@@ -0,0 +1,135 @@
+package water.fvec;
+
+import water.MemoryManager;
+import water.util.UnsafeUtils;
+
+import java.util.Arrays;
+
+/**
+ * The run-length compression function: the row where each run of repeated
+ * values starts, and the run's value.  For sorted and slowly changing
+ * columns.  Values are kept as longs (integer columns, with C8Chunk's NA) or
+ * as the bits of doubles.
+ */
+public class CRLEChunk extends Chunk {
+  static final int _OFF = 4 + 4 + 1; // _len, number of runs, integer flag
+  static final int RUN_SZ = 4 + 8;   // start row and value of a run
+  public static int computeByteSize(int runs) { return _OFF + runs*RUN_SZ; }
+
+  private transient int _runs;
+  private transient boolean _isInt;
+  private transient int _last;  // Run of the last lookup; rows are mostly read in order
+
+  CRLEChunk() {}
+  /** @param bs the rows' values, 8 bytes each: longs if isInt, else doubles */
+  CRLEChunk(byte[] bs, int len, boolean isInt) {
+    int runs = 0;
+    for( int i=0; i<len; i++ )
+      if( i==0 || UnsafeUtils.get8(bs,i<<3) != UnsafeUtils.get8(bs,(i-1)<<3) ) runs++;
+    _mem = MemoryManager.malloc1(computeByteSize(runs));
+    UnsafeUtils.set4(_mem,0,len);
+    UnsafeUtils.set4(_mem,4,runs);
+    _mem[8] = (byte)(isInt ? 1 : 0);
+    initFromBytes();
+    int r = 0;
+    for( int i=0; i<len; i++ ) {
+      long l = UnsafeUtils.get8(bs,i<<3);
+      if( i > 0 && l == UnsafeUtils.get8(bs,(i-1)<<3) ) continue;
+      UnsafeUtils.set4(_mem,_OFF+(r<<2),i);
+      UnsafeUtils.set8(_mem,_OFF+(runs<<2)+(r<<3),l);
+      r++;
+    }
+    assert r == runs;
+  }
+
+  private int start( int r ) { return r == _runs ? _len : UnsafeUtils.get4(_mem,_OFF+(r<<2)); }
+  private long value( int r ) { return UnsafeUtils.get8(_mem,_OFF+(_runs<<2)+(r<<3)); }
+  private boolean isNA( long l ) { return _isInt ? l == C8Chunk._NA : Double.isNaN(Double.longBitsToDouble(l)); }
+
+  // Run holding row i.  Checks the last run looked up and the one after it
+  // before falling back to a binary search, so scans in row order are O(1).
+  private int run( int i ) {
+    int r = _last;              // Racy but always a valid run
+    if( start(r) <= i ) {
+      if( i < start(r+1) ) return r;
+      if( r+1 < _runs && i < start(r+2) ) return _last = r+1;
+    }
+    int lo = 0, hi = _runs-1;   // Last run starting at or before i
+    while( lo < hi ) {
+      int mid = (lo+hi+1) >>> 1;
+      if( start(mid) <= i ) lo = mid;
+      else hi = mid-1;
+    }
+    return _last = lo;
+  }
+
+  @Override public boolean hasFloat() { return !_isInt; }
+  @Override protected final long at8_impl( int i ) {
+    long l = value(run(i));
+    if( isNA(l) ) throw new IllegalArgumentException("at8_abs but value is missing");
+    return _isInt ? l : (long)Double.longBitsToDouble(l);
+  }
+  @Override protected final double atd_impl( int i ) {
+    long l = value(run(i));
+    return _isInt ? (l == C8Chunk._NA ? Double.NaN : l) : Double.longBitsToDouble(l);
+  }
+  @Override protected final boolean isNA_impl( int i ) { return isNA(value(run(i))); }
+  // Only writes leaving the value unchanged fit without splitting a run
+  @Override boolean set_impl(int i, long l) {
+    return _isInt ? l != C8Chunk._NA && value(run(i)) == l : set_impl(i,(double)l);
+  }
+  @Override boolean set_impl(int i, double d) {
+    return _isInt
+      ? (double)(long)d == d && set_impl(i,(long)d)
+      : Double.doubleToLongBits(d) == Double.doubleToLongBits(atd_impl(i));
+  }
+  @Override boolean set_impl(int i, float f ) { return set_impl(i,(double)f); }
+  @Override boolean setNA_impl(int i) { return isNA_impl(i); }
+
+  private void processRun(ChunkVisitor v, long l, int n) {
+    if( isNA(l) ) v.addNAs(n);
+    else if( l == 0 ) v.addZeros(n); // Integer or positive 0
+    else if( _isInt ) for( int k=0; k<n; k++ ) v.addValue(l);
+    else {
+      double d = Double.longBitsToDouble(l);
+      for( int k=0; k<n; k++ ) v.addValue(d);
+    }
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int from, int to) {
+    if( from >= to ) return v;
+    for( int i = from, r = run(from); i < to; r++ ) {
+      int end = Math.min(to,start(r+1));
+      processRun(v,value(r),end-i);
+      i = end;
+    }
+    return v;
+  }
+
+  @Override
+  public <T extends ChunkVisitor> T processRows(T v, int[] ids) {
+    for( int i : ids ) processRun(v,value(run(i)),1);
+    return v;
+  }
+
+  @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
+    if( from >= to ) return vals;
+    for( int i = from, r = run(from); i < to; r++ ) {
+      int end = Math.min(to,start(r+1));
+      long l = value(r);
+      double d = isNA(l) ? NA : _isInt ? l : Double.longBitsToDouble(l);
+      Arrays.fill(vals,i-from,end-from,d);
+      i = end;
+    }
+    return vals;
+  }
+
+  @Override protected final void initFromBytes() {
+    _start = -1;  _cidx = -1;
+    set_len(UnsafeUtils.get4(_mem,0));
+    _runs = UnsafeUtils.get4(_mem,4);
+    _isInt = _mem[8] != 0;
+    _last = 0;
+  }
+}
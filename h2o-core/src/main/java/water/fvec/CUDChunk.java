@@ -7,16 +7,24 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
- * The "few unique doubles"-compression function
+ * The "few unique doubles"-compression function.  Each row holds the index
+ * of its value in a table of the chunk's unique values; the index takes a
+ * byte, or just 1, 2 or 4 bits when there are at most 2, 4 or 16 uniques.
  */
 public class CUDChunk extends Chunk {
   public static int MAX_UNIQUES=256;
+  // Bits per row index; the widths divide a byte, so an index never
+  // straddles two bytes
+  static int codeBits(int uniques) {
+    return uniques <= 2 ? 1 : uniques <= 4 ? 2 : uniques <= 16 ? 4 : 8;
+  }
   public static int computeByteSize(int uniques, int len) {
     return 4 + 4 // _len + numUniques
             + (uniques << 3) //unique double values
-            + (len << 1); //mapping of row -> unique value index (0...255)
+            + (int)(((long)len*codeBits(uniques) + 7) >> 3); //mapping of row -> unique value index
   }
   int numUniques;
+  private transient int _bits, _codeOff;
   CUDChunk() {}
   CUDChunk(byte[] bs, HashMap<Long,Byte> hs, int len) {
     _start = -1;
@@ -24,7 +32,9 @@ public class CUDChunk extends Chunk {
     set_len(len);
     _mem = MemoryManager.malloc1(computeByteSize(numUniques, _len), false);
     UnsafeUtils.set4(_mem, 0, _len);
-    UnsafeUtils.set4(_mem, 4, numUniques);
+    // Index width in the upper half; chunks from before bit-packing have 0 there, meaning a byte
+    UnsafeUtils.set4(_mem, 4, numUniques | (codeBits(numUniques) << 16));
+    initFromBytes();
     int j=0;
     //create the mapping and also store the unique values (as longs)
     for (Map.Entry<Long,Byte> e : hs.entrySet()) {
@@ -34,17 +44,27 @@ public class CUDChunk extends Chunk {
     }
     // store the mapping
     for (int i=0; i<len; ++i)
-      UnsafeUtils.set1(_mem, 8 + (numUniques << 3) + i, hs.get(Double.doubleToLongBits(UnsafeUtils.get8d(bs, i << 3))));
+      setCode(i, hs.get(Double.doubleToLongBits(UnsafeUtils.get8d(bs, i << 3)))+128);
+  }
+
+  private int code(int i) {
+    if (_bits == 8) return UnsafeUtils.get1(_mem, _codeOff + i)+128;
+    int bit = i*_bits;
+    return (_mem[_codeOff + (bit >> 3)] >>> (bit & 7)) & ((1 << _bits)-1);
   }
+  private void setCode(int i, int code) {
+    if (_bits == 8) { UnsafeUtils.set1(_mem, _codeOff + i, (byte)(code-128)); return; }
+    int bit = i*_bits, o = _codeOff + (bit >> 3), mask = ((1 << _bits)-1) << (bit & 7);
+    _mem[o] = (byte)((_mem[o] & ~mask) | (code << (bit & 7)));
+  }
+  private double unique(int j) { return Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (j << 3))); }
+
   @Override protected final long   at8_impl( int i ) {
     double res = atd_impl(i);
     if( Double.isNaN(res) ) throw new IllegalArgumentException("at8_impl but value is missing");
     return (long)res;
   }
-  @Override protected final double   atd_impl( int i ) {
-    int whichUnique = (UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128);
-    return Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (whichUnique << 3)));
-  }
+  @Override protected final double   atd_impl( int i ) { return unique(code(i)); }
 
   @Override public double [] getDoubles(double [] vals, int from, int to) {
     return getDoubles(vals,from,to,Double.NaN);
@@ -52,12 +72,12 @@ public class CUDChunk extends Chunk {
   @Override public double [] getDoubles(double [] vals, int from, int to, double NA) {
     double [] uniques = new double[numUniques];
     for(int i = 0; i < numUniques; ++i) {
-      uniques[i] = Double.longBitsToDouble(UnsafeUtils.get8(_mem, 8 + (i << 3)));
+      uniques[i] = unique(i);
       if(Double.isNaN(uniques[i]))
         uniques[i] = NA;
     }
-    for(int i = 0; i < _len; ++i)
-      vals[i] = uniques[(UnsafeUtils.get1(_mem, 8 + (numUniques << 3) + i)+128)];
+    for(int i = from; i < to; ++i)
+      vals[i-from] = uniques[code(i)];
     return vals;
   }
 
@@ -66,7 +86,7 @@ public class CUDChunk extends Chunk {
   @Override boolean set_impl(int i, double d) {
     for (int j = 0; j < numUniques; ++j) {
       if (Double.compare(Double.doubleToLongBits(d), UnsafeUtils.get8(_mem, 8 + (j << 3))) == 0) {
-        UnsafeUtils.set1(_mem, 8 + (numUniques << 3) + i, (byte) (j-128));
+        setCode(i, j);
         return true;
       }
     }
@@ -92,7 +112,10 @@ public class CUDChunk extends Chunk {
   @Override protected final void initFromBytes () {
     _start = -1;  _cidx = -1;
     _len = UnsafeUtils.get4(_mem, 0);
-    numUniques = UnsafeUtils.get4(_mem, 4);
+    int u = UnsafeUtils.get4(_mem, 4);
+    numUniques = u & 0xFFFF;
+    _bits = (u >>> 16) == 0 ? 8 : u >>> 16;
+    _codeOff = 8 + (numUniques << 3);
     set_len(_len);
   }
 }
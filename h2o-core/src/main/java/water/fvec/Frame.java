@@ -168,7 +168,9 @@ public class Frame extends Lockable<Frame> {
     super(key);
 
     // Require all Vecs already be installed in the K/V store
-    for( Vec vec : vecs ) DKV.prefetch(vec._key);
+    Key[] vkeys = new Key[vecs.length];
+    for( int i=0; i<vecs.length; i++ ) vkeys[i] = vecs[i]._key;
+    DKV.prefetch(vkeys);
     for( Vec vec : vecs ) {
       assert DKV.get(vec._key) != null : " null vec: "+vec._key;
     }
@@ -344,8 +346,9 @@ public class Frame extends Lockable<Frame> {
 
   // Compute vectors for caching
   private Vec[] vecs_impl() {
-    // Load all Vec headers; load them all in parallel by starting prefetches
-    for( Key<Vec> key : _keys ) DKV.prefetch(key);
+    // Load all Vec headers; load them all in parallel by starting prefetches,
+    // batched into one fetch per home node
+    DKV.prefetch(_keys);
     Vec [] vecs = new Vec[_keys.length];
     for( int i=0; i<_keys.length; i++ ) vecs[i] = _keys[i].get();
     return vecs;
@@ -1166,7 +1169,7 @@ public class Frame extends Lockable<Frame> {
     }
     Frame ff = new Frame(names, vecs);
     ff.add("predicate", frows.anyVec());
-    return new DeepSelect().doAll(types(c2),ff).outputFrame(names(c2),domains(c2));
+    return new DeepSelect(frows.anyVec().zoneMap()).doAll(types(c2),ff).outputFrame(names(c2),domains(c2));
   }
 
   // Slice and return in the form of new chunks.
@@ -1368,8 +1371,20 @@ public class Frame extends Lockable<Frame> {
    *  Last column is a bit vec indicating whether or not to take the row.
    */
   public static class DeepSelect extends MRTask<DeepSelect> {
+    final ZoneMap _zones;       // Of the predicate, if known
+    public DeepSelect() { this(null); }
+    public DeepSelect( ZoneMap zones ) { _zones = zones; }
     @Override public void map( Chunk[] chks, NewChunk [] nchks ) {
       Chunk pred =  chks[chks.length - 1];
+      // Chunks selecting no rows are skipped without a scan, e.g. constant
+      // predicates from comparisons answered by a zone map
+      if( pred.min() == 0 && pred.max() == 0 ) return;
+      if( _zones != null && (_zones.max(pred.cidx()) < 1 || _zones.min(pred.cidx()) > 1) ) return;
+      if( pred.min() == 1 && pred.max() == 1 ) { // Selecting all rows
+        for (int c = 0; c < chks.length-1; ++c)
+          chks[c].extractRows(nchks[c], 0, pred._len);
+        return;
+      }
       int[] ids = pred.getIntegers(new int[pred._len],0,pred._len,0);
       int zeros = 0;
       for(int i = 0; i < ids.length; ++i)
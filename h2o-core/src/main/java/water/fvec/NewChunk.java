@@ -272,6 +272,7 @@ public class NewChunk extends Chunk {
   private int _naCnt=-1;                // Count of NA's   appended
   protected int naCnt() { return _naCnt; }               // Count of NA's   appended
   private int _catCnt;                  // Count of Categorical's appended
+  private int _sparseCatCnt;            // Count of Categorical 0's appended while sparse, so not stored
   private int _strCnt;                  // Count of string's appended
   private int _nzCnt;                   // Count of non-zero's appended
   private int _uuidCnt;                 // Count of UUIDs
@@ -436,7 +437,9 @@ public class NewChunk extends Chunk {
       return Vec.T_BAD;
     if(_strCnt > 0)
       return Vec.T_STR;
-    if(_catCnt > 0 && _catCnt + _naCnt + (isSparseZero()? _len-_sparseLen : 0) == _len)
+    // Unstored categorical 0's are among the sparse zeros, or became plain
+    // zeros when the chunk went dense
+    if((_catCnt > 0 || _sparseCatCnt > 0) && _catCnt + _naCnt + (isSparseZero()? _len-_sparseLen : _sparseCatCnt) == _len)
       return Vec.T_CAT; // All are Strings+NAs ==> Categorical Chunk
     // UUIDs?
     if( _uuidCnt > 0 ) return Vec.T_UUID;
@@ -468,7 +471,7 @@ public class NewChunk extends Chunk {
       _xs.setCategorical(_sparseLen);
       if(_id != null) _id[_sparseLen] = _len;
       ++_sparseLen;
-    }
+    } else ++_sparseCatCnt;
     ++_len;
   }
   public void addNA() {
@@ -736,7 +739,39 @@ public class NewChunk extends Chunk {
     }
     _len += n;
   }
-  
+
+  /**
+   * Append len integers of vals starting at off, with NAs where isNA (may be null)
+   * is set.  Same as addNum(vals[i],0) or addNA() for each value, but a dense
+   * chunk grows its arrays once for the whole run; sparse, double, string and
+   * UUID chunks take the per-value path.
+   */
+  public void addNums(long[] vals, boolean[] isNA, int off, int len) {
+    if( _id != null || _ds != null || _is != null || _ms == null || _xs == null ) {
+      for( int i = off; i < off + len; i++ )
+        if( isNA != null && isNA[i] ) addNA();
+        else addNum(vals[i], 0);
+      return;
+    }
+    int need = _sparseLen + len;
+    if( _ms.len() < need ) {
+      int cap = Math.max(need, _ms.len() << 1);
+      _ms.resize(cap);
+      _xs.resize(cap);
+    }
+    for( int i = off; i < off + len; i++ ) {
+      if( isNA != null && isNA[i] ) {
+        if( _missing == null ) _missing = new BitSet();
+        _missing.set(_sparseLen);
+      } else {
+        _ms.set(_sparseLen, vals[i]);
+        _xs.set(_sparseLen, 0);
+      }
+      _sparseLen++;
+    }
+    _len += len;
+  }
+
   // Append all of 'nc' onto the current NewChunk.  Kill nc.
   public void add( NewChunk nc ) {
     assert _cidx >= 0;
@@ -1308,6 +1343,15 @@ public class NewChunk extends Chunk {
     // wise we just flip to a float or double representation.
     if( overflow || (fpoint && floatOverflow) || -35 > xmin || xmin > 35 )
       return chunkD();
+    // Long runs of repeated values, as in sorted or slowly changing columns?
+    // Run-length encode if that takes under half the fixed width picked below.
+    if( _id == null ) {
+      int width = leRange < 255 ? 1 : leRange < 65535 ? 2 : leRange < 4294967295l ? 4 : 8;
+      long budget = ((long)width*_len) >> 1;
+      int runs = runCount(!fpoint, (int)(budget/CRLEChunk.RUN_SZ));
+      if( CRLEChunk.computeByteSize(runs) < budget )
+        return chunkRLE(!fpoint);
+    }
     if( fpoint ) {
       if( (int)lemin == lemin && (int)lemax == lemax ) {
         if(leRange < 255) { // Fits in scaled biased byte?
@@ -1325,6 +1369,18 @@ public class NewChunk extends Chunk {
       return chunkD();
     } // else an integer column
 
+    // Frame-of-reference bit packing, when the span wastes at least a quarter
+    // of the byte-aligned width picked below.  Not for spans the byte chunks
+    // hold (small categoricals, mostly): a byte per row decodes faster than
+    // shifting and masking, and saves at most 7 bits of it.
+    if( xmin == 0 && !(leRange < 255 && lemin >= Integer.MIN_VALUE) ) {
+      boolean hasNA = _naCnt + _catCnt > 0;
+      int bits = CNBChunk.bitsFor(leRange + (hasNA ? 1 : 0)); // NA takes the all-ones code
+      int width = bits <= 8 ? 1 : bits <= 16 ? 2 : bits <= 32 ? 4 : 8;
+      if( bits <= CNBChunk.MAX_BITS && bits <= 6*width && CNBChunk.computeByteSize(bits,_len) <= 0.75*width*_len )
+        return new CNBChunk(bufN(lemin,bits,hasNA));
+    }
+
     // Compress column into a byte
     if(xmin == 0 &&  0<=lemin && lemax <= 255 && ((_naCnt + _catCnt)==0) )
       return new C1NChunk( bufX(0,0,C1NChunk._OFF,0));
@@ -1423,18 +1479,74 @@ public class NewChunk extends Chunk {
     return bs;
   }
 
+  // Compute a frame-of-reference bit-packed buffer
+  private byte[] bufN( long base, int bits, boolean hasNA ) {
+    byte[] bs = CNBChunk.header(_len, bits, hasNA, base);
+    final long na = (1L << bits) - 1;
+    int j = 0;
+    for( int i=0; i< _len; i++ ) {
+      long code = -base;
+      if(_id == null || _id.length == 0 || (j < _id.length && _id[j] == i)){
+        if( isNA2(j) ) {
+          code = na;
+        } else {
+          int x = _xs.get(j)==Integer.MIN_VALUE+1 ? 0 : _xs.get(j);
+          code += x >= 0
+              ? _ms.get(j)*PrettyPrint.pow10i( x)
+              : _ms.get(j)/PrettyPrint.pow10i(-x);
+        }
+        ++j;
+      }
+      CNBChunk.setCode(bs, bits, i, code);
+    }
+    assert j == _sparseLen :"j = " + j + ", _sparseLen = " + _sparseLen;
+    return bs;
+  }
+
   private double getDouble(int j){
     if(_ds != null) return _ds[j];
     if(isNA2(j)|| isCategorical(j)) return Double.NaN;
     return PrettyPrint.pow10(_ms.get(j),_xs.get(j));
   }
 
+  // Row i of a dense chunk as the 8 bytes a CRLEChunk keeps: a long (NA is
+  // C8Chunk's) for integer columns, else the bits of a double
+  private long rleBits(int i, boolean isInt) {
+    if( !isInt ) return Double.doubleToLongBits(getDouble(i));
+    if( isNA2(i) ) return C8Chunk._NA;
+    int x = _xs.get(i)==Integer.MIN_VALUE+1 ? 0 : _xs.get(i);
+    return x >= 0
+        ? _ms.get(i)*PrettyPrint.pow10i( x)
+        : _ms.get(i)/PrettyPrint.pow10i(-x);
+  }
+
+  // Count runs of repeated values, giving up once past max
+  private int runCount(boolean isInt, int max) {
+    int runs = 1;
+    long last = rleBits(0,isInt);
+    for( int i = 1; i < _len && runs <= max; i++ ) {
+      long l = rleBits(i,isInt);
+      if( l != last ) { runs++; last = l; }
+    }
+    return runs;
+  }
+
+  // Compute a run-length encoded buffer
+  private Chunk chunkRLE(boolean isInt) {
+    final byte [] bs = MemoryManager.malloc1(_len << 3);
+    for( int i = 0; i < _len; i++ )
+      UnsafeUtils.set8(bs, i << 3, rleBits(i,isInt));
+    return new CRLEChunk(bs, _len, isInt);
+  }
+
   // Compute a compressed double buffer
   private Chunk chunkD() {
     HashMap<Long,Byte> hs = new HashMap<>(CUDChunk.MAX_UNIQUES);
     Byte dummy = 0;
     final byte [] bs = MemoryManager.malloc1(_len *8,true);
     int j = 0;
+    int runs = 0;
+    long last = 0;
     boolean fitsInUnique = true;
     for(int i = 0; i < _len; ++i){
       double d = 0;
@@ -1442,6 +1554,9 @@ public class NewChunk extends Chunk {
         d = getDouble(j);
         ++j;
       }
+      long bits = Double.doubleToLongBits(d);
+      if (i == 0 || bits != last) runs++;
+      last = bits;
       if (fitsInUnique) {
         if (hs.size() < CUDChunk.MAX_UNIQUES) //still got space
           hs.put(Double.doubleToLongBits(d),dummy); //store doubles as longs to avoid NaN comparison issues during extraction
@@ -1451,7 +1566,12 @@ public class NewChunk extends Chunk {
       UnsafeUtils.set8d(bs, 8*i, d);
     }
     assert j == _sparseLen :"j = " + j + ", _len = " + _sparseLen;
-    if (fitsInUnique && CUDChunk.computeByteSize(hs.size(), len()) < 0.8 * bs.length)
+    // Smallest of runs, a table of the few unique values, or plain doubles
+    int rleSize = CRLEChunk.computeByteSize(runs);
+    int cudSize = fitsInUnique ? CUDChunk.computeByteSize(hs.size(), len()) : Integer.MAX_VALUE;
+    if (rleSize < cudSize && rleSize < 0.8 * bs.length)
+      return new CRLEChunk(bs, len(), false);
+    if (cudSize < 0.8 * bs.length)
       return new CUDChunk(bs, hs, len());
     else
       return new C8DChunk(bs);
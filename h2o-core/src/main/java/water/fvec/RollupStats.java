@@ -13,6 +13,7 @@ import water.parser.Categorical;
 import water.parser.BufferedString;
 import water.util.ArrayUtils;
 import water.util.Log;
+import water.util.QuantileSketch;
 
 import java.util.Arrays;
 
@@ -46,6 +47,11 @@ final class RollupStats extends Iced {
   boolean _isInt=true;
   double[] _mins, _maxs;
   long _checksum;
+  ZoneMap _zones;             // Per-chunk bounds
+  QuantileSketch _sketch;     // Approximate quantiles of the non-NA values
+  // Zone map entries (cidx, min, max, NA count) of the chunks rolled up so
+  // far; gathered while reducing and spread into _zones at the end
+  private double[] _zoneEntries;
 
   // Expensive histogram & percentiles
   // Computed in a 2nd pass, on-demand, by calling computeHisto
@@ -220,7 +226,64 @@ final class RollupStats extends Iced {
     return this;
   }
 
+  // Record this chunk's zone map entry; the rollups of one chunk are its bounds
+  private RollupStats zone( Chunk c ) {
+    double lo, hi;
+    if( c._vec.isUUID() || c._vec.isString() ) { // Unknown
+      lo = Double.NEGATIVE_INFINITY;
+      hi = Double.POSITIVE_INFINITY;
+    } else if( _naCnt == c._len || Double.isNaN(_mins[0]) ) { // No values
+      lo = Double.POSITIVE_INFINITY;
+      hi = Double.NEGATIVE_INFINITY;
+    } else {                    // Infinities are counted apart from min/max
+      lo = _ninfs > 0 ? Double.NEGATIVE_INFINITY : _mins[0];
+      hi = _pinfs > 0 ? Double.POSITIVE_INFINITY : _maxs[0];
+    }
+    _zoneEntries = new double[]{c.cidx(), lo, hi, _naCnt};
+    return this;
+  }
+
+  // Sketch this chunk's non-NA values, for approximate quantiles without
+  // another pass
+  private RollupStats sketch( Chunk c ) {
+    if( c._vec.isUUID() || c._vec.isString() ) return this;
+    QuantileSketch qs = _sketch = new QuantileSketch();
+    double min = c.min(), max = c.max();
+    if( min == max ) {            // Constant
+      if( !Double.isNaN(min) ) qs.add(min, c._len);
+    } else if( c.isSparseZero() ) {
+      for( int i=c.nextNZ(-1); i< c._len; i=c.nextNZ(i) )
+        if( !c.isNA(i) ) qs.add(c.atd(i));
+      qs.add(0, c._len - c.sparseLenZero());
+    } else {
+      double[] vals = c.getDoubles(MemoryManager.malloc8d(c._len), 0, c._len, Double.NaN);
+      for( double d : vals )
+        if( !Double.isNaN(d) ) qs.add(d);
+    }
+    return this;
+  }
+
+  private void zones( int nchunks ) {
+    if( _zoneEntries == null ) return;
+    _zones = new ZoneMap(nchunks);
+    for( int i = 0; i < _zoneEntries.length; i += 4 ) {
+      int cidx = (int)_zoneEntries[i];
+      _zones._mins[cidx] = _zoneEntries[i+1];
+      _zones._maxs[cidx] = _zoneEntries[i+2];
+      _zones._naCnts[cidx] = (long)_zoneEntries[i+3];
+    }
+    _zoneEntries = null;
+  }
+
   private void reduce( RollupStats rs ) {
+    if( _sketch == null ) _sketch = rs._sketch;
+    else if( rs._sketch != null ) _sketch.merge(rs._sketch);
+    if( _zoneEntries == null ) _zoneEntries = rs._zoneEntries;
+    else if( rs._zoneEntries != null ) {
+      double[] es = Arrays.copyOf(_zoneEntries, _zoneEntries.length + rs._zoneEntries.length);
+      System.arraycopy(rs._zoneEntries, 0, es, _zoneEntries.length, rs._zoneEntries.length);
+      _zoneEntries = es;
+    }
     for( double d : rs._mins ) if (!Double.isNaN(d)) min(d);
     for( double d : rs._maxs ) if (!Double.isNaN(d)) max(d);
     _naCnt += rs._naCnt;
@@ -262,7 +325,19 @@ final class RollupStats extends Iced {
     protected boolean modifiesVolatileVecs(){return false;}
 
     Roll( H2OCountedCompleter cmp, Key rskey ) { super(cmp); _rskey=rskey; }
-    @Override public void map( Chunk c ) { _rs = new RollupStats(0).map(c); }
+    @Override public void map( Chunk c ) {
+      // The partial rollups of a chunk are cached with its Value.  Writes
+      // install new Values, so only chunks written since are recomputed.
+      Value val = DKV.get(c._vec.chunkKey(c.cidx()));
+      Freezable f = val == null ? null : val.derived();
+      RollupStats rs;
+      if( f instanceof RollupStats ) rs = (RollupStats)f;
+      else {
+        rs = new RollupStats(0).map(c).zone(c).sketch(c);
+        if( val != null ) val.setDerived(rs);
+      }
+      _rs = IcedUtils.deepCopy(rs); // Reduce merges into it
+    }
     @Override public void reduce( Roll roll ) { _rs.reduce(roll._rs); }
     @Override public void postGlobal() {
       if( _rs == null )
@@ -277,6 +352,7 @@ final class RollupStats extends Iced {
       }
       // mean & sigma not allowed on more than 2 classes; for 2 classes the assumption is that it's true/false
       Vec vec = _fr.anyVec();
+      _rs.zones(vec.nChunks());
       String[] ss = vec.domain();
       if( vec.isCategorical() && ss.length > 2 )
         _rs._mean = _rs._sigma = Double.NaN;
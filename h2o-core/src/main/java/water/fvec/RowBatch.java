@@ -0,0 +1,116 @@
+package water.fvec;
+
+import water.H2O;
+import water.MemoryManager;
+
+import java.util.Arrays;
+
+/**
+ * Block-at-a-time reader over a set of aligned chunks.
+ * <p>
+ * Per-cell {@link Chunk#atd} costs a megamorphic virtual call plus the
+ * {@code _chk2} check for every value.  A RowBatch instead decodes a block of
+ * rows of each needed column with one {@link Chunk#getDoubles} call - a tight
+ * loop specialized by the chunk type - into reusable buffers, and keeps an
+ * NA bitmap per column.  Row loops then read plain arrays:
+ * <pre>
+ *   RowBatch b = new RowBatch(chks);
+ *   for( int r = 0; r < chks[0]._len; r++ ) {
+ *     b.load(r);
+ *     double x = b.atd(col,r);
+ *     ...
+ *   }
+ * </pre>
+ * Only decoded columns may be read; columns written during the scan should be
+ * left out and read from their chunk.
+ * <p>
+ * RowBatch is for loops that need whole rows, e.g. through
+ * DataInfo.extractDenseRow.  Loops that already walk a chunk column by column
+ * (ScoreBuildHistogram2, the GLM gradient tasks) should keep decoding each
+ * column with one getDoubles call: that is a single pass per column, where a
+ * batch would add the NA bitmaps and block bookkeeping on top of it.
+ */
+public final class RowBatch {
+  /** Default rows per block; enough to amortize the calls, small enough for L1/L2. */
+  public static final int DEFAULT_BLOCK = Integer.getInteger(H2O.OptArgs.SYSTEM_PROP_PREFIX + "rowbatch.block", 1024);
+
+  private final Chunk[] _chks;
+  private final int[] _cols;       // Decoded chunk indices
+  private final int[] _slot;       // Chunk index -> buffer, or -1 if not decoded
+  private final double[][] _vals;  // Current block of each decoded column
+  private final long[][] _nas;     // NA bits of the current block of each decoded column
+  private final int _block, _len;
+  private int _from, _to;          // Rows of the current block, chunk-relative
+
+  /** Decode all the chunks. */
+  public RowBatch(Chunk[] chks) { this(chks, null, DEFAULT_BLOCK); }
+
+  /** Decode the chunks at indices <em>cols</em>, or all of them if null,
+   *  <em>block</em> rows at a time. */
+  public RowBatch(Chunk[] chks, int[] cols, int block) {
+    if( cols == null ) {
+      cols = new int[chks.length];
+      for( int i = 0; i < cols.length; i++ ) cols[i] = i;
+    }
+    _chks = chks;
+    _cols = cols;
+    _len = chks.length == 0 ? 0 : chks[0]._len;
+    _block = Math.max(1, Math.min(block, _len));
+    _slot = new int[chks.length];
+    Arrays.fill(_slot, -1);
+    _vals = new double[cols.length][];
+    _nas = new long[cols.length][];
+    for( int i = 0; i < cols.length; i++ ) {
+      _slot[cols[i]] = i;
+      _vals[i] = MemoryManager.malloc8d(_block);
+      _nas[i] = MemoryManager.malloc8((_block + 63) >> 6);
+    }
+  }
+
+  /** Make row <em>r</em> readable, decoding the block starting at r if it
+   *  is not in the current block.  Cheap when r already is. */
+  public void load( int r ) {
+    if( _from <= r && r < _to ) return;
+    _from = r;
+    _to = Math.min(_len, r + _block);
+    final int n = _to - _from;
+    for( int i = 0; i < _cols.length; i++ ) {
+      Chunk c = _chks[_cols[i]];
+      if( c.chk2() != null ) c = c.chk2(); // Read our own writes
+      double[] vals = c.getDoubles(_vals[i], _from, _to, Double.NaN);
+      long[] nas = _nas[i];
+      for( int w = 0; w < (n + 63) >> 6; w++ ) {
+        long bits = 0;
+        for( int j = w << 6, e = Math.min(n, j + 64); j < e; j++ )
+          if( Double.isNaN(vals[j]) ) bits |= 1L << j;
+        nas[w] = bits;
+      }
+    }
+  }
+
+  /** First row of the current block. */
+  public int from() { return _from; }
+  /** One past the last row of the current block. */
+  public int to() { return _to; }
+
+  /** Value of loaded row <em>r</em> of chunk <em>c</em>; NaN if missing. */
+  public double atd( int c, int r ) {
+    assert _from <= r && r < _to : "row " + r + " not loaded";
+    return _vals[_slot[c]][r - _from];
+  }
+  /** Row <em>r</em> of chunk <em>c</em> as a long; must not be NA.  Read from
+   *  the chunk itself, since the decoded doubles are exact only up to 2^53;
+   *  works for columns this batch does not decode too. */
+  public long at8( int c, int r ) { return _chks[c].at8(r); }
+  /** True if loaded row <em>r</em> of chunk <em>c</em> is missing. */
+  public boolean isNA( int c, int r ) {
+    assert _from <= r && r < _to : "row " + r + " not loaded";
+    int j = r - _from;
+    return (_nas[_slot[c]][j >> 6] & (1L << j)) != 0;
+  }
+  /** True if chunk <em>c</em> is decoded by this batch. */
+  public boolean decodes( int c ) { return _slot[c] != -1; }
+
+  /** The current block of chunk <em>c</em>; entry i is row from()+i. */
+  public double[] vals( int c ) { return _vals[_slot[c]]; }
+}
@@ -886,6 +886,27 @@ public class Vec extends Keyed<Vec> {
    *  @return A set of percentiles */
   public double[] pctiles() { return RollupStats.get(this, true)._pctiles;   }
 
+  /** Approximate percentiles from a sketch kept with the basic rollups; unlike
+   *  {@link #pctiles}, needs no histogram pass over the data.
+   *  @return values at the given probabilities, or NaNs if there are no
+   *  numeric values */
+  public double[] approxPctiles(double... probs) {
+    QuantileSketch qs = rollupStats()._sketch;
+    if( qs != null ) return qs.quantiles(probs);
+    double[] res = new double[probs.length];
+    Arrays.fill(res, Double.NaN);
+    return res;
+  }
+
+
+  /** Optimistically return the per-chunk bounds, or null if the rollups are
+   *  not computed; never starts computing them.  Filters use this to skip
+   *  chunks that cannot match.
+   *  @return the Vec's zone map, or null */
+  public ZoneMap zoneMap() {
+    RollupStats rs = RollupStats.getOrNull(this, rollupStatsKey());
+    return rs == null ? null : rs._zones;
+  }
 
   /** Compute the roll-up stats as-needed */
   private RollupStats rollupStats() { return RollupStats.get(this); }
@@ -993,6 +1014,11 @@ public class Vec extends Keyed<Vec> {
    *  @return Chunk Key from a chunk-index */
   public Key chunkKey(int cidx ) { return chunkKey(_key,cidx); }
 
+  /** True if the Chunks of this Vec are stored under their chunk Keys, so
+   *  they can be fetched ahead of use; false for Vecs computing their Chunks.
+   *  @return true if the Chunks can be read ahead */
+  public boolean canReadAhead() { return true; }
+
   /** Get a Chunk Key from a chunk-index and a Vec Key, without needing the
    *  actual Vec object.  Basically the index-to-key map.
    *  @return Chunk Key from a chunk-index and Vec Key */
@@ -1101,6 +1127,18 @@ public class Vec extends Keyed<Vec> {
     return c;
   }
 
+  /** Start fetching Chunk# <em>cidx</em> of all the given Vecs, with a single
+   *  {@link DKV#prefetch(Key[])} batch instead of one fetch per Vec.
+   *  Non-blocking; follow with {@link #chunkForChunkIdx} as usual.  Vecs
+   *  that cannot {@link #canReadAhead} are skipped. */
+  public static void prefetchChunks( Vec[] vecs, int cidx ) {
+    Key[] keys = new Key[vecs.length];
+    for( int i=0; i<vecs.length; i++ )
+      if( vecs[i] != null && vecs[i].canReadAhead() )
+        keys[i] = vecs[i].chunkKey(cidx);
+    DKV.prefetch(keys);
+  }
+
   /** The Chunk for a row#.  Warning: this pulls the data locally; using this
    *  call on every Chunk index on the same node will probably trigger an OOM!
    *  @return Chunk for a row# */
@@ -26,4 +26,7 @@ abstract class WrappedVec extends Vec {
 
   /** Map from chunk-index to Chunk.  These wrappers are making custom Chunks */
   public abstract Chunk chunkForChunkIdx(int cidx);
+
+  /** Chunks are computed from the master Vec, nothing to read ahead */
+  @Override public boolean canReadAhead() { return false; }
 }
@@ -0,0 +1,34 @@
+package water.fvec;
+
+import water.Iced;
+
+/** Per-chunk bounds of a Vec: each chunk's smallest and largest non-NA value
+ *  and its count of NAs.  Kept with the {@link RollupStats}: gathered in the
+ *  same single pass, and thrown away with them when the Vec is written into.
+ *
+ *  <p>Filters use the bounds to skip chunks whose range cannot match without
+ *  decoding their rows.  A chunk with no non-NA values has an empty range,
+ *  {@code min > max}.  Bounds of String and UUID chunks are unknown, and
+ *  reported as -Infinity to +Infinity.
+ */
+public final class ZoneMap extends Iced<ZoneMap> {
+  final double[] _mins, _maxs;
+  final long[] _naCnts;
+
+  ZoneMap( int nchunks ) {
+    _mins = new double[nchunks];
+    _maxs = new double[nchunks];
+    _naCnts = new long[nchunks];
+  }
+
+  /** @return number of chunks mapped */
+  public int nChunks() { return _mins.length; }
+  /** @return smallest non-NA value of chunk cidx */
+  public double min( int cidx ) { return _mins[cidx]; }
+  /** @return largest non-NA value of chunk cidx */
+  public double max( int cidx ) { return _maxs[cidx]; }
+  /** @return count of NAs in chunk cidx */
+  public long naCnt( int cidx ) { return _naCnts[cidx]; }
+  /** @return true if chunk cidx has no non-NA values */
+  public boolean isEmpty( int cidx ) { return _mins[cidx] > _maxs[cidx]; }
+}
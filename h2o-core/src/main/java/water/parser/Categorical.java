@@ -1,5 +1,7 @@
 package water.parser;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import water.Iced;
@@ -24,12 +26,16 @@ import water.util.PrettyPrint;
 public final class Categorical extends Iced {
 
   public static final int MAX_CATEGORICAL_COUNT = 10000000;
+  /** Number levels in the order first seen instead of sorting the domains;
+   *  see {@link ParseSetup#setCategoricalFirstSeen}. */
+  final boolean _firstSeen;
   transient AtomicInteger _id = new AtomicInteger();
   int _maxId = -1;
   volatile IcedHashMap<BufferedString, Integer> _map;
   boolean maxDomainExceeded = false;
 
-  Categorical() { _map = new IcedHashMap<>(); }
+  Categorical() { this(false); }
+  Categorical( boolean firstSeen ) { _firstSeen = firstSeen; _map = new IcedHashMap<>(); }
 
   /** Add key to this map (treated as hash set in this case). */
   int addKey(BufferedString str) {
@@ -51,6 +57,10 @@ public final class Categorical extends Iced {
   }
 
   int getTokenId( BufferedString str ) { return _map.get(str); }
+
+  /** Value written into the chunks for token id: the level itself when
+   *  numbering in first seen order, where ids start at 1. */
+  int code( int id ) { return _firstSeen ? id - 1 : id; }
   
   int maxId() { return _maxId == -1 ? _id.get() : _maxId; }
   int size() { return _map.size(); }
@@ -60,6 +70,20 @@ public final class Categorical extends Iced {
     return  _map.keySet().toArray(new BufferedString[_map.size()]);
   }
 
+  /** @return the domain in token id order */
+  BufferedString[] getColumnDomainById() {
+    final BufferedString[] dom = getColumnDomain();
+    final int[] ids = new int[dom.length];
+    Integer[] idx = new Integer[dom.length];
+    for( int i = 0; i < dom.length; i++ ) { ids[i] = _map.get(dom[i]); idx[i] = i; }
+    Arrays.sort(idx, new Comparator<Integer>() {
+      @Override public int compare( Integer a, Integer b ) { return Integer.compare(ids[a], ids[b]); }
+    });
+    BufferedString[] res = new BufferedString[dom.length];
+    for( int i = 0; i < res.length; i++ ) res[i] = dom[idx[i]];
+    return res;
+  }
+
   /**
    * Converts domain values represented as BufferedStrings to UTF-8 encoding {@see BufferedString.toString()}.
    * If the source value is not actually in UTF-8, the characters will be represented in hexadecimal notation.
@@ -1,13 +1,16 @@
 package water.parser;
 
 import org.apache.commons.lang.math.NumberUtils;
+import water.H2O;
 import water.Key;
 import water.fvec.FileVec;
 import water.fvec.Vec;
 import water.util.ArrayUtils;
 import water.util.StringUtils;
+import water.util.UnsafeUtils;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Arrays;
 
@@ -21,6 +24,16 @@ class CsvParser extends Parser {
   private static final int HAS_HEADER = ParseSetup.HAS_HEADER;
   private static final byte[] NON_DATA_LINE_MARKERS = {'#'};
 
+  // Lines of plain numbers skip the state machine; see parseNumericLine
+  static final boolean FAST_PATH = Boolean.parseBoolean(
+          System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.csv.fastpath", "true"));
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  private static final long ONES = 0x0101010101010101L, HIGHS = 0x8080808080808080L;
+
+  boolean _fastPath = FAST_PATH;
+  private long[] _fastNums = new long[16]; // Numbers of the line being fast-parsed
+  private int[] _fastExps = new int[16];   // ...and their exponents, or FAST_NA
+
   CsvParser( ParseSetup ps, Key jobKey ) { super(ps, jobKey); }
 
   protected byte[] nonDataLineMarkers() {
@@ -80,8 +93,20 @@ class CsvParser extends Parser {
     dout.newLine();
 
     final boolean forceable = dout instanceof FVecParseWriter && ((FVecParseWriter)dout)._ctypes != null && _setup._column_types != null;
+    final boolean fastPath = _fastPath && LITTLE_ENDIAN && CHAR_SEPARATOR != CHAR_SPACE &&
+            !(CHAR_SEPARATOR >= '0' && CHAR_SEPARATOR <= '9') && CHAR_SEPARATOR != '-' && CHAR_SEPARATOR != CHAR_DECIMAL_SEP;
 MAIN_LOOP:
     while (true) {
+      // At the start of a line of the 1st chunk, try the whole line as plain numbers
+      if( fastPath && firstChunk && quoteCount == 0 &&
+          (state == POSSIBLE_EMPTY_LINE || (state == WHITESPACE_BEFORE_TOKEN && colIdx == 0)) ) {
+        int eol = parseNumericLine(bits, offset, dout, forceable);
+        if( eol >= 0 ) {
+          offset = eol;
+          c = bits[offset];
+          state = EOL;          // colIdx is 0: just steps past the line end
+        }
+      }
       final boolean forcedCategorical = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_CAT;
       final boolean forcedString = forceable && colIdx < _setup._column_types.length && _setup._column_types[colIdx] == Vec.T_STR;
 
@@ -497,6 +522,78 @@ MAIN_LOOP:
     return dout;
   }
 
+  private static final int FAST_NA = Integer.MIN_VALUE;
+
+  /**
+   * Fast path for the most common lines: unquoted plain decimals, like
+   * {@code -12.5,3,,0.25}.  The line end is found 8 bytes at a time, and
+   * each field is parsed into number and exponent in a single tight loop,
+   * exactly as the state machine would.  Nothing is written unless the whole
+   * line qualifies; anything else (quotes, exponents, whitespace, strings,
+   * forced String or Categorical columns, a line running into the next
+   * chunk) is left to the state machine.
+   * @return index of the line end character, or -1 to fall back
+   */
+  private int parseNumericLine(byte[] bits, int start, ParseWriter dout, boolean forceable) {
+    int eol = findLineEnd(bits, start);
+    if( eol <= start || bits[eol] == CHAR_DOUBLE_QUOTE || bits[eol] == CHAR_SINGLE_QUOTE ) return -1;
+    int ncols = 0;
+    for( int i = start; ; i++ ) {   // i steps past each separator
+      if( dout.isString(ncols) ) return -1;
+      if( forceable && ncols < _setup._column_types.length &&
+          (_setup._column_types[ncols] == Vec.T_CAT || _setup._column_types[ncols] == Vec.T_STR) ) return -1;
+      if( ncols == _fastNums.length ) {
+        _fastNums = Arrays.copyOf(_fastNums, ncols << 1);
+        _fastExps = Arrays.copyOf(_fastExps, ncols << 1);
+      }
+      if( i == eol || bits[i] == CHAR_SEPARATOR ) { // Empty field
+        _fastExps[ncols++] = FAST_NA;
+      } else {
+        boolean neg = bits[i] == '-';
+        if( neg ) i++;
+        long number = 0;
+        int digits = 0, fraction = -1;
+        for( ; i < eol; i++ ) {
+          int d = bits[i] - '0';
+          if( d >= 0 && d <= 9 ) { number = number * 10 + d; digits++; }
+          else if( bits[i] == CHAR_DECIMAL_SEP && fraction < 0 ) fraction = digits;
+          else break;
+        }
+        // 18 digits always fit; longer numbers are rounded by the state machine
+        if( digits == 0 || digits > 18 || (i < eol && bits[i] != CHAR_SEPARATOR) ) return -1;
+        _fastNums[ncols] = neg ? -number : number;
+        _fastExps[ncols++] = fraction < 0 ? 0 : fraction - digits;
+      }
+      if( i == eol ) break;
+    }
+    for( int col = 0; col < ncols; col++ )
+      if( _fastExps[col] == FAST_NA ) dout.addInvalidCol(col);
+      else dout.addNumCol(col, _fastNums[col], _fastExps[col]);
+    dout.newLine();
+    return eol;
+  }
+
+  // Index of the first CR, LF or quote at or after start, or -1 if none is in
+  // bits.  Tests 8 bytes per step: a byte of w equal to b zeroes the matching
+  // byte of w^(b*ONES), and (x-ONES)&~x&HIGHS flags the lowest zero byte exactly.
+  private int findLineEnd(byte[] bits, int i) {
+    final long lf = ONES * CHAR_LF, cr = ONES * CHAR_CR, dq = ONES * CHAR_DOUBLE_QUOTE;
+    final long sq = ONES * (_setup._single_quotes ? CHAR_SINGLE_QUOTE : CHAR_LF);
+    for( ; i + 8 <= bits.length; i += 8 ) {
+      long w = UnsafeUtils.get8(bits, i);
+      long m = zeroBytes(w ^ lf) | zeroBytes(w ^ cr) | zeroBytes(w ^ dq) | zeroBytes(w ^ sq);
+      if( m != 0 ) return i + (Long.numberOfTrailingZeros(m) >>> 3);
+    }
+    for( ; i < bits.length; i++ ) {
+      byte b = bits[i];
+      if( b == CHAR_LF || b == CHAR_CR || b == CHAR_DOUBLE_QUOTE || (b == CHAR_SINGLE_QUOTE && _setup._single_quotes) )
+        return i;
+    }
+    return -1;
+  }
+
+  private static long zeroBytes(long x) { return (x - ONES) & ~x & HIGHS; }
+
   @Override protected int fileHasHeader(byte[] bits, ParseSetup ps) {
     boolean hasHdr = true;
     String[] lines = getFirstLines(bits, ps._single_quotes, nonDataLineMarkers());
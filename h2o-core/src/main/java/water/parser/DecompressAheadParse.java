@@ -0,0 +1,259 @@
+package water.parser;
+
+import water.H2O;
+import water.Job;
+import water.Key;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Parses one gzip-compressed file on all the cores of a node, instead of in
+ * a single stream.
+ * <p>
+ * The decompressed data is cut into blocks, one per chunk of the compressed
+ * file, and each block is parsed as {@code DistributedParse} parses a chunk of
+ * an uncompressed file: the first partial line is skipped, and the last line
+ * is finished from the start of the next block.  Block b becomes output chunk
+ * b of the file.
+ * <p>
+ * Plain gzip streams are decompressed ahead by the calling thread while the
+ * blocks already read parse in parallel.  BGZF files (bgzip: a series of gzip
+ * members of at most 64KB, each with its size in the header) are split
+ * without decompressing, and every block is inflated by its own task too.
+ */
+final class DecompressAheadParse {
+  /** Turns the block-parallel parse of gzip files on or off. */
+  static final boolean ENABLED = Boolean.parseBoolean(
+          System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.gzip.parallel", "true"));
+  // Blocks in flight; bounds the decompressed data held at once
+  private static final int WINDOW = 2 * H2O.NUMCPUS;
+
+  /** Makes the writer for the rows of block b. */
+  interface Writers { FVecParseWriter make(int b); }
+
+  /** True if files of this setup can be parsed in blocks. */
+  static boolean supports(ParseSetup setup) {
+    return ENABLED && setup._parse_type.equals(DefaultParserProviders.CSV_INFO);
+  }
+
+  /** True if the file starts like a BGZF file: gzip with a "BC" extra field. */
+  static boolean isBGZF(byte[] bits) {
+    return bits != null && bits.length >= 16
+            && (bits[0] & 0xFF) == 0x1F && (bits[1] & 0xFF) == 0x8B && bits[2] == 8 && (bits[3] & 4) != 0
+            && bits[12] == 'B' && bits[13] == 'C' && bits[14] == 2 && bits[15] == 0;
+  }
+
+  /**
+   * Parse a gzip-compressed file.
+   * @param bvs the raw stream of the file, with the chunk index back-channel of ByteVec streams
+   * @param is the decompressed (and decrypted) stream, or null to split BGZF members off bvs
+   * @return the reduced writers of all blocks
+   */
+  static FVecParseWriter parse(InputStream bvs, InputStream is, ParseSetup setup, Key<Job> jobKey, Writers writers) throws IOException {
+    Source src = is == null ? new BGZFSource(bvs) : new StreamSource(bvs, is);
+    ArrayDeque<BlockParse> inflight = new ArrayDeque<>();
+    FVecParseWriter res = null;
+    Block prev = null;
+    int b = 0;
+    long goff = 0;
+    try {
+      for( Block blk; (blk = src.next()) != null; ) {
+        if( prev != null ) {      // The previous block's last line ends in this one
+          inflight.add(submit(setup, jobKey, b, goff, prev, blk, writers.make(b)));
+          goff += prev._size;
+          b++;
+        }
+        prev = blk;
+        while( inflight.size() > WINDOW ) res = reduce(res, inflight.poll());
+        if( jobKey != null && jobKey.get().stop_requested() ) { prev = null; break; }
+      }
+      if( prev != null ) inflight.add(submit(setup, jobKey, b, goff, prev, null, writers.make(b)));
+      while( !inflight.isEmpty() ) res = reduce(res, inflight.poll());
+    } finally {
+      for( BlockParse bp : inflight ) bp.cancel(true);
+      bvs.close();
+      if( is != null ) is.close();
+    }
+    return res == null ? writers.make(0).close() : res;
+  }
+
+  private static BlockParse submit(ParseSetup setup, Key<Job> jobKey, int b, long goff, Block blk, Block next, FVecParseWriter dout) {
+    return H2O.submitTask(new BlockParse(setup.parser(jobKey), b, goff, blk, next, dout));
+  }
+
+  private static FVecParseWriter reduce(FVecParseWriter res, BlockParse bp) {
+    bp.join();
+    return res == null ? bp._dout : res.reduce(bp._dout);
+  }
+
+  // Parses one block into its own output chunk
+  private static final class BlockParse extends H2O.H2OCountedCompleter<BlockParse> {
+    private final Parser _p;
+    private final int _b;
+    private final long _goff;
+    private Block _blk, _next;
+    final FVecParseWriter _dout;
+    BlockParse(Parser p, int b, long goff, Block blk, Block next, FVecParseWriter dout) {
+      _p = p; _b = b; _goff = goff; _blk = blk; _next = next; _dout = dout;
+    }
+    @Override public void compute2() {
+      BlockReader din = new BlockReader(_b, _goff, _blk.bits(), _next == null ? null : _next.bits());
+      _blk = _next = null;      // Let the data go as soon as parsed
+      _p.parseChunk(_b, din, _dout);
+      _dout.close();
+      tryComplete();
+    }
+  }
+
+  // The data of a block, and of the next one for finishing its last line
+  private static final class BlockReader implements ParseReader {
+    private final int _b;
+    private final long _goff;
+    private final byte[] _bits0, _bits1;
+    BlockReader(int b, long goff, byte[] bits0, byte[] bits1) { _b = b; _goff = goff; _bits0 = bits0; _bits1 = bits1; }
+    @Override public byte[] getChunkData(int cidx) { return cidx == _b ? _bits0 : cidx == _b + 1 ? _bits1 : null; }
+    @Override public int getChunkDataStart(int cidx) { return -1; }
+    @Override public void setChunkDataStart(int cidx, int offset) { }
+    @Override public long getGlobalByteOffset() { return _goff; }
+  }
+
+  // A block of decompressed data: read ahead from a stream, or inflated from
+  // BGZF members by a task of its own
+  private static final class Block extends H2O.H2OCountedCompleter<Block> {
+    private byte[][] _members;
+    private byte[] _bits;
+    final int _size;
+    Block(byte[] bits) { _bits = bits; _size = bits.length; }
+    Block(byte[][] members, int size) { _members = members; _size = size; }
+    @Override public void compute2() {
+      byte[] bits = new byte[_size];
+      int off = 0;
+      for( byte[] m : _members ) off = inflate(m, bits, off);
+      assert off == _size;
+      _bits = bits;
+      _members = null;
+      tryComplete();
+    }
+    byte[] bits() {
+      if( _bits == null ) join();
+      return _bits;
+    }
+  }
+
+  private interface Source { Block next() throws IOException; }
+
+  // Decompress-ahead: reads the stream up to the end of each compressed chunk
+  private static final class StreamSource implements Source {
+    private final InputStream _bvs, _is;
+    private int _zidx;
+    private boolean _eof;
+    private byte[] _buf = new byte[1 << 20];
+    StreamSource(InputStream bvs, InputStream is) throws IOException { _bvs = bvs; _is = is; _zidx = bvs.read(null, 0, 0); }
+    @Override public Block next() throws IOException {
+      int n = 0;
+      while( !_eof ) {
+        if( n == _buf.length ) _buf = Arrays.copyOf(_buf, _buf.length << 1);
+        int len = _is.read(_buf, n, _buf.length - n);
+        if( len == -1 ) { _eof = true; break; }
+        n += len;
+        int xidx = _bvs.read(null, 0, 0); // Back-channel read of chunk index
+        if( xidx > _zidx ) { _zidx = xidx; break; }
+      }
+      return n == 0 ? null : new Block(Arrays.copyOf(_buf, n));
+    }
+  }
+
+  // Splits BGZF members off the raw stream, grouped by compressed chunk, and
+  // starts inflating each group
+  private static final class BGZFSource implements Source {
+    private final InputStream _bvs;
+    private final DataInputStream _in;
+    private int _zidx;
+    private boolean _eof;
+    BGZFSource(InputStream bvs) throws IOException {
+      _bvs = bvs; _in = new DataInputStream(bvs);
+      // Nothing is read yet; chunk 0 is opened by the first member, which
+      // moves the back-channel to 1, and must not end block 0
+      _zidx = Math.max(1, bvs.read(null, 0, 0));
+    }
+    @Override public Block next() throws IOException {
+      ArrayList<byte[]> members = new ArrayList<>();
+      long size = 0;
+      while( !_eof && (size == 0 || members.isEmpty()) ) { // Skip empty members, e.g. the EOF marker
+        while( true ) {
+          byte[] m = readMember();
+          if( m == null ) { _eof = true; break; }
+          members.add(m);
+          size += isize(m);
+          int xidx = _bvs.read(null, 0, 0); // Back-channel read of chunk index
+          if( xidx > _zidx ) { _zidx = xidx; break; }
+        }
+      }
+      if( size == 0 ) return null;
+      if( size > Integer.MAX_VALUE ) throw new IOException("BGZF chunk inflates to more than 2GB");
+      return H2O.submitTask(new Block(members.toArray(new byte[members.size()][]), (int) size));
+    }
+    private byte[] readMember() throws IOException {
+      byte[] hdr = new byte[12];
+      int n = _in.read(hdr);
+      if( n == -1 ) return null;
+      if( n < hdr.length ) _in.readFully(hdr, n, hdr.length - n);
+      if( (hdr[0] & 0xFF) != 0x1F || (hdr[1] & 0xFF) != 0x8B || (hdr[3] & 4) == 0 )
+        throw new IOException("Not a BGZF block");
+      int xlen = u16(hdr, 10);
+      byte[] extra = new byte[xlen];
+      _in.readFully(extra);
+      int bsize = -1;
+      for( int i = 0; i + 4 <= xlen; i += 4 + u16(extra, i + 2) )
+        if( extra[i] == 'B' && extra[i + 1] == 'C' && u16(extra, i + 2) == 2 ) bsize = u16(extra, i + 4);
+      if( bsize < 0 ) throw new IOException("Not a BGZF block");
+      byte[] m = new byte[bsize + 1];
+      System.arraycopy(hdr, 0, m, 0, hdr.length);
+      System.arraycopy(extra, 0, m, hdr.length, xlen);
+      try {
+        _in.readFully(m, hdr.length + xlen, m.length - hdr.length - xlen);
+      } catch( EOFException e ) {
+        throw new IOException("Truncated BGZF block", e);
+      }
+      return m;
+    }
+  }
+
+  private static int u16(byte[] b, int off) { return (b[off] & 0xFF) | (b[off + 1] & 0xFF) << 8; }
+  private static int i32(byte[] b, int off) { return u16(b, off) | u16(b, off + 2) << 16; }
+  private static long isize(byte[] m) { return i32(m, m.length - 4) & 0xFFFFFFFFL; }
+
+  // Inflate one BGZF member into dst at off, checking its CRC; returns the end offset
+  private static int inflate(byte[] m, byte[] dst, int off) {
+    int start = 12 + u16(m, 10), len = (int) isize(m);
+    Inflater inf = new Inflater(true);
+    try {
+      inf.setInput(m, start, m.length - 8 - start);
+      int n = 0;
+      while( n < len && !inf.finished() ) {
+        int k = inf.inflate(dst, off + n, len - n);
+        if( k == 0 && (inf.needsInput() || inf.needsDictionary()) ) break;
+        n += k;
+      }
+      if( n != len ) throw new RuntimeException(new IOException("Corrupt BGZF block"));
+      CRC32 crc = new CRC32();
+      crc.update(dst, off, len);
+      if( (int) crc.getValue() != i32(m, m.length - 8) )
+        throw new RuntimeException(new IOException("BGZF block CRC mismatch"));
+      return off + len;
+    } catch( DataFormatException e ) {
+      throw new RuntimeException(new IOException("Corrupt BGZF block", e));
+    } finally {
+      inf.end();
+    }
+  }
+}
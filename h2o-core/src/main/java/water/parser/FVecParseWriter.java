@@ -133,9 +133,9 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
           int id = _categoricals[_col = colIdx].addKey(str);
           if (_ctypes[colIdx] == Vec.T_BAD && id > 1) _ctypes[colIdx] = Vec.T_CAT;
           if(_ctypes[colIdx] == Vec.T_CAT) {
-            _nvs[colIdx].addNum(id, 0); // if we are sure we have a categorical column, we can only store the integer (more efficient than remembering this value was categorical)
+            _nvs[colIdx].addNum(_categoricals[colIdx].code(id), 0); // if we are sure we have a categorical column, we can only store the integer (more efficient than remembering this value was categorical)
           } else
-            _nvs[colIdx].addCategorical(id);
+            _nvs[colIdx].addCategorical(_categoricals[colIdx].code(id));
         } else { // maxed out categorical map
           throw new ParseDataset.H2OParseException("Exceeded categorical limit on column #"+(colIdx+1)+" (using 1-based indexing).  Consider reparsing this column as a string.");
         }
@@ -154,6 +154,56 @@ public class FVecParseWriter extends Iced implements StreamParseWriter {
       }
     }
   }
+  /**
+   * Adds n integers to a numeric column at once, NAs where isNA (may be null) is
+   * set.  For parsers reading whole column vectors (e.g. ORC); same result as
+   * addNumCol(colIdx, vals[i], 0) or addInvalidCol(colIdx) for each value.
+   */
+  public void addNumCol(int colIdx, long[] vals, boolean[] isNA, int n) {
+    if( colIdx < _nCols && n > 0 ) {
+      _nvs[_col = colIdx].addNums(vals, isNA, 0, n);
+      if( _ctypes != null && _ctypes[colIdx] == Vec.T_BAD && hasValue(isNA, n) ) _ctypes[colIdx] = Vec.T_NUM;
+    }
+  }
+
+  /** Adds n doubles to a numeric column at once; NaNs, infinities and values flagged in isNA (may be null) are NAs. */
+  public void addNumCol(int colIdx, double[] vals, boolean[] isNA, int n) {
+    if( colIdx < _nCols && n > 0 ) {
+      NewChunk nc = _nvs[_col = colIdx];
+      boolean any = false;
+      for( int i = 0; i < n; i++ ) {
+        double d = vals[i];
+        if( (isNA != null && isNA[i]) || Double.isNaN(d) || Double.isInfinite(d) ) nc.addNA();
+        else { nc.addNumDecompose(d); any = true; }
+      }
+      if( any && _ctypes != null && _ctypes[colIdx] == Vec.T_BAD ) _ctypes[colIdx] = Vec.T_NUM;
+    }
+  }
+
+  /**
+   * Adds str to the domain of a categorical column, without writing a value.
+   * @return the code stored for str, for {@link #addCategoricalCol}; codes are
+   * stable for the whole parse on this node
+   */
+  public int addCategoricalKey(int colIdx, BufferedString str) {
+    assert _ctypes[colIdx] == Vec.T_CAT;
+    if( _categoricals[colIdx].isMapFull() )
+      throw new ParseDataset.H2OParseException("Exceeded categorical limit on column #"+(colIdx+1)+" (using 1-based indexing).  Consider reparsing this column as a string.");
+    return _categoricals[colIdx].code(_categoricals[colIdx].addKey(str));
+  }
+
+  /** Adds n categorical values at once, by the codes of {@link #addCategoricalKey}; NAs where isNA (may be null) is set. */
+  public void addCategoricalCol(int colIdx, long[] codes, boolean[] isNA, int n) {
+    if( colIdx < _nCols && n > 0 )
+      _nvs[_col = colIdx].addNums(codes, isNA, 0, n);
+  }
+
+  private static boolean hasValue(boolean[] isNA, int n) {
+    if( isNA == null ) return true;
+    for( int i = 0; i < n; i++ ) if( !isNA[i] ) return true;
+    return false;
+  }
+
   @Override public void setColumnNames(String [] names){}
   @Override public final void rollbackLine() {}
 
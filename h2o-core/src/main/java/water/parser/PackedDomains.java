@@ -3,6 +3,8 @@ package water.parser;
 import water.MemoryManager;
 import water.util.StringUtils;
 
+import java.util.HashSet;
+
 import static water.util.ArrayUtils.*;
 
 public class PackedDomains {
@@ -128,4 +130,40 @@ public class PackedDomains {
     return data;
   }
 
+  /** Order-preserving union of two unsorted packed domains: the words of as,
+   *  followed by the words of bs not in as, in their order. */
+  public static byte[] union(byte[] as, byte[] bs) {
+    HashSet<BufferedString> seen = new HashSet<>();
+    for (int pA = 4; pA < as.length; ) {
+      int sizeA = encodeAsInt(as, pA);
+      seen.add(new BufferedString(as, pA + 4, sizeA));
+      pA += sizeA + 4;
+    }
+    int size = as.length, added = 0;
+    boolean[] fresh = new boolean[sizeOf(bs)];
+    for (int pB = 4, i = 0; pB < bs.length; i++) {
+      int sizeB = encodeAsInt(bs, pB);
+      if (!seen.contains(new BufferedString(bs, pB + 4, sizeB))) {
+        fresh[i] = true;
+        size += sizeB + 4;
+        added++;
+      }
+      pB += sizeB + 4;
+    }
+    if (added == 0)
+      return as;
+    byte[] data = MemoryManager.malloc1(size);
+    System.arraycopy(as, 0, data, 0, as.length);
+    int pos = as.length;
+    for (int pB = 4, i = 0; pB < bs.length; i++) {
+      int end = pB + 4 + encodeAsInt(bs, pB);
+      if (fresh[i])
+        while (pB < end)
+          data[pos++] = bs[pB++];
+      pB = end;
+    }
+    decodeAsInt(sizeOf(as) + added, data, 0);
+    return data;
+  }
+
 }
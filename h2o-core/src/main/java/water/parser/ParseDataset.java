@@ -260,7 +260,7 @@ public final class ParseDataset {
       if (!setup.getParseType().isDomainProvided) { // Domains are not provided via setup we need to collect them
         job.update(0, "Collecting categorical domains across nodes.");
         {
-          GatherCategoricalDomainsTask gcdt = new GatherCategoricalDomainsTask(mfpt._cKey, ecols).doAllNodes();
+          GatherCategoricalDomainsTask gcdt = new GatherCategoricalDomainsTask(mfpt._cKey, ecols, setup._categorical_first_seen).doAllNodes();
           //Test domains for excessive length.
           List<String> offendingColNames = new ArrayList<>();
           for (int i = 0; i < ecols.length; i++) {
@@ -294,16 +294,21 @@ public final class ParseDataset {
           // new CreateParse2GlobalCategoricalMaps(mfpt._cKey).doAll(evecs);
           // Using Dtask since it starts and returns faster than an MRTask
           CreateParse2GlobalCategoricalMaps[] fcdt = new CreateParse2GlobalCategoricalMaps[H2O.CLOUD.size()];
-          RPC[] rpcs = new RPC[H2O.CLOUD.size()];
+          @SuppressWarnings("unchecked")
+          RPC<CreateParse2GlobalCategoricalMaps>[] rpcs = new RPC[H2O.CLOUD.size()];
           for (int i = 0; i < fcdt.length; i++){
             H2ONode[] nodes = H2O.CLOUD.members();
             fcdt[i] = new CreateParse2GlobalCategoricalMaps(mfpt._cKey, fr._key, ecols);
             rpcs[i] = new RPC<>(nodes[i], fcdt[i]).call();
           }
-          for (RPC rpc : rpcs)
-            rpc.get();
-
-          new UpdateCategoricalChunksTask(mfpt._cKey, mfpt._chunk2ParseNodeMap).doAll(evecs);
+          boolean remap = false;
+          for (RPC<CreateParse2GlobalCategoricalMaps> rpc : rpcs)
+            remap |= rpc.get()._remap;
+
+          if (remap)
+            new UpdateCategoricalChunksTask(mfpt._cKey, mfpt._chunk2ParseNodeMap).doAll(evecs);
+          else // Chunks already hold the global levels; just drop the maps
+            UpdateCategoricalChunksTask.removeMaps(mfpt._cKey);
           MultiFileParseTask._categoricals.remove(mfpt._cKey);
         }
         Log.trace("Done unifying categoricals across nodes.");
@@ -372,6 +377,7 @@ public final class ParseDataset {
     private final Key   _parseCatMapsKey;
     private final Key   _frKey;
     private final int[] _ecol;
+    boolean _remap;             // Output: some chunks parsed here need renumbering
 
     private CreateParse2GlobalCategoricalMaps(Key parseCatMapsKey, Key key, int[] ecol) {
       _parseCatMapsKey = parseCatMapsKey;
@@ -401,9 +407,11 @@ public final class ParseDataset {
             for (int i = 0; i < unifiedDomain.length; i++) {
               //final BufferedString cat = new BufferedString(unifiedDomain[i]);
               if (parseCatMaps[colIdx].containsKey(unifiedDomain[i])) {
-                _nodeOrdMaps[eColIdx][parseCatMaps[colIdx].getTokenId(unifiedDomain[i])] = i;
+                _nodeOrdMaps[eColIdx][parseCatMaps[colIdx].code(parseCatMaps[colIdx].getTokenId(unifiedDomain[i]))] = i;
               }
             }
+            if (isIdentity(_nodeOrdMaps[eColIdx])) _nodeOrdMaps[eColIdx] = null;
+            else _remap = true;
           } else {
             Log.debug("Column " + colIdx + " was marked as categorical but categorical map is empty!");
           }
@@ -412,6 +420,13 @@ public final class ParseDataset {
         DKV.put(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + H2O.SELF.index()), new CategoricalUpdateMap(_nodeOrdMaps));
       tryComplete();
     }
+
+    // Every code written maps to itself (unused codes are -1)
+    private static boolean isIdentity(int[] map) {
+      for (int i = 0; i < map.length; i++)
+        if (map[i] >= 0 && map[i] != i) return false;
+      return true;
+    }
   }
 
   // --------------------------------------------------------------------------
@@ -439,6 +454,7 @@ public final class ParseDataset {
       final int cidx = chks[0].cidx();
       for(int i = 0; i < chks.length; ++i) {
         Chunk chk = chks[i];
+        if (_parse2GlobalCatMaps[i] == null) continue; // Already numbered globally
         if (!(chk instanceof CStrChunk)) {
           for( int j = 0; j < chk._len; ++j){
             if( chk.isNA(j) )continue;
@@ -458,19 +474,24 @@ public final class ParseDataset {
         chk.close(cidx, _fs);
       }
     }
-    @Override public void postGlobal() {
+    @Override public void postGlobal() { removeMaps(_parseCatMapsKey); }
+
+    // Drop the per-node maps made by CreateParse2GlobalCategoricalMaps
+    static void removeMaps(Key parseCatMapsKey) {
       for (int i=0; i < H2O.CLOUD.size(); i++)
-        DKV.remove(Key.make(_parseCatMapsKey.toString() + "parseCatMapNode" + i));
+        DKV.remove(Key.make(parseCatMapsKey.toString() + "parseCatMapNode" + i));
     }
   }
   private static class GatherCategoricalDomainsTask extends MRTask<GatherCategoricalDomainsTask> {
     private final Key _k;
     private final int[] _catColIdxs;
+    private final boolean _firstSeen;
     private byte[][] _packedDomains;
 
-    private GatherCategoricalDomainsTask(Key k, int[] ccols) {
+    private GatherCategoricalDomainsTask(Key k, int[] ccols, boolean firstSeen) {
       _k = k;
       _catColIdxs = ccols;
+      _firstSeen = firstSeen;
     }
 
     @Override
@@ -482,8 +503,12 @@ public final class ParseDataset {
       int i = 0;
       for (int col : _catColIdxs) {
         _colCats[col].convertToUTF8(col + 1);
-        _perColDomains[i] = _colCats[col].getColumnDomain();
-        Arrays.sort(_perColDomains[i]);
+        if (_firstSeen) {
+          _perColDomains[i] = _colCats[col].getColumnDomainById();
+        } else {
+          _perColDomains[i] = _colCats[col].getColumnDomain();
+          Arrays.sort(_perColDomains[i]);
+        }
         _packedDomains[i] = PackedDomains.pack(_perColDomains[i]);
         i++;
       }
@@ -501,7 +526,9 @@ public final class ParseDataset {
           domtasks[i] = new H2OCountedCompleter(currThrPriority()) {
             @Override
             public void compute2() {
-              _packedDomains[fi] = PackedDomains.merge(_packedDomains[fi], other._packedDomains[fi]);
+              _packedDomains[fi] = _firstSeen
+                  ? PackedDomains.union(_packedDomains[fi], other._packedDomains[fi])
+                  : PackedDomains.merge(_packedDomains[fi], other._packedDomains[fi]);
               tryComplete();
             }
           };
@@ -667,11 +694,11 @@ public final class ParseDataset {
     }
 
     // Fetch out the node-local Categorical[] using _cKey and _categoricals hashtable
-    private static Categorical[] categoricals(Key cKey, int ncols) {
+    private static Categorical[] categoricals(Key cKey, int ncols, boolean firstSeen) {
       Categorical[] categoricals = _categoricals.get(cKey);
       if( categoricals != null ) return categoricals;
       categoricals = new Categorical[ncols];
-      for( int i = 0; i < categoricals.length; ++i ) categoricals[i] = new Categorical();
+      for( int i = 0; i < categoricals.length; ++i ) categoricals[i] = new Categorical(firstSeen);
       _categoricals.putIfAbsent(cKey, categoricals);
       return _categoricals.get(cKey); // Re-get incase lost insertion race
     }
@@ -692,14 +719,23 @@ public final class ParseDataset {
     }
 
     private FVecParseWriter makeDout(ParseSetup localSetup, int chunkOff, int nchunks) {
+      return makeDout(localSetup, makeAvs(localSetup, chunkOff, nchunks), chunkOff);
+    }
+
+    private AppendableVec[] makeAvs(ParseSetup localSetup, int chunkOff, int nchunks) {
       AppendableVec [] avs = new AppendableVec[localSetup._number_columns];
       final long [] espc = MemoryManager.malloc8(nchunks);
       final byte[] ctypes = localSetup._column_types; // SVMLight only uses numeric types, sparsely represented as a null
       for(int i = 0; i < avs.length; ++i)
         avs[i] = new AppendableVec(_vg.vecKey(i + _vecIdStart), espc, ctypes==null ? /*SVMLight*/Vec.T_NUM : ctypes[i], chunkOff);
+      return avs;
+    }
+
+    // Writer of chunk cidx into shared AppendableVecs
+    private FVecParseWriter makeDout(ParseSetup localSetup, AppendableVec[] avs, int cidx) {
       return localSetup._parse_type.equals(SVMLight_INFO)
-        ? new SVMLightFVecParseWriter(_vg, _vecIdStart,chunkOff, _parseSetup._chunk_size, avs)
-        : new FVecParseWriter(_vg, chunkOff, categoricals(_cKey, localSetup._number_columns), localSetup._column_types, _parseSetup._chunk_size, avs);
+        ? new SVMLightFVecParseWriter(_vg, _vecIdStart,cidx, _parseSetup._chunk_size, avs)
+        : new FVecParseWriter(_vg, cidx, categoricals(_cKey, localSetup._number_columns, localSetup._categorical_first_seen), localSetup._column_types, _parseSetup._chunk_size, avs);
     }
 
     // Called once per file
@@ -770,9 +806,24 @@ public final class ParseDataset {
         case GZIP: {
           localSetup = ParserService.INSTANCE.getByInfo(localSetup._parse_type).setupLocal(vec,localSetup);
           InputStream bvs = vec.openStream(_jobKey);
-          // Zipped file; no parallel decompression;
-          _dout[_lo] = streamParse(decryptionTool.decryptInputStream(new GZIPInputStream(bvs)),
-                  localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
+          if( DecompressAheadParse.supports(localSetup) ) {
+            // Decompress ahead, or split BGZF members, and parse the blocks in parallel
+            final ParseSetup blockSetup = localSetup;
+            final AppendableVec[] avs = makeAvs(localSetup, chunkStartIdx, vec.nChunks());
+            final int nchunks = vec.nChunks();
+            InputStream dec = DecompressAheadParse.isBGZF(zips) && decryptionTool instanceof NullDecryptionTool
+                    ? null : decryptionTool.decryptInputStream(new GZIPInputStream(bvs));
+            _dout[_lo] = DecompressAheadParse.parse(bvs, dec, localSetup, _jobKey, new DecompressAheadParse.Writers() {
+              @Override public FVecParseWriter make(int b) {
+                assert b < nchunks;
+                return makeDout(blockSetup, avs, chunkStartIdx + b);
+              }
+            });
+          } else {
+            // Zipped file; no parallel decompression;
+            _dout[_lo] = streamParse(decryptionTool.decryptInputStream(new GZIPInputStream(bvs)),
+                    localSetup, makeDout(localSetup,chunkStartIdx,vec.nChunks()),bvs);
+          }
           _errors = _dout[_lo].removeErrors();
           // set this node as the one which processed all the chunks
           chunksAreLocal(vec,chunkStartIdx,key);
@@ -882,7 +933,7 @@ public final class ParseDataset {
         case "ARFF":
         case "CSV":
         case "PARQUET":
-          Categorical [] categoricals = categoricals(_cKey, _setup._number_columns);
+          Categorical [] categoricals = categoricals(_cKey, _setup._number_columns, _setup._categorical_first_seen);
           dout = new FVecParseWriter(_vg,_startChunkIdx + in.cidx(), categoricals, _setup._column_types,
                   _setup._chunk_size, avs); //TODO: use _setup._domains instead of categoricals
           break;
@@ -890,7 +941,7 @@ public final class ParseDataset {
           dout = new SVMLightFVecParseWriter(_vg, _vecIdStart, in.cidx() + _startChunkIdx, _setup._chunk_size, avs);
           break;
         case "ORC":  // setup special case for ORC
-          Categorical [] orc_categoricals = categoricals(_cKey, _setup._number_columns);
+          Categorical [] orc_categoricals = categoricals(_cKey, _setup._number_columns, _setup._categorical_first_seen);
           dout = new FVecParseWriter(_vg, in.cidx() + _startChunkIdx, orc_categoricals, _setup._column_types,
                   _setup._chunk_size, avs);
           break;
@@ -42,6 +42,21 @@ public class ParseSetup extends Iced {
   String [] _fileNames = new String[]{"unknown"};
   public boolean disableParallelParse;
   Key<DecryptionTool> _decrypt_tool;
+  // Number categorical levels in the order the parser first meets them
+  // instead of sorting the domains.  Parser threads race for the chunks,
+  // and nodes are merged in reduce order, so the numbering is not
+  // reproducible across runs; the default sorted order is.
+  boolean _categorical_first_seen;
+  // Columns (by index in the file) left out of the frame; honored by the
+  // parsers that can skip reading them (Parquet)
+  public int[] _skipped_columns;
+  // Range filters pushed down to the file: parsers keeping column statistics
+  // per block (Parquet row groups, ORC stripes) read only the blocks whose
+  // values of column _filter_cols[i] may fall in [_filter_min[i], _filter_max[i]].
+  // All rows of the blocks read are kept; filter the frame for exact results.
+  public int[] _filter_cols;
+  public double[] _filter_min;
+  public double[] _filter_max;
 
   public void setFileName(String name) {_fileNames[0] = name;}
 
@@ -60,6 +75,8 @@ public class ParseSetup extends Iced {
          ps._separator, ps._single_quotes, ps._check_header, ps._number_columns,
          ps._column_names, ps._column_types, ps._domains, ps._na_strings, ps._data,
          new ParseWriter.ParseErr[0], ps._chunk_size, ps._decrypt_tool);
+    _categorical_first_seen = ps._categorical_first_seen;
+    copyReadOptionsFrom(ps);
   }
 
 
@@ -114,6 +131,10 @@ public class ParseSetup extends Iced {
          new ParseWriter.ParseErr[0],
          ps.chunk_size,
          ps.decrypt_tool != null ? ps.decrypt_tool.key() : null);
+    _skipped_columns = ps.skipped_columns;
+    _filter_cols = ps.filter_cols;
+    _filter_min = ps.filter_min;
+    _filter_max = ps.filter_max;
   }
 
   /**
@@ -300,6 +321,8 @@ public class ParseSetup extends Iced {
       t._gblSetup._chunk_size = FileVec.calcOptimalChunkSize(t._totalParseSize, t._gblSetup._number_columns, t._maxLineLength,
               Runtime.getRuntime().availableProcessors(), H2O.getCloudSize(), false /*use new heuristic*/, true);
     }
+    // Not guessed: the skipped columns and filters are the user's
+    t._gblSetup.copyReadOptionsFrom(userSetup);
 
     return t._gblSetup;
   }
@@ -776,4 +799,72 @@ public class ParseSetup extends Iced {
     return this;
   }
 
+  public ParseSetup setSkippedColumns(int[] skipped_columns) {
+    this._skipped_columns = skipped_columns;
+    return this;
+  }
+
+  /** Read only the blocks of the file that may hold rows with min <= column col <= max. */
+  public ParseSetup addRangeFilter(int col, double min, double max) {
+    _filter_cols = ArrayUtils.append(_filter_cols, col);
+    _filter_min = ArrayUtils.append(_filter_min, new double[]{min});
+    _filter_max = ArrayUtils.append(_filter_max, new double[]{max});
+    return this;
+  }
+
+  /** Copies the skipped columns and the range filters, which are not guessed from the data. */
+  public final void copyReadOptionsFrom(ParseSetup ps) {
+    _skipped_columns = ps._skipped_columns;
+    _filter_cols = ps._filter_cols;
+    _filter_min = ps._filter_min;
+    _filter_max = ps._filter_max;
+  }
+
+  /**
+   * Leaves the skipped columns out of the columns of this setup, for parsers
+   * that don't read them at all.  The parser maps the remaining columns back
+   * to the columns of the file through {@link #_skipped_columns}.
+   *
+   * @return indices in the file of the columns kept, null if none is skipped
+   */
+  public int[] dropSkippedColumns() {
+    if (_skipped_columns == null || _skipped_columns.length == 0) return null;
+    int ncols = _column_types.length;
+    boolean[] skip = new boolean[ncols];
+    for (int c : _skipped_columns) {
+      if (c < 0 || c >= ncols)
+        throw new H2OIllegalArgumentException("Skipped column " + c + " is out of range, the file has " + ncols + " columns");
+      skip[c] = true;
+    }
+    int[] kept = new int[ncols];
+    int n = 0;
+    for (int c = 0; c < ncols; c++)
+      if (!skip[c]) kept[n++] = c;
+    if (n == 0) throw new H2OIllegalArgumentException("All columns are skipped");
+    kept = Arrays.copyOf(kept, n);
+    byte[] types = new byte[n];
+    for (int i = 0; i < n; i++) types[i] = _column_types[kept[i]];
+    _column_types = types;
+    if (_column_names != null) _column_names = ArrayUtils.select(_column_names, kept);
+    _domains = selectColumns(_domains, kept);
+    _na_strings = selectColumns(_na_strings, kept);
+    if (_data != null)
+      for (int r = 0; r < _data.length; r++)
+        if (_data[r] != null && _data[r].length == ncols) _data[r] = ArrayUtils.select(_data[r], kept);
+    _number_columns = n;
+    return kept;
+  }
+
+  private static String[][] selectColumns(String[][] perColumn, int[] kept) {
+    if (perColumn == null) return null;
+    String[][] res = new String[kept.length][];
+    for (int i = 0; i < kept.length; i++) res[i] = perColumn[kept[i]];
+    return res;
+  }
+
+  public ParseSetup setCategoricalFirstSeen(boolean categorical_first_seen) {
+    this._categorical_first_seen = categorical_first_seen;
+    return this;
+  }
+
 } // ParseSetup state class
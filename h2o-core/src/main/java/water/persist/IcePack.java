@@ -0,0 +1,131 @@
+package water.persist;
+
+import water.Key;
+import water.MemoryManager;
+import water.nbhm.NonBlockingHashMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * One packed swap file per Vec.  Spilled Chunks of the same Vec are appended
+ * to a single file, and reloads copy them out of read-only memory mappings of
+ * that file: a reload is served from the OS page cache without a syscall,
+ * and the OS is free to page the file in and out as memory allows.
+ * <p>
+ * The file is mapped in fixed-size segments (a single mapping cannot exceed
+ * 2G); Chunks never straddle a segment boundary, the writer pads to the next
+ * segment instead.  Values larger than a segment are read with a plain
+ * positional read.  Space is not reused: the file is append-only and is
+ * deleted once every Chunk in it has been deleted.
+ */
+final class IcePack {
+  static final int SEG_BITS = 28;         // 256M mapping segments
+  static final long SEG_SIZE = 1L << SEG_BITS;
+
+  private final File _file;
+  private RandomAccessFile _raf;          // Opened lazily on first store
+  private FileChannel _ch;
+  private long _end;                      // Append position
+  private MappedByteBuffer[] _maps = new MappedByteBuffer[0];
+  private boolean _dead;                  // Emptied and deleted; a racing store must use a new pack
+  // Key -> {file offset, length}
+  private final NonBlockingHashMap<Key, long[]> _index = new NonBlockingHashMap<>();
+
+  IcePack(File file) { _file = file; }
+
+  File file() { return _file; }
+
+  /** Append the bytes for Key k.
+   *  @return false if this pack was retired by a racing delete; nothing was stored */
+  synchronized boolean store(Key k, byte[] m) throws IOException {
+    if( _dead ) return false;
+    if( _ch == null ) {
+      _raf = new RandomAccessFile(_file, "rw");
+      _ch = _raf.getChannel();
+      _end = _ch.size();
+    }
+    long off = _end;
+    long segEnd = ((off >> SEG_BITS) + 1) << SEG_BITS;
+    if( m.length <= SEG_SIZE && off + m.length > segEnd ) // Would straddle a segment; pad
+      off = segEnd;
+    ByteBuffer bb = ByteBuffer.wrap(m);
+    long pos = off;
+    while( bb.hasRemaining() )
+      pos += _ch.write(bb, pos);
+    _end = off + m.length;
+    _index.put(k, new long[]{off, m.length});
+    return true;
+  }
+
+  /** @return the stored bytes, or null if the Key is not in this pack (racing delete) */
+  byte[] load(Key k) throws IOException {
+    long[] e = _index.get(k);
+    if( e == null ) return null;
+    final long off = e[0];
+    final int len = (int)e[1];
+    byte[] b = MemoryManager.malloc1(len);
+    if( len == 0 ) return b;
+    if( len > SEG_SIZE ) {      // Too big for a segment mapping
+      FileChannel ch = channel();
+      if( ch == null ) return null;
+      ByteBuffer bb = ByteBuffer.wrap(b);
+      long pos = off;
+      while( bb.hasRemaining() ) {
+        int n = ch.read(bb, pos);
+        if( n < 0 ) throw new IOException("Unexpected end of " + _file + " reading " + k);
+        pos += n;
+      }
+      return b;
+    }
+    MappedByteBuffer map = mapping(off + len);
+    if( map == null ) return null; // Pack deleted underneath us
+    ByteBuffer bb = map.duplicate();
+    bb.position((int)(off & (SEG_SIZE - 1)));
+    bb.get(b);
+    return b;
+  }
+
+  /** Forget the Key; retire the pack and drop the whole file once nothing
+   *  live is left in it.
+   *  @return true if the pack was retired */
+  synchronized boolean delete(Key k) {
+    if( _index.remove(k) == null || !_index.isEmpty() ) return false;
+    _dead = true;
+    close();
+    _file.delete();             // Silently ignore errors
+    return true;
+  }
+
+  synchronized void close() {
+    _maps = new MappedByteBuffer[0]; // Mappings are released by GC; they stay valid for racing readers
+    if( _raf != null ) {
+      try { _raf.close(); } catch( IOException ignore ) { }
+    }
+    _raf = null;
+    _ch = null;
+    _end = 0;
+  }
+
+  private synchronized FileChannel channel() { return _ch; }
+
+  // Mapping of the segment holding the region ending at 'end', (re)mapped if
+  // the file has grown past the current mapping.
+  private synchronized MappedByteBuffer mapping(long end) throws IOException {
+    if( _ch == null ) return null;
+    int seg = (int)((end - 1) >> SEG_BITS);
+    if( seg >= _maps.length ) _maps = Arrays.copyOf(_maps, seg + 1);
+    MappedByteBuffer map = _maps[seg];
+    long segStart = (long)seg << SEG_BITS;
+    if( map == null || segStart + map.capacity() < end ) {
+      long size = Math.min(SEG_SIZE, _end - segStart);
+      map = _maps[seg] = _ch.map(FileChannel.MapMode.READ_ONLY, segStart, size);
+    }
+    return map;
+  }
+}
@@ -0,0 +1,81 @@
+package water.persist;
+
+import water.Key;
+import water.MemoryManager;
+import water.Value;
+import water.nbhm.NonBlockingHashMap;
+import water.util.UnsafeUtils;
+
+/**
+ * Off-heap tier for user-mode swapping.  Spilled Values are copied into raw
+ * memory outside of the Java heap (budgeted by {@link MemoryManager#OFF_HEAP_MAX})
+ * instead of being written to the ice directory.  Reloading is a single
+ * memcpy back into a fresh heap byte[], no file I/O and no GC pressure from
+ * the resident copy.
+ * <p>
+ * The memory is allocated and freed explicitly, so a segment is only ever
+ * released once: either by {@link #delete(Key)} or when the store is cleaned
+ * up.  Readers and the deleter synchronize on the segment to avoid copying
+ * out of freed memory.
+ */
+final class OffHeapStore {
+
+  private static final class Segment {
+    private long _addr;       // Zero once freed
+    private final int _len;
+    Segment(long addr, int len) { _addr = addr; _len = len; }
+  }
+
+  private final NonBlockingHashMap<Key, Segment> _segs = new NonBlockingHashMap<>();
+  private final long _max; // Budget, in bytes, of all off-heap memory
+
+  OffHeapStore() { this(MemoryManager.OFF_HEAP_MAX); }
+  OffHeapStore(long max) { _max = max; }
+
+  /** Copy the Value bytes off-heap.
+   *  @return false if the off-heap budget is exhausted; nothing was stored */
+  boolean store(Value v, byte[] m) {
+    final int len = m.length;
+    if( !MemoryManager.tryReserveOffHeap(len, _max) ) return false;
+    final long addr = UnsafeUtils.allocateMemory(Math.max(len, 1));
+    UnsafeUtils.copyToOffHeap(m, 0, addr, len);
+    Segment old = _segs.put(v._key, new Segment(addr, len));
+    if( old != null ) free(old); // Racing re-store of the same Key; keep the latest bytes
+    return true;
+  }
+
+  /** @return the stored bytes as a new heap array, or null if this Key is not held off-heap */
+  byte[] load(Value v) {
+    Segment seg = _segs.get(v._key);
+    if( seg == null ) return null;
+    synchronized (seg) {
+      if( seg._addr == 0 ) return null; // Racing delete
+      byte[] b = MemoryManager.malloc1(seg._len);
+      UnsafeUtils.copyFromOffHeap(seg._addr, b, 0, seg._len);
+      return b;
+    }
+  }
+
+  /** Free the off-heap copy, if any.
+   *  @return true if this Key was held off-heap */
+  boolean delete(Key k) {
+    Segment seg = _segs.remove(k);
+    if( seg == null ) return false;
+    free(seg);
+    return true;
+  }
+
+  void cleanUp() {
+    for( Key k : _segs.keySet() )
+      delete(k);
+  }
+
+  private static void free(Segment seg) {
+    synchronized (seg) {
+      if( seg._addr == 0 ) return;
+      UnsafeUtils.freeMemory(seg._addr);
+      seg._addr = 0;
+    }
+    MemoryManager.freeOffHeap(seg._len);
+  }
+}
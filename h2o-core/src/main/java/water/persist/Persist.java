@@ -28,6 +28,26 @@ public abstract class Persist {
   /** Reclaim space from a previously stored Value */
   abstract public void delete(Value v);
 
+  /** Store the given bytes on behalf of Value v: its serialized form,
+   *  possibly encoded by a {@link SwapCodec}.  Only the user-mode swapping
+   *  backend supports this. */
+  void store(Value v, byte[] m) throws IOException { throw H2O.unimpl(); }
+
+  /** Load the len bytes stored by {@link #store(Value, byte[])}, which may be
+   *  fewer than v._max if they were encoded. */
+  byte[] load(Value v, int len) throws IOException { throw H2O.unimpl(); }
+
+  /** The serialized form of v to store; v._max follows it if the POJO
+   *  changed size since it was last serialized. */
+  static byte[] bytesToStore(Value v) {
+    byte[] m = v.memOrLoad(); // we are not single threaded anymore
+    if( m != null && m.length != v._max ) {
+      Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length+" v._max="+v._max);
+      v._max = m.length; // Implies update of underlying POJO, then re-serializing it without K/V storing it
+    }
+    return m;
+  }
+
   /** Usable storage space, or -1 for unknown */
   public long getUsableSpace() { return /*UNKNOWN*/-1; }
 
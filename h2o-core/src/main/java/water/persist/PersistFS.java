@@ -7,14 +7,26 @@ import java.util.ArrayList;
 import water.*;
 import water.api.FSIOException;
 import water.fvec.NFSFileVec;
+import water.nbhm.NonBlockingHashMap;
 import water.util.Log;
 
+import static water.H2O.OptArgs.SYSTEM_PROP_PREFIX;
+
 /**
  * Persistence backend using local file system.
+ * <p>
+ * When used as the ice backend with {@link #PROP_ICE_MMAP} enabled, spilled
+ * Chunks are packed into one file per Vec and reloaded through memory
+ * mappings (see {@link IcePack}); all other Values get a file per Key.
  */
 public final class PersistFS extends Persist {
+  /** Pack spilled Chunks into one memory-mapped file per Vec. */
+  static final String PROP_ICE_MMAP = SYSTEM_PROP_PREFIX + "persist.ice.mmap";
+
   final File _root;
   final File _dir;
+  // Vec Key -> packed file holding the spilled Chunks of that Vec; null if packing is disabled
+  private final NonBlockingHashMap<Key, IcePack> _packs = Boolean.getBoolean(PROP_ICE_MMAP) ? new NonBlockingHashMap<Key, IcePack>() : null;
 
   PersistFS(File root) {
     _root = root;
@@ -26,7 +38,13 @@ public final class PersistFS extends Persist {
       H2O.die("ice_root not a read/writable directory");
   }
 
-  public void cleanUp() { deleteRecursive(_dir); }
+  public void cleanUp() {
+    if( _packs != null ) {
+      for( IcePack pack : _packs.values() ) pack.close();
+      _packs.clear();
+    }
+    deleteRecursive(_dir);
+  }
 
   private static void deleteRecursive(File path) {
     if( !path.exists() ) return;
@@ -46,16 +64,39 @@ public final class PersistFS extends Persist {
     return new File(_dir, getIceName(v));
   }
 
-  @Override public byte[] load(Value v) throws IOException {
+  private boolean isPacked(Key k) { return _packs != null && k.isChunkKey(); }
+
+  // Packed file for the Vec owning this Chunk Key
+  private IcePack getPack(Key k) throws IOException {
+    Key vecKey = k.getVecKey();
+    IcePack pack = _packs.get(vecKey);
+    if( pack != null ) return pack;
+    if( !_dir.mkdirs() && !_dir.exists() )
+      throw new java.io.IOException("mkdirs failed making "+_dir);
+    pack = new IcePack(new File(_dir, key2Str(vecKey) + ".pack"));
+    IcePack old = _packs.putIfAbsent(vecKey, pack);
+    return old == null ? pack : old;
+  }
+
+  @Override public byte[] load(Value v) throws IOException { return load(v, v._max); }
+
+  @Override byte[] load(Value v, int len) throws IOException {
+    if( isPacked(v._key) ) {
+      IcePack pack = _packs.get(v._key.getVecKey());
+      byte[] b = pack == null ? null : pack.load(v._key);
+      // Missing only if it's a racey delete of a spilled value
+      assert b != null || !v.isPersisted() : "Packed value missing " + v._key;
+      return b;
+    }
     File f = getFile(v);
-    if( f.length() < v._max ) { // Should be fully on disk...
+    if( f.length() < len ) { // Should be fully on disk...
       // or it's a racey delete of a spilled value
-      assert !v.isPersisted() : f.length() + " " + v._max + " " + v._key;
+      assert !v.isPersisted() : f.length() + " " + len + " " + v._key;
       return null; // No value
     }
     try (FileInputStream s = new FileInputStream(f)) {
         AutoBuffer ab = new AutoBuffer(s.getChannel(), true, Value.ICE);
-        byte[] b = ab.getA1(v._max);
+        byte[] b = ab.getA1(len);
         ab.close();
         return b;
       }
@@ -64,15 +105,20 @@ public final class PersistFS extends Persist {
   // Store Value v to disk.
   @Override public void store(Value v) throws IOException {
     assert !v.isPersisted();
+    store(v, bytesToStore(v));
+  }
+
+  @Override void store(Value v, byte[] m) throws IOException {
+    if( isPacked(v._key) ) {
+      IcePack pack;
+      while( !(pack = getPack(v._key)).store(v._key, m) )
+        _packs.remove(v._key.getVecKey(), pack); // Retired by a racing delete; start a fresh one
+      return;
+    }
     File dirs = new File(_dir, getIceDirectory(v._key));
     if( !dirs.mkdirs() && !dirs.exists() )
       throw new java.io.IOException("mkdirs failed making "+dirs);
     try(FileOutputStream s = new FileOutputStream(getFile(v))) {
-        byte[] m = v.memOrLoad(); // we are not single threaded anymore
-        if( m != null && m.length != v._max ) {
-          Log.warn("Value size mismatch? " + v._key + " byte[].len=" + m.length+" v._max="+v._max);
-          v._max = m.length; // Implies update of underlying POJO, then re-serializing it without K/V storing it
-        }
         new AutoBuffer(s.getChannel(), false, Value.ICE).putA1(m, m.length).close();
       } catch( AutoBuffer.AutoBufferException abe ) {
       throw abe._ioe;
@@ -80,6 +126,13 @@ public final class PersistFS extends Persist {
   }
 
   @Override public void delete(Value v) {
+    if( isPacked(v._key) ) {
+      Key vecKey = v._key.getVecKey();
+      IcePack pack = _packs.get(vecKey);
+      if( pack != null && pack.delete(v._key) )
+        _packs.remove(vecKey, pack); // Empty pack; its file is gone
+      return;
+    }
     getFile(v).delete();        // Silently ignore errors
     // Attempt to delete empty containing directory
     new File(_dir, getIceDirectory(v._key)).delete();
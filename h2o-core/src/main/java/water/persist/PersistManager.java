@@ -5,6 +5,7 @@ import water.exceptions.H2OIllegalArgumentException;
 import water.parser.BufferedString;
 import water.util.FileUtils;
 import water.util.Log;
+import water.util.PrettyPrint;
 import water.persist.Persist.PersistEntry;
 
 import java.io.*;
@@ -60,6 +61,10 @@ public class PersistManager {
   }
 
   private Persist[] I;
+  // Codec for spilled Values, or null to spill raw bytes
+  private final SwapCodec _codec = SwapCodec.configured();
+  // Off-heap tier in front of the ice directory, or null if disabled
+  private final OffHeapStore _offHeap = MemoryManager.OFF_HEAP_MAX > 0 ? new OffHeapStore() : null;
   private PersistStatsEntry[] stats;
   public PersistStatsEntry[] getStats() { return stats; }
 
@@ -98,7 +103,7 @@ public class PersistManager {
       H2O.exit(1);
     }
 
-    Persist ice = null;
+    PersistFS ice = null;
     boolean windowsPath = iceRoot.toString().matches("^[a-zA-Z]:.*");
 
     if (windowsPath) {
@@ -166,21 +171,49 @@ public class PersistManager {
     } catch (Throwable ignore) {
       Log.info("GCS subsystem not available");
     }
+
+    if (_codec != null)
+      Log.info("Values swapped to ice are encoded with the " + _codec.name() + " codec");
+    if (_offHeap != null)
+      Log.info("Off-heap swap tier enabled, up to " + PrettyPrint.bytes(MemoryManager.OFF_HEAP_MAX) + " spilled outside the heap");
   }
 
   public void store(int backend, Value v) throws IOException {
     stats[backend].store_count.incrementAndGet();
-    I[backend].store(v);
+    if( backend == Value.ICE ) storeIce(v);
+    else I[backend].store(v);
+  }
+
+  // User-mode swapping: encode with the configured codec, then spill
+  // off-heap first, while the off-heap budget lasts, then to disk.
+  private void storeIce(Value v) throws IOException {
+    byte[] m = Persist.bytesToStore(v);
+    byte[] enc = _codec == null ? null : _codec.encode(m);
+    byte codec = enc == null ? SwapCodec.NONE : _codec.id();
+    if( enc == null ) enc = m;
+    v.setSwapCodec(codec, enc.length);
+    if( _offHeap == null || !_offHeap.store(v, enc) )
+      I[Value.ICE].store(v, enc);
+    stats[Value.ICE].store_bytes.addAndGet(enc.length);
+  }
+
+  private byte[] loadIce(Value v) throws IOException {
+    byte[] enc = _offHeap != null ? _offHeap.load(v) : null;
+    if( enc == null ) enc = I[Value.ICE].load(v, v.swapCodec() == SwapCodec.NONE ? v._max : v.swapSize());
+    if( enc == null || v.swapCodec() == SwapCodec.NONE ) return enc;
+    return SwapCodec.get(v.swapCodec()).decode(enc, v._max);
   }
 
   public void delete(int backend, Value v) {
     stats[backend].delete_count.incrementAndGet();
+    if( backend == Value.ICE && _offHeap != null && _offHeap.delete(v._key) )
+      return;
     I[backend].delete(v);
   }
 
   public byte[] load(int backend, Value v) throws IOException {
     stats[backend].load_count.incrementAndGet();
-    byte[] arr = I[backend].load(v);
+    byte[] arr = backend == Value.ICE ? loadIce(v) : I[backend].load(v);
     stats[backend].load_bytes.addAndGet(arr.length);
     return arr;
   }
@@ -188,6 +221,12 @@ public class PersistManager {
   /** Get the current Persist flavor for user-mode swapping. */
   public Persist getIce() { return I[Value.ICE]; }
 
+  /** Drop everything spilled by user-mode swapping, off-heap and on disk. */
+  public void cleanUpIce() {
+    if( _offHeap != null ) _offHeap.cleanUp();
+    I[Value.ICE].cleanUp();
+  }
+
   /** Convert given URI into a specific H2O key representation.
    *
    * The representation depends on persistent backend, since it will
@@ -0,0 +1,118 @@
+package water.persist;
+
+import water.H2O;
+import water.MemoryManager;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static water.H2O.OptArgs.SYSTEM_PROP_PREFIX;
+
+/**
+ * Block codec applied to Values spilled to the ice backend (disk or the
+ * off-heap tier).  The id of the codec used is recorded on the Value next to
+ * its persistence bits, so each spilled Value is decoded with the codec it
+ * was written with, even if the configured codec changes.
+ * <p>
+ * Codecs are pluggable: an extension can {@link #register} its own (e.g. a
+ * JNI-backed LZ4 or zstd) under a free id and select it by name with
+ * {@link #PROP_CODEC}.  The built-in {@code deflate} codec runs the JDK
+ * deflater at its fastest level; swap data is written once and read back
+ * rarely, so speed matters more than ratio.
+ */
+public abstract class SwapCodec {
+  /** Name of the codec used for new spills; unset or "none" stores raw bytes. */
+  public static final String PROP_CODEC = SYSTEM_PROP_PREFIX + "persist.ice.codec";
+
+  /** Id of raw, unencoded swap bytes. */
+  public static final byte NONE = 0;
+  public static final byte DEFLATE = 1;
+
+  private static final SwapCodec[] CODECS = new SwapCodec[16];
+  static { register(new DeflateCodec()); }
+
+  /** Unique id, recorded per spilled Value. */
+  public abstract byte id();
+
+  /** Name used to select this codec with {@link #PROP_CODEC}. */
+  public abstract String name();
+
+  /** Encode raw Value bytes.
+   *  @return the encoded bytes, or null if they do not compress well enough
+   *  to be worth decoding later; the raw bytes are stored instead */
+  public abstract byte[] encode(byte[] raw);
+
+  /** Decode bytes produced by {@link #encode} back into rawLen raw bytes. */
+  public abstract byte[] decode(byte[] enc, int rawLen) throws IOException;
+
+  public static synchronized void register(SwapCodec codec) {
+    byte id = codec.id();
+    if( id <= NONE || id >= CODECS.length )
+      throw new IllegalArgumentException("Swap codec id out of range: " + id);
+    if( CODECS[id] != null && CODECS[id].getClass() != codec.getClass() )
+      throw new IllegalArgumentException("Swap codec id " + id + " is already taken by " + CODECS[id].name());
+    CODECS[id] = codec;
+  }
+
+  /** @return the codec registered under the id */
+  public static SwapCodec get(byte id) {
+    SwapCodec codec = CODECS[id];
+    if( codec == null ) throw H2O.fail("Unknown swap codec id " + id);
+    return codec;
+  }
+
+  /** The codec configured for new spills, or null to store raw bytes. */
+  static SwapCodec configured() {
+    String name = System.getProperty(PROP_CODEC);
+    if( name == null || "none".equalsIgnoreCase(name) ) return null;
+    for( SwapCodec codec : CODECS )
+      if( codec != null && codec.name().equalsIgnoreCase(name) )
+        return codec;
+    throw new IllegalArgumentException("Unknown swap codec '" + name + "' given by " + PROP_CODEC);
+  }
+
+  private static class DeflateCodec extends SwapCodec {
+    @Override public byte id() { return DEFLATE; }
+    @Override public String name() { return "deflate"; }
+
+    @Override public byte[] encode(byte[] raw) {
+      // Require at least 1/8th savings, else not worth the decode on reload
+      final int limit = raw.length - (raw.length >> 3);
+      if( limit <= 0 ) return null;
+      Deflater d = new Deflater(Deflater.BEST_SPEED);
+      try {
+        d.setInput(raw);
+        d.finish();
+        byte[] buf = new byte[limit];
+        int len = d.deflate(buf);
+        if( !d.finished() ) return null; // Did not fit the limit
+        return MemoryManager.arrayCopyOf(buf, len);
+      } finally {
+        d.end();
+      }
+    }
+
+    @Override public byte[] decode(byte[] enc, int rawLen) throws IOException {
+      Inflater inf = new Inflater();
+      try {
+        inf.setInput(enc);
+        byte[] raw = MemoryManager.malloc1(rawLen);
+        int len = 0;
+        while( len < rawLen && !inf.finished() ) {
+          int n = inf.inflate(raw, len, rawLen - len);
+          if( n == 0 && (inf.needsInput() || inf.needsDictionary()) ) break;
+          len += n;
+        }
+        if( len != rawLen )
+          throw new IOException("Corrupt swap data: decoded " + len + " bytes, expected " + rawLen);
+        return raw;
+      } catch( DataFormatException e ) {
+        throw new IOException("Corrupt swap data", e);
+      } finally {
+        inf.end();
+      }
+    }
+  }
+}
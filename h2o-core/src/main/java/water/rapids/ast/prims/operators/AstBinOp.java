@@ -8,6 +8,7 @@ import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.NewChunk;
 import water.fvec.Vec;
+import water.fvec.ZoneMap;
 import water.parser.BufferedString;
 import water.rapids.*;
 import water.rapids.ast.AstPrimitive;
@@ -16,6 +17,7 @@ import water.rapids.vals.ValFrame;
 import water.rapids.vals.ValNum;
 import water.rapids.vals.ValRow;
 import water.util.ArrayUtils;
+import water.util.Metrics;
 
 import java.util.*;
 
@@ -165,6 +167,58 @@ abstract public class AstBinOp extends AstPrimitive {
     throw H2O.unimpl("Binary operation '" + str() + "' is not supported on String columns.");
   }
 
+  /**
+   * Override for comparisons: the result of op(l, r) for every l in [lo, hi],
+   * or NaN if it depends on l.  Lets whole chunks be answered from their
+   * zone map, without reading them.
+   */
+  public double zone_op(double lo, double hi, double r) {
+    return Double.NaN;
+  }
+
+  /**
+   * Zone maps of the frame's Vecs, where computed; null if the op cannot use
+   * them against this scalar.  Any op with a zone rule knows the result of
+   * r op r.
+   */
+  ZoneMap[] zoneMaps(Frame fr, double r) {
+    if (Double.isNaN(zone_op(r, r, r))) return null;
+    ZoneMap[] zms = new ZoneMap[fr.numCols()];
+    for (int c = 0; c < zms.length; c++)
+      if (fr.vec(c).isNumeric())
+        zms[c] = fr.vec(c).zoneMap();
+    return zms;
+  }
+
+  // Chunks with a zone map: answered from it, or scanned anyway
+  private static final Metrics.Counter ZONE_SKIPPED = Metrics.counter("rapids_zone_skipped_chunks_total", "Chunks of frame-scalar ops answered from their zone map");
+  private static final Metrics.Counter ZONE_SCANNED = Metrics.counter("rapids_zone_scanned_chunks_total", "Chunks of frame-scalar ops scanned despite their zone map");
+  /** Number of chunks answered from their zone map without a scan */
+  public static long zoneSkippedChunks() { return ZONE_SKIPPED.get(); }
+  /** Number of chunks with a zone map that still had to be scanned */
+  public static long zoneScannedChunks() { return ZONE_SCANNED.get(); }
+
+  /**
+   * Fill the result for chunk chk if its zone map shows all rows, NAs
+   * included, get the same result.
+   * @return true if filled, false if the chunk must be scanned
+   */
+  boolean zone_op_chunk(ZoneMap[] zms, int c, Chunk chk, double r, NewChunk cres) {
+    if (zms == null || zms[c] == null) return false;
+    ZoneMap zm = zms[c];
+    int cidx = chk.cidx();
+    double na = op(Double.NaN, r);
+    double k = zm.isEmpty(cidx) ? na : zone_op(zm.min(cidx), zm.max(cidx), r);
+    if (Double.isNaN(k) || (zm.naCnt(cidx) > 0 && Double.compare(k, na) != 0)) {
+      ZONE_SCANNED.inc();
+      return false;
+    }
+    ZONE_SKIPPED.inc();
+    if (k == 0) cres.addZeros(chk._len);
+    else for (int i = 0; i < chk._len; i++) cres.addNum(k);
+    return true;
+  }
+
   /**
    * Auto-widen the scalar to every element of the frame
    */
@@ -187,12 +241,14 @@ abstract public class AstBinOp extends AstPrimitive {
    * Auto-widen the scalar to every element of the frame
    */
   public ValFrame frame_op_scalar(Frame fr, final double d) {
+    final ZoneMap[] zms = zoneMaps(fr, d);
     Frame res = new MRTask() {
       @Override
       public void map(Chunk[] chks, NewChunk[] cress) {
         for (int c = 0; c < chks.length; c++) {
           Chunk chk = chks[c];
           NewChunk cres = cress[c];
+          if (zone_op_chunk(zms, c, chk, d, cres)) continue;
           for (int i = 0; i < chk._len; i++)
             cres.addNum(op(chk.atd(i), d));
         }
@@ -5,6 +5,7 @@ import water.fvec.Chunk;
 import water.fvec.Frame;
 import water.fvec.NewChunk;
 import water.fvec.Vec;
+import water.fvec.ZoneMap;
 import water.parser.BufferedString;
 import water.rapids.vals.ValFrame;
 import water.util.MathUtils;
@@ -22,8 +23,16 @@ public class AstEq extends AstBinOp {
     return MathUtils.equalsWithinOneSmallUlp(l, r) ? 1 : 0;
   }
 
+  // Values more than an ulp of r away from it can never be within one small ulp
+  @Override
+  public double zone_op(double lo, double hi, double r) {
+    if (lo == hi) return op(lo, r);
+    return r < lo && lo - r > Math.ulp(r) || r > hi && r - hi > Math.ulp(r) ? 0 : Double.NaN;
+  }
+
   @Override
   public ValFrame frame_op_scalar(Frame fr, final double d) {
+    final ZoneMap[] zms = zoneMaps(fr, d);
     return new ValFrame(new MRTask() {
       @Override
       public void map(Chunk[] chks, NewChunk[] cress) {
@@ -35,7 +44,7 @@ public class AstEq extends AstBinOp {
             for (int i = 0; i < chk._len; i++)
               cres.addNum(str_op(chk.atStr(bStr, i), Double.isNaN(d) ? null : new BufferedString(String.valueOf(d))));
           else if (!chk.vec().isNumeric()) cres.addZeros(chk._len);
-          else
+          else if (!zone_op_chunk(zms, c, chk, d, cres))
             for (int i = 0; i < chk._len; i++)
               cres.addNum(op(chk.atd(i), d));
         }
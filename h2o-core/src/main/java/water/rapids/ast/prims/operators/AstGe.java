@@ -10,4 +10,9 @@ public class AstGe extends AstBinOp {
   public double op(double l, double r) {
     return l >= r ? 1 : 0;
   }
+
+  @Override
+  public double zone_op(double lo, double hi, double r) {
+    return lo >= r ? 1 : hi < r ? 0 : Double.NaN;
+  }
 }
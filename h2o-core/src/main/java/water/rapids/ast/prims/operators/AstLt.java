@@ -10,4 +10,9 @@ public class AstLt extends AstBinOp {
   public double op(double l, double r) {
     return l < r ? 1 : 0;
   }
+
+  @Override
+  public double zone_op(double lo, double hi, double r) {
+    return hi < r ? 1 : lo >= r ? 0 : Double.NaN;
+  }
 }
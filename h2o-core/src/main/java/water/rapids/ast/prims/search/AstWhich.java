@@ -48,9 +48,12 @@ public class AstWhich extends AstPrimitive {
     Vec vec = f.anyVec();
     if (f.numCols() > 1 || !vec.isInt())
       throw new IllegalArgumentException("which requires a single integer column");
+    final ZoneMap zm = vec.zoneMap(); // Computed along with isInt
     Frame f2 = new MRTask() {
       @Override
       public void map(Chunk c, NewChunk nc) {
+        // Skip chunks that are all zeros without scanning them
+        if (zm != null && zm.min(c.cidx()) == 0 && zm.max(c.cidx()) == 0 && zm.naCnt(c.cidx()) == 0) return;
         long start = c.start();
         for (int i = 0; i < c._len; ++i)
           if (c.at8(i) != 0) nc.addNum(start + i);
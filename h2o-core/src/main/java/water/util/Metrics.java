@@ -0,0 +1,144 @@
+package water.util;
+
+import water.H2O;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** Low-overhead, lock-free metrics for the hot paths of this node.
+ *  <p>
+ *  Metrics are registered once by name, typically into a static final field
+ *  of the instrumented class, and then updated without locks: {@link Counter}s
+ *  are striped across cache lines by thread, and {@link Timer}s record into
+ *  HDR-style log-linear latency buckets.  {@link WaterMeterMetrics} gathers
+ *  snapshots from all nodes for the REST API.
+ *  <p>
+ *  Recording can be turned off with {@code -Dsys.ai.h2o.metrics.disable=true}.
+ */
+public final class Metrics {
+  private Metrics() {}
+
+  public static final boolean ENABLED = !Boolean.getBoolean(H2O.OptArgs.SYSTEM_PROP_PREFIX + "metrics.disable");
+
+  private static final ConcurrentHashMap<String,Metric> REGISTRY = new ConcurrentHashMap<>();
+
+  /** A named metric, with a help line for the Prometheus exposition. */
+  public static abstract class Metric {
+    public final String _name, _help;
+    Metric( String name, String help ) { _name = name; _help = help; }
+  }
+
+  // Stripes are one cache line (8 longs) apart, so threads bumping the same
+  // Counter do not false-share.  Power of 2, about 2 per core.
+  private static final int PAD = 8;
+  private static final int STRIPES = Math.min(64, Integer.highestOneBit(Math.max(1, 2*Runtime.getRuntime().availableProcessors()-1)) << 1);
+  private static int stripe() { return (int)(Thread.currentThread().getId() & (STRIPES-1)); }
+
+  /** Monotonic counter, striped by thread. */
+  public static final class Counter extends Metric {
+    private final AtomicLongArray _cells = new AtomicLongArray(STRIPES*PAD);
+    Counter( String name, String help ) { super(name,help); }
+    public void inc() { add(1); }
+    public void add( long x ) { if( ENABLED ) _cells.getAndAdd(stripe()*PAD,x); }
+    public long get() {
+      long sum = 0;
+      for( int i=0; i<STRIPES; i++ ) sum += _cells.get(i*PAD);
+      return sum;
+    }
+  }
+
+  /** Latency histogram in nanoseconds.  Values are bucketed by power of 2,
+   *  with 8 linear sub-buckets each, so quantiles are accurate to within
+   *  12.5%; like HDR histograms, but fixed size and lock-free.  */
+  public static final class Timer extends Metric {
+    private static final int SUB_BITS = 3, SUB = 1<<SUB_BITS;
+    private static final int NBUCKETS = (64-SUB_BITS+1)*SUB;
+    private final AtomicLongArray _counts = new AtomicLongArray(NBUCKETS);
+    private final Counter _sum;
+    private final AtomicLong _max = new AtomicLong();
+    Timer( String name, String help ) { super(name,help); _sum = new Counter(name,help); }
+
+    /** Record one event that took <em>ns</em> nanoseconds. */
+    public void record( long ns ) {
+      if( !ENABLED ) return;
+      if( ns < 0 ) ns = 0;
+      _counts.getAndIncrement(bucket(ns));
+      _sum.add(ns);
+      long max;
+      while( ns > (max=_max.get()) && !_max.compareAndSet(max,ns) ) ;
+    }
+    /** Record one event that started at <em>startNs</em>, a System.nanoTime() stamp. */
+    public void recordSince( long startNs ) { record(System.nanoTime()-startNs); }
+
+    static int bucket( long ns ) {
+      if( ns < SUB ) return (int)ns;
+      int e = 63-Long.numberOfLeadingZeros(ns); // e >= SUB_BITS
+      int sub = (int)(ns >>> (e-SUB_BITS)) & (SUB-1);
+      return (e-SUB_BITS+1)*SUB + sub;
+    }
+    // Largest value landing in bucket b
+    static long bucketMax( int b ) {
+      if( b < SUB ) return b;
+      int e = b/SUB + SUB_BITS-1;
+      long lo = ((long)(SUB + b%SUB)) << (e-SUB_BITS);
+      return lo + (1L << (e-SUB_BITS)) - 1;
+    }
+
+    public long count() {
+      long n = 0;
+      for( int i=0; i<NBUCKETS; i++ ) n += _counts.get(i);
+      return n;
+    }
+    public long sum() { return _sum.get(); }
+    public long max() { return _max.get(); }
+    /** Estimated quantiles, in nanoseconds, for each of <em>qs</em>; an
+     *  upper bound within the bucket precision. */
+    public long[] quantiles( double... qs ) {
+      long[] counts = new long[NBUCKETS];
+      long n = 0;
+      for( int i=0; i<NBUCKETS; i++ ) n += (counts[i] = _counts.get(i));
+      long[] res = new long[qs.length];
+      if( n == 0 ) return res;
+      for( int j=0; j<qs.length; j++ ) {
+        long rank = Math.max(1,(long)Math.ceil(qs[j]*n)), sofar = 0;
+        for( int i=0; i<NBUCKETS; i++ )
+          if( (sofar += counts[i]) >= rank ) { res[j] = Math.min(bucketMax(i),max()); break; }
+      }
+      return res;
+    }
+  }
+
+  /** Get or register the Counter <em>name</em>. */
+  public static Counter counter( String name, String help ) {
+    Metric m = REGISTRY.get(name);
+    if( m == null ) {
+      Metric old = REGISTRY.putIfAbsent(name, m = new Counter(name,help));
+      if( old != null ) m = old;
+    }
+    return (Counter)m;
+  }
+
+  /** Get or register the Timer <em>name</em>. */
+  public static Timer timer( String name, String help ) {
+    Metric m = REGISTRY.get(name);
+    if( m == null ) {
+      Metric old = REGISTRY.putIfAbsent(name, m = new Timer(name,help));
+      if( old != null ) m = old;
+    }
+    return (Timer)m;
+  }
+
+  /** All registered metrics, sorted by name. */
+  public static List<Metric> all() {
+    List<Metric> ms = new ArrayList<>(REGISTRY.values());
+    Collections.sort(ms, new Comparator<Metric>() {
+      @Override public int compare( Metric a, Metric b ) { return a._name.compareTo(b._name); }
+    });
+    return ms;
+  }
+}
@@ -0,0 +1,133 @@
+package water.util;
+
+import water.Iced;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A mergeable streaming quantile sketch, after KLL (Karnin, Lang and Liberty).
+ * Items on level h stand for 2^h inputs each.  A level growing past k items
+ * is sorted and one item of each adjacent pair, alternately the lower and
+ * the upper, moves up a level.  Space is O(k log(n/k)) and the rank error
+ * about log2(n/k)/k of n.
+ * <p>
+ * Sketches of parts of a dataset merge into a sketch of the whole, so
+ * per-chunk sketches roll up like the other per-chunk stats.  Compactions
+ * can drop the extremes, so the exact min and max are kept on the side.
+ */
+public final class QuantileSketch extends Iced<QuantileSketch> {
+  public static final int DEFAULT_K = 128;
+
+  private int _k;
+  private double[][] _items;  // Per level; the first _sizes[h] are used
+  private int[] _sizes;
+  private long _n;
+  private double _min = Double.POSITIVE_INFINITY, _max = Double.NEGATIVE_INFINITY;
+  private boolean _upper;     // Which item of each pair the next compaction keeps
+
+  public QuantileSketch() { this(DEFAULT_K); }
+  public QuantileSketch( int k ) {
+    _k = k;
+    _items = new double[0][];
+    _sizes = new int[0];
+  }
+
+  /** @return number of values added */
+  public long count() { return _n; }
+
+  /** Add one value; must not be NaN. */
+  public void add( double d ) {
+    assert !Double.isNaN(d);
+    _n++;
+    minmax(d);
+    append(0, d);
+    if( _sizes[0] > _k ) compact();
+  }
+
+  /** Add <em>count</em> copies of a value: bit h of count puts it on level h. */
+  public void add( double d, long count ) {
+    assert !Double.isNaN(d) && count >= 0;
+    if( count == 0 ) return;
+    _n += count;
+    minmax(d);
+    for( int h = 0; count != 0; h++, count >>>= 1 )
+      if( (count & 1) != 0 ) append(h, d);
+    compact();
+  }
+
+  /** Merge in the sketch of other values. */
+  public void merge( QuantileSketch qs ) {
+    _n += qs._n;
+    _min = Math.min(_min, qs._min);
+    _max = Math.max(_max, qs._max);
+    for( int h = 0; h < qs._sizes.length; h++ )
+      for( int i = 0; i < qs._sizes[h]; i++ )
+        append(h, qs._items[h][i]);
+    compact();
+  }
+
+  /** @return approximate values at the given probabilities, exact for 0
+   *  and 1, or NaNs if the sketch is empty */
+  public double[] quantiles( double... probs ) {
+    double[] qs = new double[probs.length];
+    int m = 0;
+    for( int s : _sizes ) m += s;
+    if( m == 0 ) { Arrays.fill(qs, Double.NaN); return qs; }
+    final double[] vs = new double[m];
+    long[] ws = new long[m];
+    Integer[] idx = new Integer[m];
+    for( int h = 0, j = 0; h < _sizes.length; h++ )
+      for( int i = 0; i < _sizes[h]; i++, j++ ) {
+        vs[j] = _items[h][i];
+        ws[j] = 1L << h;
+        idx[j] = j;
+      }
+    Arrays.sort(idx, new Comparator<Integer>() {
+      @Override public int compare( Integer a, Integer b ) { return Double.compare(vs[a], vs[b]); }
+    });
+    for( int q = 0; q < probs.length; q++ ) {
+      if( probs[q] <= 0 ) { qs[q] = _min; continue; }
+      if( probs[q] >= 1 ) { qs[q] = _max; continue; }
+      double rank = probs[q] * _n;   // Smallest value with this many at or below it
+      long cum = 0;
+      int j = 0;
+      while( j < m - 1 && (cum += ws[idx[j]]) < rank ) j++;
+      qs[q] = Math.min(Math.max(vs[idx[j]], _min), _max);
+    }
+    return qs;
+  }
+
+  private void minmax( double d ) {
+    if( d < _min ) _min = d;
+    if( d > _max ) _max = d;
+  }
+
+  private void append( int h, double d ) {
+    if( h >= _sizes.length ) {
+      _items = Arrays.copyOf(_items, h + 1);
+      _sizes = Arrays.copyOf(_sizes, h + 1);
+    }
+    double[] items = _items[h];
+    if( items == null ) items = _items[h] = new double[_k + 1];
+    else if( _sizes[h] == items.length ) items = _items[h] = Arrays.copyOf(items, items.length << 1);
+    items[_sizes[h]++] = d;
+  }
+
+  // Halve every level over capacity into the one above, bottom-up
+  private void compact() {
+    for( int h = 0; h < _sizes.length; h++ ) {
+      int sz = _sizes[h];
+      if( sz <= _k ) continue;
+      double[] items = _items[h];
+      Arrays.sort(items, 0, sz);
+      int pairs = sz >> 1, off = _upper ? 1 : 0;
+      _upper = !_upper;
+      for( int p = 0; p < pairs; p++ )
+        append(h + 1, items[2 * p + off]);
+      // An odd item out stays behind
+      if( (sz & 1) != 0 ) items[0] = items[sz - 1];
+      _sizes[h] = sz & 1;
+    }
+  }
+}
@@ -22,4 +22,12 @@ public class UnsafeUtils {
 
   public static void copyMemory( byte[] srcBase, long srcOff, byte[] dstBase, long dstOff, long len )
   { _unsafe.copyMemory(srcBase,_Bbase+srcOff,dstBase,_Bbase+dstOff,len); }
+
+  // Raw off-heap memory; the caller owns the address and must free it exactly once.
+  public static long allocateMemory( long len ) { return _unsafe.allocateMemory(len); }
+  public static void freeMemory( long addr ) { _unsafe.freeMemory(addr); }
+  public static void copyToOffHeap( byte[] src, int srcOff, long dstAddr, long len )
+  { _unsafe.copyMemory(src,_Bbase+srcOff,null,dstAddr,len); }
+  public static void copyFromOffHeap( long srcAddr, byte[] dst, int dstOff, long len )
+  { _unsafe.copyMemory(null,srcAddr,dst,_Bbase+dstOff,len); }
 }
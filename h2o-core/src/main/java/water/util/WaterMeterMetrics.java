@@ -0,0 +1,152 @@
+package water.util;
+
+import water.*;
+import water.api.API;
+import water.api.schemas3.SchemaV3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class WaterMeterMetrics extends Iced {
+
+  public static class MetricEntry extends SchemaV3<Iced, MetricEntry> {
+    @API(help="Node the metric was taken on", direction = API.Direction.OUTPUT)
+    public String node;
+
+    @API(help="Metric name", direction = API.Direction.OUTPUT)
+    public String name;
+
+    @API(help="What the metric measures", direction = API.Direction.OUTPUT)
+    public String help;
+
+    @API(help="Extra label telling apart entries of one metric, e.g. priority=\"121\"", direction = API.Direction.OUTPUT)
+    public String label;
+
+    @API(help="Metric type: counter, gauge or timer", direction = API.Direction.OUTPUT)
+    public String type;
+
+    @API(help="Counter or gauge value; number of events for a timer", direction = API.Direction.OUTPUT)
+    public long count;
+
+    @API(help="Total time of all events of a timer, in nanoseconds", direction = API.Direction.OUTPUT)
+    public long sum_ns;
+
+    @API(help="Median event time of a timer, in nanoseconds", direction = API.Direction.OUTPUT)
+    public long p50_ns;
+
+    @API(help="90th percentile event time of a timer, in nanoseconds", direction = API.Direction.OUTPUT)
+    public long p90_ns;
+
+    @API(help="99th percentile event time of a timer, in nanoseconds", direction = API.Direction.OUTPUT)
+    public long p99_ns;
+
+    @API(help="Longest event time of a timer, in nanoseconds", direction = API.Direction.OUTPUT)
+    public long max_ns;
+  }
+
+  // Input
+  public int nodeidx;
+
+  // Output
+  public MetricEntry metrics[];
+
+  public void doIt(boolean allNodes) {
+    if (! allNodes) {
+      metrics = doIt(nodeidx);
+      return;
+    }
+    List<MetricEntry> all = new ArrayList<>();
+    for (int i = 0; i < H2O.CLOUD.size(); i++)
+      for (MetricEntry e : doIt(i))
+        all.add(e);
+    metrics = all.toArray(new MetricEntry[all.size()]);
+  }
+
+  private MetricEntry[] doIt(int idx) {
+    H2ONode node = H2O.CLOUD._memary[idx];
+    GetTask t = new GetTask();
+    Log.trace("Metrics GetTask starting to node " + idx + "...");
+    // Synchronous RPC call to get metrics from remote (possibly this) node.
+    new RPC<>(node, t).call().get();
+    Log.trace("Metrics GetTask completed to node " + idx);
+    for (MetricEntry e : t._metrics) e.node = node.toString();
+    return t._metrics;
+  }
+
+  /** Render the metrics in the Prometheus text exposition format, labeled by node. */
+  public String toPrometheus() {
+    // All series of a metric must follow its HELP and TYPE lines; group the
+    // nodes' entries by name (stable sort keeps node order within a name)
+    MetricEntry[] es = metrics.clone();
+    Arrays.sort(es, new Comparator<MetricEntry>() {
+      @Override public int compare(MetricEntry a, MetricEntry b) { return a.name.compareTo(b.name); }
+    });
+    SB sb = new SB();
+    String last = null;
+    for (MetricEntry e : es) {
+      String name = "h2o_" + e.name;
+      if (!name.equals(last)) { // HELP and TYPE once per metric family
+        sb.p("# HELP ").p(name).p(' ').p(e.help).nl();
+        sb.p("# TYPE ").p(name).p(' ').p("timer".equals(e.type) ? "summary" : e.type).nl();
+        last = name;
+      }
+      String labels = "node=\"" + e.node + "\"" + (e.label == null ? "" : "," + e.label);
+      if (!"timer".equals(e.type)) {
+        sb.p(name).p('{').p(labels).p("} ").p(e.count).nl();
+        continue;
+      }
+      sb.p(name).p('{').p(labels).p(",quantile=\"0.5\"} ").p(e.p50_ns / 1e9).nl();
+      sb.p(name).p('{').p(labels).p(",quantile=\"0.9\"} ").p(e.p90_ns / 1e9).nl();
+      sb.p(name).p('{').p(labels).p(",quantile=\"0.99\"} ").p(e.p99_ns / 1e9).nl();
+      sb.p(name).p("_sum{").p(labels).p("} ").p(e.sum_ns / 1e9).nl();
+      sb.p(name).p("_count{").p(labels).p("} ").p(e.count).nl();
+    }
+    return sb.toString();
+  }
+
+  private static class GetTask extends DTask<GetTask> {
+    private MetricEntry _metrics[];
+
+    public GetTask() { super(H2O.MIN_HI_PRIORITY); _metrics = null; }
+
+    @Override public void compute2() {
+      List<MetricEntry> es = new ArrayList<>();
+      for (Metrics.Metric m : Metrics.all()) {
+        MetricEntry e = new MetricEntry();
+        e.name = m._name;
+        e.help = m._help;
+        if (m instanceof Metrics.Counter) {
+          e.type = "counter";
+          e.count = ((Metrics.Counter) m).get();
+        } else {
+          Metrics.Timer t = (Metrics.Timer) m;
+          long[] qs = t.quantiles(0.5, 0.9, 0.99);
+          e.type = "timer";
+          e.count = t.count();
+          e.sum_ns = t.sum();
+          e.p50_ns = qs[0];
+          e.p90_ns = qs[1];
+          e.p99_ns = qs[2];
+          e.max_ns = t.max();
+        }
+        es.add(e);
+      }
+      // Fork/join queue depths, for the priorities that have a pool
+      for (int p = 0; p <= H2O.MAX_PRIORITY; p++) {
+        int q = H2O.getWrkQueueSize(p);
+        if (q < 0) continue;
+        MetricEntry e = new MetricEntry();
+        e.name = "fj_queue_depth";
+        e.help = "Tasks queued in the fork/join pool of each priority";
+        e.label = "priority=\"" + p + "\"";
+        e.type = "gauge";
+        e.count = q;
+        es.add(e);
+      }
+      _metrics = es.toArray(new MetricEntry[es.size()]);
+      tryComplete();
+    }
+  }
+}
@@ -5,7 +5,11 @@ import org.junit.Assume;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.channels.FileChannel;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -77,4 +81,54 @@ public class AutoBufferTest extends TestUtil {
     assertEquals("(no name)", AutoBuffer.nameOfClass(new byte[]{0,0,0,0,0}));
   }
 
+  @Test
+  public void testNarrowedLongArrays() {
+    long[][] arys = {
+        {0, 0, 1, 255, 7, 0},                           // bytes
+        {-3, 1000, Short.MIN_VALUE, 0},                 // shorts
+        {0, Integer.MIN_VALUE, 1 << 20, -1},            // ints
+        {Long.MAX_VALUE, -1, 0, 0},                     // longs
+    };
+    AutoBuffer ab = new AutoBuffer();
+    for( long[] ary : arys ) ab.putA8(ary);
+    long[] big = new long[100000];
+    for( int i = 0; i < big.length; i++ ) big[i] = i % 30000;
+    ab.putA8(big);
+    AutoBuffer rd = new AutoBuffer(ab.buf());
+    for( long[] ary : arys ) assertArrayEquals(ary, rd.getA8());
+    assertArrayEquals(big, rd.getA8());
+  }
+
+  @Test
+  public void testBigArraysThroughChannel() throws Exception {
+    File f = File.createTempFile("autobuffer", ".bin");
+    try {
+      byte[] small = {1, 2, 3};
+      byte[] big = new byte[(3 * AutoBuffer.BBP_BIG._size) + 17];
+      new Random(42).nextBytes(big);
+      long[] longs = new long[50000];
+      for( int i = 0; i < longs.length; i++ ) longs[i] = (i * 7) % 200;
+      try( RandomAccessFile raf = new RandomAccessFile(f, "rw") ) {
+        AutoBuffer ab = new AutoBuffer(raf.getChannel(), false, Value.ICE);
+        ab.putA1(small).putA1(big).put4(42).putA8(longs).putA1(big);
+        ab.close();
+      }
+      try( RandomAccessFile raf = new RandomAccessFile(f, "r") ) {
+        FileChannel ch = raf.getChannel();
+        // Compressed lengths: 1 byte for small, 5 for big; longs ship x=1, y, z=0 then as bytes
+        long expected = (1 + small.length) + 2 * (5 + big.length) + 4 + (1 + 5 + 1 + 1 + longs.length - 1);
+        assertEquals(expected, ch.size());
+        AutoBuffer ab = new AutoBuffer(ch, true, Value.ICE);
+        assertArrayEquals(small, ab.getA1());
+        assertArrayEquals(big, ab.getA1());
+        assertEquals(42, ab.get4());
+        assertArrayEquals(longs, ab.getA8());
+        assertArrayEquals(big, ab.getA1());
+        ab.close();
+      }
+    } finally {
+      f.delete();
+    }
+  }
+
 }
\ No newline at end of file
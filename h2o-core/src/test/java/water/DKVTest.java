@@ -95,6 +95,87 @@ public class DKVTest extends TestUtil {
     }
   }
 
+  private static class TestBatchedGet extends MRTask<TestBatchedGet> {
+    final Key [] _keys;
+    TestBatchedGet(Key[] keys) { _keys = keys; }
+    @Override public void setupLocal() {
+      int remote = 0;
+      for( Key k : _keys ) if( k != null && !k.home() ) remote++;
+      long hits = DKV.cacheHits(), misses = DKV.cacheMisses();
+      Value[] vals = DKV.get(_keys);
+      for( int i = 0; i < _keys.length; ++i ) {
+        if( _keys[i] == null ) { assert vals[i] == null; continue; }
+        IcedInt val = vals[i].get();
+        if( val._val != i )
+          throw new IllegalArgumentException("Batched get of " + _keys[i] + " returned " + val._val + ", expected " + i);
+      }
+      // Every remotely homed key is counted once, as a hit or a miss...
+      if( DKV.cacheHits() - hits + DKV.cacheMisses() - misses != remote )
+        throw new IllegalArgumentException("Batched get of " + remote + " remote keys counted " + (DKV.cacheHits() - hits) + " hits and " + (DKV.cacheMisses() - misses) + " misses");
+      // ...and now they are all cached
+      hits = DKV.cacheHits();
+      DKV.get(_keys);
+      if( DKV.cacheHits() - hits != remote )
+        throw new IllegalArgumentException("Cached batched get of " + remote + " remote keys counted " + (DKV.cacheHits() - hits) + " hits");
+    }
+  }
+
+  /**
+   * Test that a batched multi-key get returns, in order, the Values of keys homed all over the cloud.
+   */
+  @Test
+  public void testBatchedGet() {
+    final Key[] keys = new Key[4 * H2O.CLOUD.size() + 1];
+    try {
+      for( int i = 0; i < keys.length - 1; ++i )
+        DKV.put(keys[i] = Key.make((byte) 1, Key.HIDDEN_USER_KEY, true, H2O.CLOUD._memary[i % H2O.CLOUD.size()]), new IcedInt(i));
+      new TestBatchedGet(keys).doAllNodes();
+    } finally {
+      for( Key k : keys )
+        if( k != null ) DKV.remove(k);
+    }
+  }
+
+  private static class KeyedInt extends Keyed<KeyedInt> {
+    final int _val;
+    KeyedInt(Key<KeyedInt> key, int val) { super(key); _val = val; }
+  }
+
+  private static class TestReplicated extends MRTask<TestReplicated> {
+    final Key _key;
+    final int _expected;
+    TestReplicated(Key key, int expected) { _key = key; _expected = expected; }
+    @Override public void setupLocal() {
+      Value val = Value.STORE_get(_key);
+      if( val == null )
+        throw new IllegalArgumentException("Replicated key " + _key + " not cached on " + H2O.SELF);
+      long hits = DKV.cacheHits();
+      KeyedInt ki = DKV.getGet(_key);
+      if( ki._val != _expected )
+        throw new IllegalArgumentException("Replicated key " + _key + " has " + ki._val + ", expected " + _expected);
+      if( !_key.home() && DKV.cacheHits() == hits )
+        throw new IllegalArgumentException("Get of replicated key " + _key + " was not a cache hit");
+    }
+  }
+
+  /**
+   * Test that replicated puts land in every node's cache, and that a later put is still globally visible.
+   */
+  @Test
+  public void testReplicatedPut() {
+    Key<KeyedInt> k = Key.make((byte) 1, Key.HIDDEN_USER_KEY, true, H2O.CLOUD._memary[H2O.CLOUD.size() - 1]);
+    try {
+      DKV.putReplicated(new KeyedInt(k, 1));
+      new TestReplicated(k, 1).doAllNodes();
+      DKV.putReplicated(new KeyedInt(k, 2));
+      new TestReplicated(k, 2).doAllNodes();
+      DKV.put(new KeyedInt(k, 3));
+      Assert.assertEquals(3, ((KeyedInt) DKV.getGet(k))._val);
+    } finally {
+      DKV.remove(k);
+    }
+  }
+
   class Bytes extends Iced<Bytes> {
     public byte[] _b;
     Bytes(byte[] b) { _b = b; }
@@ -0,0 +1,87 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Frame;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class EvictionPolicyTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testPolicies() {
+    long now = System.currentTimeMillis();
+    Value small = new Value(Key.make(), new byte[10]);
+    Value big = new Value(Key.make(), new byte[3 << 20]);
+    small.touchAt(now - 10000);
+    big.touchAt(now - 10000);
+    assertEquals(now - 10000, EvictionPolicy.make("lru").accessTime(big, now));
+    // Bigger Values look older
+    EvictionPolicy size = EvictionPolicy.make("size");
+    assertTrue(size.accessTime(big, now) < size.accessTime(small, now));
+    // Frequently used Values look more recent
+    EvictionPolicy lfu = EvictionPolicy.make("lfu");
+    long before = lfu.accessTime(small, now);
+    small._accessCount = 6;
+    assertTrue(lfu.accessTime(small, now) > before);
+  }
+
+  @Test public void testPinning() {
+    Vec v = Vec.makeCon(1, 1000);
+    Frame fr = new Frame(v);
+    try {
+      Value chk = DKV.get(v.chunkKey(0));
+      chk.touchAt(0);
+      long now = System.currentTimeMillis();
+      assertEquals(0, EvictionPolicy.effectiveAccessTime(chk, now));
+      EvictionPolicy.pin(fr);
+      EvictionPolicy.pin(fr);
+      assertEquals(now, EvictionPolicy.effectiveAccessTime(chk, now));
+      EvictionPolicy.unpin(fr);
+      assertEquals(now, EvictionPolicy.effectiveAccessTime(chk, now)); // Still pinned once
+      EvictionPolicy.unpin(fr);
+      assertEquals(0, EvictionPolicy.effectiveAccessTime(chk, now));
+    } finally {
+      v.remove();
+    }
+  }
+
+  @Test public void testForcedCleanEvictsPinned() throws InterruptedException {
+    Vec vcon = Vec.makeCon(0, 1000);
+    Vec v = vcon.makeRand(0x123456L), u = vcon.makeRand(0x654321L);
+    vcon.remove();
+    Frame fr = new Frame(v);
+    boolean cleaner = H2O.ARGS.cleaner;
+    EvictionPolicy.pin(fr);
+    try {
+      long ago = System.currentTimeMillis() - 1000L * 1000L;
+      Value chk = v.chunkIdx(0), old = u.chunkIdx(0);
+      chk.touchAt(ago);
+      old.touchAt(ago);
+      // Pinned Chunks survive as long as tossing older Values is enough...
+      Cleaner.Histo h = new Cleaner.Histo(ago - 1);
+      long pinned = EvictionPolicy.effectiveAccessTime(chk, h._when);
+      assertTrue(EvictionPolicy.effectiveAccessTime(old, h._when) <= h.clean_to(h._cached));
+      assertTrue(pinned > h.clean_to(h._cached));
+      // ...but not once everything has to go
+      assertTrue(pinned <= h.clean_to(0));
+
+      H2O.ARGS.cleaner = true;
+      synchronized( Cleaner.THE_CLEANER ) {
+        Cleaner.DESIRED = -1;   // Force everything out
+        Cleaner.dirty_store(ago);
+        Cleaner.kick_store_cleaner();
+        Cleaner.block_for_test();
+      }
+      assertTrue(chk.isPersisted());
+      assertNull(chk.rawMem());
+      assertFalse(Double.isNaN(v.at(0))); // Reloads from the swap
+    } finally {
+      H2O.ARGS.cleaner = cleaner;
+      EvictionPolicy.unpin(fr);
+      v.remove();
+      u.remove();
+    }
+  }
+}
@@ -0,0 +1,64 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class MRTaskAdmissionTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testBoundedWait() {
+    long all = MemoryManager._taskMem.get();
+    assertTrue(MemoryManager.tryReserveTaskMem(all));
+    try {
+      long start = System.currentTimeMillis();
+      assertFalse(MemoryManager.reserveTaskMem(1, 200));
+      assertTrue(System.currentTimeMillis() - start >= 200);
+    } finally {
+      MemoryManager.freeTaskMem(all);
+    }
+    assertTrue(MemoryManager.reserveTaskMem(1, 200));
+    MemoryManager.freeTaskMem(1);
+  }
+
+  private static class Sum extends MRTask<Sum> {
+    long _n;
+    @Override protected long memoryPerNode() { return 1 << 20; }
+    @Override protected long memoryPerChunk() { return 1 << 10; }
+    @Override public void map(Chunk c) { _n += c._len; }
+    @Override public void reduce(Sum s) { _n += s._n; }
+  }
+
+  @Test public void testReservationsReleased() {
+    Vec v = Vec.makeCon(1, 100000);
+    try {
+      long before = MemoryManager._taskMem.get();
+      assertEquals(v.length(), new Sum().doAll(v)._n);
+      assertEquals(before, MemoryManager._taskMem.get());
+    } finally {
+      v.remove();
+    }
+  }
+
+  // Declares more than any node has: runs without holding the task pool
+  private static class Huge extends MRTask<Huge> {
+    long _minFree = Long.MAX_VALUE;
+    @Override protected long memoryPerNode() { return Long.MAX_VALUE; }
+    @Override public void map(Chunk c) { _minFree = Math.min(_minFree, MemoryManager._taskMem.get()); }
+    @Override public void reduce(Huge h) { _minFree = Math.min(_minFree, h._minFree); }
+  }
+
+  @Test public void testOversizedDeclaration() {
+    Vec v = Vec.makeCon(1, 100000);
+    try {
+      long before = MemoryManager._taskMem.get();
+      assertEquals(before, new Huge().doAll(v)._minFree);
+      assertEquals(before, MemoryManager._taskMem.get());
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package water;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.fvec.Chunk;
+import water.fvec.Vec;
+
+import static org.junit.Assert.*;
+
+public class MRTaskReadAheadTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // Swap a Value out the way the Cleaner does
+  private static Value swapOut(Key k) throws Exception {
+    Value val = DKV.get(k);
+    val.storePersist();
+    val.freePOJO();
+    val.freeMem();
+    assertNull(val.rawMem());
+    return val;
+  }
+
+  @Test public void testValueReadAhead() throws Exception {
+    Vec v = Vec.makeCon(3, 1000);
+    try {
+      Value val = swapOut(v.chunkKey(0));
+      int count = val._accessCount;
+      assertTrue(val.readAhead());
+      assertNotNull(val.rawMem());
+      assertEquals(count, val._accessCount); // Read-ahead is not an access
+      assertFalse(val.readAhead());          // Already loaded
+    } finally {
+      v.remove();
+    }
+  }
+
+  private static class Sum extends MRTask<Sum> {
+    double _sum;
+    @Override public void map(Chunk c) { for( int i = 0; i < c._len; i++ ) _sum += c.atd(i); }
+    @Override public void reduce(Sum s) { _sum += s._sum; }
+  }
+
+  @Test public void testSwappedChunks() throws Exception {
+    Vec v = Vec.makeCon(3, 100000);
+    try {
+      for( int i = 0; i < v.nChunks(); i++ ) swapOut(v.chunkKey(i));
+      assertEquals(3.0 * v.length(), new Sum().doAll(v)._sum, 0);
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+
+public class CNBChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static long[] vals(long base, int bits, int n) {
+    long[] vals = new long[n];
+    long span = (1L << bits) - 2; // Leave the all-ones code for NA
+    for (int i = 0; i < n; ++i) vals[i] = base + (i * 7919L) % (span + 1);
+    vals[1] = base;
+    vals[2] = base + span;
+    return vals;
+  }
+
+  @Test public void test_inflate_impl() {
+    for (long base : new long[]{-3, 0, 1500000000000000000L})
+      for (int bits : new int[]{11, 23, 45}) {
+        long[] vals = vals(base, bits, 1000);
+        for (int l = 0; l < 2; ++l) {
+          NewChunk nc = new NewChunk(null, 0);
+          if (l == 1) nc.addNA();
+          for (long v : vals) nc.addNum(v, 0);
+          nc.addNA();
+          Chunk cc = nc.compress();
+          String msg = "base=" + base + ", bits=" + bits;
+          Assert.assertTrue(msg + ": " + cc.getClass(), cc instanceof CNBChunk);
+          Assert.assertEquals(CNBChunk.computeByteSize(bits, vals.length + 1 + l), cc._mem.length);
+          check(cc, vals, l);
+          check(IcedUtils.deepCopy(cc), vals, l);
+
+          Chunk cc2 = cc.extractRows(new NewChunk(null, 0), 0, cc._len).compress();
+          Assert.assertTrue(cc2 instanceof CNBChunk);
+          Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+
+          // Writes in the span fit, others inflate
+          Assert.assertTrue(cc.set_impl(l, base + 1));
+          Assert.assertEquals(base + 1, cc.at8(l));
+          Assert.assertEquals(vals[1], cc.at8(l + 1));
+          Assert.assertFalse(cc.set_impl(l, base - 1));
+          Assert.assertFalse(cc.set_impl(l, Long.MAX_VALUE)); // Wraps around above a negative base
+          Assert.assertFalse(cc.set_impl(l, Long.MIN_VALUE));
+          Assert.assertFalse(cc.set_impl(l, base + (1L << bits) - 1)); // NA code
+          Assert.assertTrue(cc.setNA_impl(l));
+          Assert.assertTrue(cc.isNA(l));
+        }
+      }
+  }
+
+  private static void check(Chunk cc, long[] vals, int l) {
+    Assert.assertEquals(vals.length + 1 + l, cc._len);
+    Assert.assertFalse(cc.hasFloat());
+    if (l == 1) Assert.assertTrue(cc.isNA(0));
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], cc.at8(l + i));
+    Assert.assertTrue(cc.isNA(vals.length + l));
+    double[] ds = cc.getDoubles(new double[cc._len], 0, cc._len, -1);
+    if (l == 1) Assert.assertEquals(-1, ds[0], 0);
+    for (int i = 0; i < vals.length; ++i) Assert.assertEquals(vals[i], ds[l + i], 0);
+    Assert.assertEquals(-1, ds[vals.length + l], 0);
+    if (Math.abs(vals[0]) < Integer.MAX_VALUE && (int) vals[2] == vals[2]) {
+      int[] is = cc.getIntegers(new int[10], 5, 15, Integer.MIN_VALUE);
+      for (int i = 0; i < is.length; ++i) Assert.assertEquals(vals[5 + i - l], is[i]);
+    }
+  }
+
+  @Test public void test_byte_aligned_spans() {
+    // Spans that need all of a byte or short stay in the byte-aligned chunks
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < 1000; ++i) nc.addNum(i % 256, 0);
+    Assert.assertTrue(nc.compress() instanceof C1NChunk);
+    nc = new NewChunk(null, 0);
+    for (int i = 0; i < 1000; ++i) nc.addNum((i * 61) % 65535 - 32767, 0);
+    Assert.assertTrue(nc.compress() instanceof C2Chunk);
+    // Small categoricals stay in bytes, unless only 8-byte rows could hold the base
+    nc = new NewChunk(null, 0);
+    for (int i = 0; i < 1000; ++i) nc.addNum(i % 5, 0);
+    Assert.assertTrue(nc.compress() instanceof C1NChunk);
+    nc = new NewChunk(null, 0);
+    for (int i = 0; i < 1000; ++i) nc.addNum(Long.MIN_VALUE / 2 + i % 5, 0);
+    Assert.assertTrue(nc.compress() instanceof CNBChunk);
+  }
+}
@@ -0,0 +1,87 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+
+public class CRLEChunkTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  // Runs of 1000 rows: NA, 0, 7, 7000000000
+  private static long expected(int i) {
+    switch (i / 1000) {
+      case 0: return Long.MIN_VALUE;
+      case 1: return 0;
+      case 2: return 7;
+      default: return 7000000000L;
+    }
+  }
+
+  @Test public void test_inflate_impl_longs() {
+    NewChunk nc = new NewChunk(null, 0);
+    for (int i = 0; i < 4000; ++i)
+      if (expected(i) == Long.MIN_VALUE) nc.addNA();
+      else nc.addNum(expected(i), 0);
+    Chunk cc = nc.compress();
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    Assert.assertFalse(cc.hasFloat());
+    Assert.assertEquals(CRLEChunk.computeByteSize(4), cc._mem.length);
+    check(cc);
+    check(IcedUtils.deepCopy(cc));
+    // Random access, both directions
+    for (int i = 3999; i >= 0; i -= 7) Assert.assertEquals(expected(i) == Long.MIN_VALUE, cc.isNA(i));
+    Assert.assertEquals(7, cc.at8(2500));
+
+    // Writing the current value fits; anything else inflates
+    Assert.assertTrue(cc.set_impl(2500, 7L));
+    Assert.assertFalse(cc.set_impl(2500, 8L));
+
+    nc = cc.extractRows(new NewChunk(null, 0), 0, cc._len);
+    Chunk cc2 = nc.compress();
+    Assert.assertTrue(cc2 instanceof CRLEChunk);
+    Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
+  }
+
+  private static void check(Chunk cc) {
+    Assert.assertEquals(4000, cc._len);
+    for (int i = 0; i < 4000; ++i) {
+      long l = expected(i);
+      if (l == Long.MIN_VALUE) Assert.assertTrue(cc.isNA(i));
+      else Assert.assertEquals(l, cc.at8(i));
+    }
+    double[] ds = cc.getDoubles(new double[1500], 500, 2000, -1);
+    for (int i = 0; i < ds.length; ++i)
+      Assert.assertEquals(i < 500 ? -1 : 0, ds[i], 0);
+    NewChunk nc = cc.extractRows(new NewChunk(null, 0), new int[]{0, 1500, 3999});
+    Assert.assertTrue(nc.isNA(0));
+    Assert.assertEquals(0, nc.at8(1));
+    Assert.assertEquals(7000000000L, nc.at8(2));
+  }
+
+  @Test public void test_doubles() {
+    NewChunk nc = new NewChunk(null, 0);
+    double[] vals = new double[]{Math.PI, Double.NaN, -0.5e-300, Math.E};
+    for (double v : vals)
+      for (int i = 0; i < 300; ++i) nc.addNum(v);
+    for (int i = 0; i < 300; ++i) nc.addNum(vals[i % 4]);
+    Chunk cc = nc.compress();
+    Assert.assertFalse(cc instanceof CRLEChunk); // Too many runs, but few uniques
+    Assert.assertTrue(cc instanceof CUDChunk);
+
+    nc = new NewChunk(null, 0);
+    for (double v : vals)
+      for (int i = 0; i < 300; ++i) nc.addNum(v);
+    cc = nc.compress();
+    Assert.assertTrue(cc instanceof CRLEChunk);
+    Assert.assertTrue(cc.hasFloat());
+    for (int i = 0; i < cc._len; ++i) Assert.assertEquals(vals[i / 300], cc.atd(i), 0);
+    Assert.assertTrue(cc.isNA(300));
+    Assert.assertEquals(3, cc.at8(299));
+    double[] ds = cc.getDoubles(new double[cc._len], 0, cc._len, 0);
+    for (int i = 0; i < ds.length; ++i) Assert.assertEquals(i / 300 == 1 ? 0 : vals[i / 300], ds[i], 0);
+  }
+}
@@ -76,4 +76,29 @@ public class CUDChunkTest extends TestUtil {
     Assert.assertTrue(cc2.isNA_abs(vals.length));
     Assert.assertTrue(Arrays.equals(cc._mem, cc2._mem));
   }
+  @Test
+  public void test_packed_codes() {
+    // 1, 2 and 4 bits per row
+    for (int uniques : new int[]{2, 3, 16}) {
+      NewChunk nc = new NewChunk(null, 0);
+      for (int i = 0; i < 1001; ++i) nc.addNum(i % uniques == 0 ? Double.NaN : 0.25 * (i % uniques));
+      Chunk cc = nc.compress();
+      Assert.assertTrue(cc instanceof CUDChunk);
+      Assert.assertEquals(CUDChunk.computeByteSize(uniques, 1001), cc._mem.length);
+      Chunk cc2 = IcedUtils.deepCopy(cc);
+      for (Chunk c : new Chunk[]{cc, cc2})
+        for (int i = 0; i < 1001; ++i)
+          if (i % uniques == 0) Assert.assertTrue(c.isNA(i));
+          else Assert.assertEquals(0.25 * (i % uniques), c.atd(i), 0);
+      double[] ds = cc.getDoubles(new double[10], 990, 1000, -1);
+      for (int i = 0; i < ds.length; ++i)
+        Assert.assertEquals((990 + i) % uniques == 0 ? -1 : 0.25 * ((990 + i) % uniques), ds[i], 0);
+      // Overwrite with another one of the uniques, neighbours unchanged
+      Assert.assertTrue(cc.set_impl(500, 0.25));
+      Assert.assertEquals(0.25, cc.atd(500), 0);
+      Assert.assertEquals(499 % uniques == 0 ? Double.NaN : 0.25 * (499 % uniques), cc.atd(499), 0);
+      Assert.assertEquals(501 % uniques == 0 ? Double.NaN : 0.25 * (501 % uniques), cc.atd(501), 0);
+      Assert.assertFalse(cc.set_impl(500, 0.3));
+    }
+  }
 }
@@ -191,6 +191,27 @@ public class NewChunkTest extends TestUtil {
   }
 
 
+  @Test public void testAddNums(){
+    long[] vals = new long[]{0, 3, -7, Long.MAX_VALUE >> 16, 0, 42};
+    boolean[] isNA = new boolean[]{false, false, true, false, false, false};
+    NewChunk bulk = new NewChunk(null, 0);
+    NewChunk single = new NewChunk(null, 0);
+    bulk.addNum(5, 0);
+    single.addNum(5, 0);
+    bulk.addNums(vals, isNA, 1, vals.length - 1);
+    bulk.addNums(vals, null, 0, vals.length);
+    for (int i = 1; i < vals.length; ++i)
+      if (isNA[i]) single.addNA(); else single.addNum(vals[i], 0);
+    for (long v : vals)
+      single.addNum(v, 0);
+    assertEquals(single._len, bulk._len);
+    Chunk b = bulk.compress(), s = single.compress();
+    for (int i = 0; i < s._len; ++i) {
+      assertEquals(s.isNA(i), b.isNA(i));
+      if (!s.isNA(i)) assertEquals(s.at8(i), b.at8(i));
+    }
+  }
+
   @Test public void testSparseDoubles2(){
     NewChunk nc = new NewChunk(null, 0, false);
     int N = 1000;
@@ -545,6 +566,25 @@ public class NewChunkTest extends TestUtil {
     } finally { remove(); }
   }
 
+  // Level 0 is not stored in sparse chunks, but still makes the chunk categorical
+  @Test public void testSparseCatZeros() {
+    try {
+      av = new AppendableVec(Vec.newKey(), Vec.T_CAT);
+      nc = new NewChunk(av, 0, true);
+      for (int k = 0; k < K; ++k) nc.addCategorical(0);
+      assertTrue(nc.isSparseZero());
+      assertEquals(Vec.T_CAT, nc.type());
+
+      nc = new NewChunk(av, 0, true);
+      for (int k = 0; k < 1000; ++k) nc.addCategorical(k % 100 == 99 ? 1 : 0);
+      assertTrue(nc.isSparseZero());
+      assertEquals(Vec.T_CAT, nc.type());
+      post();
+      assertTrue(cc.isSparseZero());
+      for (int k = 0; k < 1000; ++k) Assert.assertTrue(!cc.isNA(k) && cc.at8(k) == (k % 100 == 99 ? 1 : 0));
+    } finally { remove(); }
+  }
+
   @Test public void testSetStrNull() {
     try {
       av = new AppendableVec(Vec.newKey(), Vec.T_STR);
@@ -0,0 +1,77 @@
+package water.fvec;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+
+public class RowBatchTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static Chunk[] chunks(int n) {
+    Chunk[] cs = new Chunk[4];
+    NewChunk[] ncs = new NewChunk[cs.length];
+    for (int c = 0; c < cs.length; ++c) ncs[c] = new NewChunk(null, 0);
+    for (int i = 0; i < n; ++i) {
+      if (i % 97 == 0) ncs[0].addNA(); else ncs[0].addNum(i % 100, 0); // C1
+      ncs[1].addNum(i == 17 ? 1 : 0, 0);                                 // Sparse
+      ncs[2].addNum(i * 0.25);                                           // Doubles
+      if (i % 13 == 0) ncs[3].addNA(); else ncs[3].addNum(i / 100, 0);   // Runs
+    }
+    for (int c = 0; c < cs.length; ++c) cs[c] = ncs[c].compress();
+    return cs;
+  }
+
+  @Test public void test_blocks() {
+    Chunk[] cs = chunks(5000);
+    RowBatch b = new RowBatch(cs, null, 300);
+    for (int r = 0; r < cs[0]._len; ++r) {
+      b.load(r);
+      Assert.assertTrue(b.from() <= r && r < b.to());
+      for (int c = 0; c < cs.length; ++c) {
+        Assert.assertEquals(cs[c].isNA(r), b.isNA(c, r));
+        Assert.assertEquals(cs[c].atd(r), b.atd(c, r), 0);
+        if (!cs[c].isNA(r)) Assert.assertEquals(cs[c].at8(r), b.at8(c, r));
+      }
+    }
+    Assert.assertEquals(5000, b.to());
+  }
+
+  @Test public void test_cols() {
+    Chunk[] cs = chunks(1000);
+    RowBatch b = new RowBatch(cs, new int[]{3, 1}, RowBatch.DEFAULT_BLOCK);
+    Assert.assertTrue(b.decodes(1));
+    Assert.assertTrue(b.decodes(3));
+    Assert.assertFalse(b.decodes(0));
+    Assert.assertFalse(b.decodes(2));
+    for (int r = 999; r >= 0; --r) { // Out of order loads decode from r on
+      b.load(r);
+      Assert.assertEquals(cs[1].atd(r), b.atd(1, r), 0);
+      Assert.assertEquals(cs[3].atd(r), b.atd(3, r), 0);
+    }
+  }
+
+  @Test public void test_at8_beyond_doubles() {
+    NewChunk nc = new NewChunk(null, 0);
+    long big = (1L << 60) + 1; // Rounds to 2^60 as a double
+    for (int i = 0; i < 100; ++i) nc.addNum(big + i, 0);
+    Chunk[] cs = new Chunk[]{nc.compress()};
+    RowBatch b = new RowBatch(cs);
+    b.load(0);
+    for (int i = 0; i < 100; ++i) Assert.assertEquals(big + i, b.at8(0, i));
+  }
+
+  @Test public void test_own_writes() {
+    Vec v = Vec.makeVec(new double[]{1, 2, 3, 4, 5}, Vec.newKey());
+    try {
+      Chunk c = v.chunkForChunkIdx(0);
+      c.set(2, 0.5); // Does not fit the integer chunk; inflates into chk2
+      RowBatch b = new RowBatch(new Chunk[]{c});
+      b.load(0);
+      Assert.assertEquals(0.5, b.atd(0, 2), 0);
+      Assert.assertEquals(5, b.atd(0, 4), 0);
+    } finally {
+      v.remove();
+    }
+  }
+}
@@ -5,6 +5,7 @@ import org.junit.*;
 
 import java.util.Random;
 import water.Futures;
+import water.MRTask;
 import water.TestUtil;
 import water.Key;
 
@@ -56,6 +57,47 @@ public class VecStatsTest extends TestUtil {
     }
   }
 
+  @Test public void testIncremental() {
+    Futures fs = new Futures();
+    AppendableVec av = new AppendableVec(Vec.newKey(), Vec.T_NUM);
+    for( int c = 0; c < 4; c++ ) {
+      NewChunk chunk = new NewChunk(av, c);
+      for( int r = 0; r < 1000; r++ )
+        chunk.addNum(c * 1000 + r);
+      chunk.close(c, fs);
+    }
+    Vec v = av.layout_and_close(fs);
+    fs.blockForPending();
+    try {
+      assertEquals(1999.5, v.mean(), 1e-9);
+      // Partial rollups are cached with the unchanged chunks
+      for( int c = 0; c < 4; c++ )
+        assertTrue(v.chunkIdx(c).derived() instanceof RollupStats);
+      double[] qs = v.approxPctiles(0, 0.5, 1);
+      assertEquals(0, qs[0], 0);
+      assertEquals(2000, qs[1], 4000 * 0.02);
+      assertEquals(3999, qs[2], 0);
+
+      // Write one chunk; only it loses its partial rollups
+      new MRTask() {
+        @Override public void map(Chunk c) {
+          if( c.cidx() == 2 ) for( int r = 0; r < c._len; r++ ) c.set(r, -1);
+        }
+      }.doAll(v);
+      assertNull(v.chunkIdx(2).derived());
+      assertNotNull(v.chunkIdx(1).derived());
+      double sum = 0;
+      for( long r = 0; r < v.length(); r++ ) sum += v.at(r);
+      assertEquals(sum / v.length(), v.mean(), 1e-9);
+      assertEquals(-1, v.min(), 0);
+      assertEquals(3999, v.max(), 0);
+      assertEquals(3999, v.nzCnt()); // Row 0 is the only zero
+      assertEquals(-1, v.approxPctiles(0)[0], 0);
+    } finally {
+      v.remove();
+    }
+  }
+
   @Test public void testPCTiles() {
     // Simplified version of tests in runit_quantile_1_golden.R. There we test probs=seq(0,1,by=0.01)
     Vec vec = vec(5 , 8 ,  9 , 12 , 13 , 16 , 18 , 23 , 27 , 28 , 30 , 31 , 33 , 34 , 43,  45,  48, 161);
@@ -0,0 +1,98 @@
+package water.fvec;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.DKV;
+import water.Futures;
+import water.Key;
+import water.MRTask;
+import water.TestUtil;
+import water.rapids.Rapids;
+import water.rapids.ast.prims.operators.AstBinOp;
+
+import static org.junit.Assert.*;
+
+public class ZoneMapTest extends TestUtil {
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  // Chunk 0: 0..999; chunk 1: 1000..1999 with NAs; chunk 2: all NAs; chunk 3: -inf and 5
+  private static Frame frame() {
+    Futures fs = new Futures();
+    AppendableVec av = new AppendableVec(Vec.newKey(), Vec.T_NUM);
+    for (int c = 0; c < 4; c++) {
+      NewChunk nc = new NewChunk(av, c);
+      for (int r = 0; r < 1000; r++) {
+        if (c == 2 || (c == 1 && r % 10 == 0)) nc.addNA();
+        else if (c == 3) nc.addNum(r == 0 ? Double.NEGATIVE_INFINITY : 5);
+        else nc.addNum(c * 1000 + r);
+      }
+      nc.close(c, fs);
+    }
+    Vec v = av.layout_and_close(fs);
+    fs.blockForPending();
+    Frame fr = new Frame(Key.<Frame>make(), new String[]{"t"}, new Vec[]{v});
+    DKV.put(fr);
+    return fr;
+  }
+
+  @Test public void testZones() {
+    Frame fr = frame();
+    try {
+      Vec v = fr.anyVec();
+      assertNull(v.zoneMap()); // Not computed by asking
+      v.min();
+      ZoneMap zm = v.zoneMap();
+      assertEquals(4, zm.nChunks());
+      assertEquals(0, zm.min(0), 0);
+      assertEquals(999, zm.max(0), 0);
+      assertEquals(0, zm.naCnt(0));
+      assertEquals(1001, zm.min(1), 0);
+      assertEquals(1999, zm.max(1), 0);
+      assertEquals(100, zm.naCnt(1));
+      assertTrue(zm.isEmpty(2));
+      assertEquals(1000, zm.naCnt(2));
+      assertEquals(Double.NEGATIVE_INFINITY, zm.min(3), 0);
+      assertEquals(5, zm.max(3), 0);
+
+      // Writes drop the zone map along with the rollups
+      new MRTask() {
+        @Override public void map(Chunk c) { if (c.cidx() == 0) c.set(0, -1); }
+      }.doAll(v);
+      assertNull(v.zoneMap());
+      assertEquals(-1, v.min(), 0);
+      assertEquals(-1, v.zoneMap().min(0), 0);
+    } finally {
+      fr.delete();
+    }
+  }
+
+  @Test public void testFilters() {
+    Frame fr = frame();
+    Frame gt = null, sel = null;
+    try {
+      fr.anyVec().min();
+      long skipped = AstBinOp.zoneSkippedChunks(), scanned = AstBinOp.zoneScannedChunks();
+      gt = Rapids.exec("(> " + fr._key + " 1500)").getFrame();
+      Vec p = gt.anyVec();
+      for (long r = 0; r < fr.numRows(); r++) {
+        double d = fr.anyVec().at(r);
+        assertEquals("row " + r, d > 1500 ? 1 : 0, p.at(r), 0);
+      }
+      // Only chunk 1 straddles 1500 and is scanned; the others, the all-NA
+      // one included, are answered from the zone map
+      assertEquals(3, AstBinOp.zoneSkippedChunks() - skipped);
+      assertEquals(1, AstBinOp.zoneScannedChunks() - scanned);
+
+      sel = Rapids.exec("(rows " + fr._key + " (> " + fr._key + " 1500))").getFrame();
+      for (long r = 0; r < sel.numRows(); r++)
+        assertTrue(sel.anyVec().at(r) > 1500);
+      long n = 0; // 1501..1999 less the NAs
+      for (int r = 1501; r < 2000; r++) if (r % 10 != 0) n++;
+      assertEquals(n, sel.numRows());
+    } finally {
+      fr.delete();
+      if (gt != null) gt.delete();
+      if (sel != null) sel.delete();
+    }
+  }
+}
@@ -256,4 +256,60 @@ public class CsvParserTest {
     assertEquals("Cumings, Mrs. John Bradley (Florence Briggs Thayer)", outWriter._data[2][3]);
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testFastPathMatchesStateMachine() {
+    String text = "1,2.5,-3\n" +
+            "-0.125,,7.\r\n" +
+            ".5,0012,\n" +
+            "\n" +
+            "123456789012345678,1234567890123456789,1e3\n" +
+            "1,\"2\",3\n" +
+            "4, 5,6\n" +
+            "-,+1,50%\n" +
+            "# comment\n" +
+            "7,x,9\n" +
+            "1.2.3,8,9"; // Last line has no line end
+    for (int chunk = 1; chunk < text.length(); chunk += 7)
+      assertEquals(parseLog(text, chunk, false), parseLog(text, chunk, true));
+  }
+
+  // Parse text split into chunks of the given size, logging the writer calls
+  private static String parseLog(String text, int chunkSize, boolean fastPath) {
+    ParseSetup parseSetup = new ParseSetup();
+    parseSetup._parse_type = DefaultParserProviders.CSV_INFO;
+    parseSetup._check_header = ParseSetup.NO_HEADER;
+    parseSetup._separator = ',';
+    parseSetup._number_columns = 3;
+    parseSetup._single_quotes = false;
+    byte[] bits = StringUtils.bytesOf(text);
+    final byte[][] chunks = new byte[(bits.length + chunkSize - 1) / chunkSize][];
+    for (int i = 0; i < chunks.length; i++)
+      chunks[i] = java.util.Arrays.copyOfRange(bits, i * chunkSize, Math.min(bits.length, (i + 1) * chunkSize));
+    ParseReader din = new ParseReader() {
+      @Override public byte[] getChunkData(int cidx) { return cidx < chunks.length ? chunks[cidx] : null; }
+      @Override public int getChunkDataStart(int cidx) { return -1; }
+      @Override public void setChunkDataStart(int cidx, int offset) { }
+      @Override public long getGlobalByteOffset() { return 0; }
+    };
+    StringBuilder sb = new StringBuilder();
+    for (int cidx = 0; cidx < chunks.length; cidx++) {
+      CsvParser csvParser = new CsvParser(parseSetup, null);
+      csvParser._fastPath = fastPath;
+      csvParser.parseChunk(cidx, din, new LoggingParseWriter(sb, parseSetup._number_columns));
+      sb.append('|');
+    }
+    return sb.toString();
+  }
+
+  private static class LoggingParseWriter extends PreviewParseWriter {
+    private final StringBuilder _sb;
+    LoggingParseWriter(StringBuilder sb, int ncols) { super(ncols); _sb = sb; }
+    @Override public void newLine() { _sb.append(";\n"); super.newLine(); }
+    @Override public void rollbackLine() { _sb.append("<rollback>"); super.rollbackLine(); }
+    @Override public void addNumCol(int colIdx, long number, int exp) { _sb.append(colIdx).append('=').append(number).append('e').append(exp).append(' '); super.addNumCol(colIdx, number, exp); }
+    @Override public void addNumCol(int colIdx, double d) { _sb.append(colIdx).append('=').append(d).append(' '); super.addNumCol(colIdx, d); }
+    @Override public void addInvalidCol(int colIdx) { _sb.append(colIdx).append("=NA "); super.addInvalidCol(colIdx); }
+    @Override public void addStrCol(int colIdx, BufferedString str) { _sb.append(colIdx).append("='").append(str).append("' "); super.addStrCol(colIdx, str); }
+  }
+
+}
@@ -0,0 +1,170 @@
+package water.parser;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import water.Key;
+import water.Scope;
+import water.TestUtil;
+import water.fvec.Frame;
+import water.fvec.NFSFileVec;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+
+public class DecompressAheadParseTest extends TestUtil {
+  @BeforeClass static public void setup() { stall_till_cloudsize(1); }
+
+  @Rule public TemporaryFolder tmp = new TemporaryFolder();
+
+  // Large enough to compress into several chunks of the raw file
+  private static byte[] csv() {
+    Random rng = new Random(0xDEC0);
+    StringBuilder sb = new StringBuilder("a,b,c,d\n");
+    for( int r = 0; r < 400000; r++ )
+      sb.append(rng.nextInt(1000)).append(',').append(rng.nextDouble()).append(',')
+        .append(rng.nextBoolean() ? "x" : "y").append(',').append(rng.nextGaussian()).append('\n');
+    return sb.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  private Frame parse(File f) {
+    NFSFileVec nfs = NFSFileVec.make(f);
+    return Scope.track(ParseDataset.parse(Key.make(), nfs._key));
+  }
+
+  private void check(File plain, File compressed) {
+    Frame expected = parse(plain);
+    NFSFileVec nfs = NFSFileVec.make(compressed);
+    assertTrue(nfs.nChunks() > 1);
+    Frame actual = parse(compressed);
+    assertEquals(expected.numRows(), actual.numRows());
+    assertArrayEquals(expected.vec(2).domain(), actual.vec(2).domain());
+    assertTrue(isBitIdentical(expected, actual));
+  }
+
+  @Test public void testGzip() throws IOException {
+    Scope.enter();
+    try {
+      byte[] bits = csv();
+      File plain = write("plain.csv", bits);
+      File gz = tmp.newFile("data.csv.gz");
+      try( OutputStream os = new GZIPOutputStream(new FileOutputStream(gz)) ) { os.write(bits); }
+      check(plain, gz);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  @Test public void testBGZF() throws IOException {
+    Scope.enter();
+    try {
+      byte[] bits = csv();
+      File plain = write("plain.csv", bits);
+      File bgz = writeBGZF("data.csv.bgz", bits);
+      byte[] head = new byte[16];
+      System.arraycopy(bgzfMember(new byte[0]), 0, head, 0, 16);
+      assertTrue(DecompressAheadParse.isBGZF(head));
+      check(plain, bgz);
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  // Many members per chunk: one block, and one output chunk, per chunk of the
+  // compressed file, also when the chunks of two files follow each other
+  @Test public void testBGZFChunkLayout() throws IOException {
+    Scope.enter();
+    try {
+      byte[] bits = csv();
+      File plain = write("plain.csv", bits);
+      File bgz = writeBGZF("data.csv.bgz", bits);
+      File bgz2 = writeBGZF("data2.csv.bgz", bits);
+      Frame expected = parse(plain);
+      long rows = expected.numRows();
+
+      NFSFileVec nfs = NFSFileVec.make(bgz);
+      int nchunks = nfs.nChunks();
+      assertTrue(nchunks > 1);
+      assertTrue(bits.length / 0xFF00 > 2 * nchunks);
+      Frame actual = parse(bgz);
+      assertEquals(rows, actual.numRows());
+      assertEquals(nchunks, actual.anyVec().nChunks());
+      assertTrue(nonEmptyChunks(actual) >= nchunks - 1); // The last chunk may hold no member start
+      assertTrue(isBitIdentical(expected, actual));
+
+      NFSFileVec nfs1 = NFSFileVec.make(bgz), nfs2 = NFSFileVec.make(bgz2);
+      int nchunks2 = nfs1.nChunks() + nfs2.nChunks();
+      Frame both = Scope.track(ParseDataset.parse(Key.make(), nfs1._key, nfs2._key));
+      assertEquals(2 * rows, both.numRows());
+      assertEquals(nchunks2, both.anyVec().nChunks());
+      assertTrue(nonEmptyChunks(both) >= nchunks2 - 2);
+      for( int i = 0; i < 10; i++ ) {
+        long r = i * (rows / 10);
+        assertEquals(expected.vec(1).at(r), both.vec(1).at(r), 0);
+        assertEquals(expected.vec(1).at(r), both.vec(1).at(rows + r), 0);
+      }
+    } finally {
+      Scope.exit();
+    }
+  }
+
+  private static int nonEmptyChunks(Frame fr) {
+    int n = 0;
+    for( int c = 0; c < fr.anyVec().nChunks(); c++ )
+      if( fr.anyVec().chunkForChunkIdx(c)._len > 0 ) n++;
+    return n;
+  }
+
+  private File writeBGZF(String name, byte[] bits) throws IOException {
+    File f = tmp.newFile(name);
+    try( OutputStream os = new FileOutputStream(f) ) {
+      for( int off = 0; off < bits.length; off += 0xFF00 )
+        os.write(bgzfMember(Arrays.copyOfRange(bits, off, Math.min(bits.length, off + 0xFF00))));
+      os.write(bgzfMember(new byte[0])); // EOF marker
+    }
+    return f;
+  }
+
+  private File write(String name, byte[] bits) throws IOException {
+    File f = tmp.newFile(name);
+    try( OutputStream os = new FileOutputStream(f) ) { os.write(bits); }
+    return f;
+  }
+
+  // One gzip member with the BGZF "BC" extra field holding its total size - 1
+  private static byte[] bgzfMember(byte[] data) {
+    Deflater def = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    def.setInput(data);
+    def.finish();
+    byte[] cdata = new byte[data.length + 1024];
+    int clen = 0;
+    while( !def.finished() ) clen += def.deflate(cdata, clen, cdata.length - clen);
+    def.end();
+    CRC32 crc = new CRC32();
+    crc.update(data);
+    int total = 18 + clen + 8;
+    byte[] m = new byte[total];
+    byte[] hdr = {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0};
+    System.arraycopy(hdr, 0, m, 0, hdr.length);
+    le(m, 16, total - 1, 2);
+    System.arraycopy(cdata, 0, m, 18, clen);
+    le(m, 18 + clen, crc.getValue(), 4);
+    le(m, 22 + clen, data.length, 4);
+    return m;
+  }
+
+  private static void le(byte[] b, int off, long v, int n) {
+    for( int i = 0; i < n; i++ ) b[off + i] = (byte) (v >>> (8 * i));
+  }
+}
@@ -33,6 +33,16 @@ public class PackedDomainsTest {
             packed);
   }
 
+  @Test
+  public void testUnion() throws Exception {
+    byte[] as = pack("zeta", "", "alpha");
+    byte[] bs = pack("beta", "alpha", "zeta", "gamma");
+    assertArrayEquals(new String[]{"zeta", "", "alpha", "beta", "gamma"}, unpackToStrings(union(as, bs)));
+    assertArrayEquals(new String[]{"beta", "alpha", "zeta", "gamma", ""}, unpackToStrings(union(bs, as)));
+    assertSame(as, union(as, pack("alpha", "zeta")));
+    assertArrayEquals(new String[]{"alpha"}, unpackToStrings(union(pack(), pack("alpha"))));
+  }
+
   @Test
   public void testPack1() throws Exception {
     BufferedString bs = new BufferedString("efabc");
@@ -40,6 +40,40 @@ public class ParserTest2 extends TestUtil {
     fr.delete();
   }
 
+  // Levels numbered in first seen order instead of sorted; the data fits a
+  // single chunk, so the order is reproducible, and the first level (code 0)
+  // leaves the chunk sparse
+  @Test public void testFirstSeenCategoricals() {
+    StringBuilder sb = new StringBuilder("n,cat\n");
+    for (int i = 0; i < 1000; ++i)
+      sb.append(i).append(',').append(firstSeenLevel(i)).append('\n');
+    String data = sb.toString();
+    ParseSetup ps = new ParseSetup(CSV_INFO, (byte)',', false, ParseSetup.HAS_HEADER, 2,
+            new String[]{"n", "cat"}, ParseSetup.strToColumnTypes(new String[]{"Numeric", "Enum"}), null, null, null);
+    Frame fr = null;
+    try {
+      fr = ParseDataset.parse(Key.make("first_seen.hex"), new Key[]{ParserTest.makeByteVec(data)}, true, ps.setCategoricalFirstSeen(true));
+      Vec v = fr.vec("cat");
+      Assert.assertTrue(v.isCategorical());
+      Assert.assertArrayEquals(new String[]{"z", "m", "b"}, v.domain());
+      Assert.assertTrue(v.chunkForChunkIdx(0).isSparseZero());
+      for (int i = 0; i < 1000; ++i)
+        Assert.assertEquals(firstSeenLevel(i), v.domain()[(int) v.at8(i)]);
+      fr.delete();
+      fr = null;
+
+      fr = ParseDataset.parse(Key.make("first_seen.hex"), new Key[]{ParserTest.makeByteVec(data)}, true, ps.setCategoricalFirstSeen(false));
+      v = fr.vec("cat");
+      Assert.assertArrayEquals(new String[]{"b", "m", "z"}, v.domain());
+      for (int i = 0; i < 1000; ++i)
+        Assert.assertEquals(firstSeenLevel(i), v.domain()[(int) v.at8(i)]);
+    } finally {
+      if (fr != null) fr.delete();
+    }
+  }
+
+  private static String firstSeenLevel(int i) { return i % 100 == 99 ? "b" : i % 100 == 50 ? "m" : "z"; }
+
   @Test public void testNAs() {
     String [] data = new String[]{
       "'C1Chunk',C1SChunk, 'C2Chunk', 'C2SChunk',  'C4Chunk',  'C4FChunk',  'C8Chunk',  'C8DChunk',   'Categorical'\n"  +
@@ -0,0 +1,47 @@
+package water.persist;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import water.Key;
+import water.TestUtil;
+import water.fvec.Vec;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class IcePackTest extends TestUtil {
+
+  @Rule
+  public TemporaryFolder tmpFolder = new TemporaryFolder();
+
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testStoreLoadDelete() throws IOException {
+    Key vecKey = Vec.newKey();
+    File f = new File(tmpFolder.getRoot(), "vec.pack");
+    IcePack pack = new IcePack(f);
+    byte[][] chunks = new byte[5][];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = new byte[100 * i + 7];
+      for (int j = 0; j < chunks[i].length; j++) chunks[i][j] = (byte) (i * 31 + j);
+      assertTrue(pack.store(Vec.chunkKey(vecKey, i), chunks[i]));
+      // Reads come from the mapping, interleaved with more appends past its end
+      for (int k = i; k >= 0; k--)
+        assertArrayEquals(chunks[k], pack.load(Vec.chunkKey(vecKey, k)));
+    }
+    assertNull(pack.load(Vec.chunkKey(vecKey, chunks.length)));
+
+    for (int i = 0; i < chunks.length - 1; i++)
+      assertFalse(pack.delete(Vec.chunkKey(vecKey, i)));
+    assertTrue(f.exists());
+    assertArrayEquals(chunks[chunks.length - 1], pack.load(Vec.chunkKey(vecKey, chunks.length - 1)));
+    // Last live chunk retires the pack and removes the file
+    assertTrue(pack.delete(Vec.chunkKey(vecKey, chunks.length - 1)));
+    assertFalse(f.exists());
+    assertFalse(pack.store(Vec.chunkKey(vecKey, 0), chunks[0]));
+  }
+}
@@ -0,0 +1,53 @@
+package water.persist;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.Key;
+import water.MemoryManager;
+import water.TestUtil;
+import water.Value;
+
+import static org.junit.Assert.*;
+
+public class OffHeapStoreTest extends TestUtil {
+
+  @BeforeClass public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testStoreLoadDelete() {
+    OffHeapStore store = new OffHeapStore(1 << 20);
+    long used = MemoryManager.offHeapUsed();
+    byte[] bytes = new byte[1000];
+    for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) (i * 31);
+    Value v = new Value(Key.make(), bytes.clone());
+    assertTrue(store.store(v, bytes));
+    assertEquals(used + bytes.length, MemoryManager.offHeapUsed());
+    byte[] loaded = store.load(v);
+    assertArrayEquals(bytes, loaded);
+    assertNotSame(bytes, loaded);
+
+    assertTrue(store.delete(v._key));
+    assertNull(store.load(v));
+    assertFalse(store.delete(v._key));
+    assertEquals(used, MemoryManager.offHeapUsed());
+  }
+
+  @Test public void testCleanUp() {
+    OffHeapStore store = new OffHeapStore(1 << 20);
+    long used = MemoryManager.offHeapUsed();
+    Value v1 = new Value(Key.make(), new byte[100]), v2 = new Value(Key.make(), new byte[200]);
+    assertTrue(store.store(v1, new byte[100]));
+    assertTrue(store.store(v2, new byte[200]));
+    assertEquals(used + 300, MemoryManager.offHeapUsed());
+    store.cleanUp();
+    assertEquals(used, MemoryManager.offHeapUsed());
+    assertNull(store.load(v1));
+    assertNull(store.load(v2));
+  }
+
+  @Test public void testBudget() {
+    OffHeapStore store = new OffHeapStore(100);
+    Value v = new Value(Key.make(), new byte[101]);
+    assertFalse(store.store(v, new byte[101]));
+    assertNull(store.load(v));
+  }
+}
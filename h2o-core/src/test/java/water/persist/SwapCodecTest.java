@@ -0,0 +1,35 @@
+package water.persist;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class SwapCodecTest {
+
+  @Test public void testDeflateRoundTrip() throws IOException {
+    SwapCodec codec = SwapCodec.get(SwapCodec.DEFLATE);
+    byte[] raw = new byte[1 << 16];
+    for (int i = 0; i < raw.length; i++) raw[i] = (byte) (i % 7); // Compressible
+    byte[] enc = codec.encode(raw);
+    assertNotNull(enc);
+    assertTrue(enc.length < raw.length);
+    assertArrayEquals(raw, codec.decode(enc, raw.length));
+  }
+
+  @Test public void testDeflateSkipsIncompressible() {
+    byte[] raw = new byte[1 << 12];
+    new Random(0xDECAF).nextBytes(raw);
+    assertNull(SwapCodec.get(SwapCodec.DEFLATE).encode(raw));
+    assertNull(SwapCodec.get(SwapCodec.DEFLATE).encode(new byte[0]));
+  }
+
+  @Test(expected = IOException.class)
+  public void testDeflateDetectsTruncation() throws IOException {
+    SwapCodec codec = SwapCodec.get(SwapCodec.DEFLATE);
+    byte[] enc = codec.encode(new byte[1000]);
+    codec.decode(enc, 2000);
+  }
+}
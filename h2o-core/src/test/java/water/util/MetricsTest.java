@@ -0,0 +1,51 @@
+package water.util;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.TestUtil;
+
+import static org.junit.Assert.*;
+
+public class MetricsTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  @Test public void testBuckets() {
+    for (long ns : new long[]{0, 1, 7, 8, 15, 16, 17, 1000, 123456789L, Long.MAX_VALUE}) {
+      int b = Metrics.Timer.bucket(ns);
+      assertTrue("ns=" + ns, ns <= Metrics.Timer.bucketMax(b));
+      assertTrue("ns=" + ns, b == 0 || ns > Metrics.Timer.bucketMax(b - 1));
+    }
+  }
+
+  @Test public void testTimer() {
+    Metrics.Timer t = Metrics.timer("test_timer_seconds", "Test timer");
+    for (int i = 1; i <= 1000; i++) t.record(i * 1000L);
+    assertEquals(1000, t.count());
+    assertEquals(1000L * 1001 / 2 * 1000, t.sum());
+    assertEquals(1000000, t.max());
+    long[] qs = t.quantiles(0.5, 0.99);
+    assertEquals(500000, qs[0], 500000 / 8);
+    assertEquals(990000, qs[1], 990000 / 8);
+    assertSame(t, Metrics.timer("test_timer_seconds", "Test timer"));
+  }
+
+  @Test public void testCounterAndPrometheus() throws Exception {
+    final Metrics.Counter c = Metrics.counter("test_counter_total", "Test counter");
+    Thread[] ts = new Thread[4];
+    for (int i = 0; i < ts.length; i++) {
+      ts[i] = new Thread() {
+        @Override public void run() { for (int j = 0; j < 10000; j++) c.inc(); }
+      };
+      ts[i].start();
+    }
+    for (Thread t : ts) t.join();
+    assertEquals(40000, c.get());
+
+    WaterMeterMetrics wm = new WaterMeterMetrics();
+    wm.doIt(true);
+    String text = wm.toPrometheus();
+    assertTrue(text.contains("# TYPE h2o_test_counter_total counter"));
+    assertTrue(text.contains("h2o_test_counter_total{node=\""));
+    assertTrue(text.contains("# TYPE h2o_fj_queue_depth gauge"));
+  }
+}
@@ -0,0 +1,66 @@
+package water.util;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import water.IcedUtils;
+import water.TestUtil;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class QuantileSketchTest extends TestUtil {
+  @BeforeClass() public static void setup() { stall_till_cloudsize(1); }
+
+  private static void checkRanks(double[] sorted, QuantileSketch qs, double eps) {
+    double[] probs = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+    double[] res = qs.quantiles(probs);
+    assertEquals(sorted[0], res[0], 0);
+    assertEquals(sorted[sorted.length - 1], res[probs.length - 1], 0);
+    for (int i = 0; i < probs.length; i++) {
+      // Rank of the answer must be within eps*n of the asked rank
+      int lo = Arrays.binarySearch(sorted, res[i]);
+      assertTrue(lo >= 0);
+      double rank = (double) lo / sorted.length;
+      assertEquals("p=" + probs[i], probs[i], rank, eps);
+    }
+  }
+
+  @Test public void testStream() {
+    Random rng = new Random(42);
+    double[] vals = new double[200000];
+    QuantileSketch qs = new QuantileSketch();
+    for (int i = 0; i < vals.length; i++) qs.add(vals[i] = rng.nextGaussian());
+    assertEquals(vals.length, qs.count());
+    Arrays.sort(vals);
+    checkRanks(vals, qs, 0.02);
+    checkRanks(vals, IcedUtils.deepCopy(qs), 0.02);
+  }
+
+  @Test public void testMerge() {
+    Random rng = new Random(7);
+    double[] vals = new double[100000];
+    QuantileSketch all = new QuantileSketch();
+    for (int part = 0; part < 50; part++) {
+      QuantileSketch qs = new QuantileSketch();
+      for (int i = part * 2000; i < (part + 1) * 2000; i++) qs.add(vals[i] = rng.nextDouble() * (part + 1));
+      all.merge(qs);
+    }
+    assertEquals(vals.length, all.count());
+    Arrays.sort(vals);
+    checkRanks(vals, all, 0.02);
+  }
+
+  @Test public void testCounts() {
+    QuantileSketch qs = new QuantileSketch();
+    qs.add(0, 900);
+    qs.add(1, 100);
+    assertEquals(1000, qs.count());
+    double[] res = qs.quantiles(0.5, 0.85, 0.95);
+    assertEquals(0, res[0], 0);
+    assertEquals(0, res[1], 0);
+    assertEquals(1, res[2], 0);
+    assertTrue(Double.isNaN(new QuantileSketch().quantiles(0.5)[0]));
+  }
+}
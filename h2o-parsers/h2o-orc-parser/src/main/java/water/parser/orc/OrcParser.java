@@ -2,9 +2,14 @@ package water.parser.orc;
 
 import org.apache.hadoop.hive.common.type.HiveDecimal;
 import org.apache.hadoop.hive.ql.exec.vector.*;
+import org.apache.hadoop.hive.ql.io.orc.ColumnStatistics;
+import org.apache.hadoop.hive.ql.io.orc.DecimalColumnStatistics;
+import org.apache.hadoop.hive.ql.io.orc.DoubleColumnStatistics;
+import org.apache.hadoop.hive.ql.io.orc.IntegerColumnStatistics;
 import org.apache.hadoop.hive.ql.io.orc.Reader;
 import org.apache.hadoop.hive.ql.io.orc.RecordReader;
 import org.apache.hadoop.hive.ql.io.orc.StripeInformation;
+import org.apache.hadoop.hive.ql.io.orc.StripeStatistics;
 import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
 import org.apache.hadoop.hive.serde2.objectinspector.*;
 import org.joda.time.DateTime;
@@ -16,6 +21,7 @@ import water.Key;
 import water.fvec.Vec;
 import water.parser.*;
 import water.util.ArrayUtils;
+import water.util.Log;
 import water.util.StringUtils;
 
 import java.io.IOException;
@@ -47,6 +53,10 @@ import static water.parser.orc.OrcUtil.schemaToColumnType;
  */
 public class OrcParser extends Parser {
 
+  /** Write whole column vectors into the chunks, instead of value by value, when parsing into fluid vecs. */
+  static final boolean BULK = Boolean.parseBoolean(
+          System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.orc.bulk", "true"));
+
   /** Orc Info */
   private final Reader orcFileReader; // can generate all the other fields from this reader
   public static final int DAY_TO_MS = 24*3600*1000;
@@ -68,6 +78,15 @@ public class OrcParser extends Parser {
 
   private transient HashMap<Integer,HashMap<Number,byte[]>> _toStringMaps = new HashMap<>();
 
+  // bulk path: categorical codes of the numbers / strings of T_CAT columns, and scratch vectors
+  private transient HashMap<Integer,HashMap<Number,Integer>> _toCodeMaps = new HashMap<>();
+  private transient HashMap<Integer,DictionaryCodes> _dictionaryCodes = new HashMap<>();
+  private transient long[] _longs;
+  private transient double[] _doubles;
+  private transient final BufferedString _bs = new BufferedString();
+
+  private transient List<StripeStatistics> _stripeStats;
+
 
   @Override protected ParseWriter streamParse(final InputStream is, final StreamParseWriter dout) throws IOException {
     List<StripeInformation> stripesInfo = ((OrcParseSetup) this._setup).getStripes();
@@ -116,9 +135,12 @@ public class OrcParser extends Parser {
     // write one stripe of data to H2O frame
     String [] orcTypes = setup.getColumnTypesString();
     boolean[] toInclude = setup.getToInclude();
+    boolean bulk = BULK && dout instanceof FVecParseWriter;
     try {
+      if (!mayMatch(chunkId))
+        return dout; // no rows within the range filters
       RecordReader perStripe = orcFileReader.rows(thisStripe.getOffset(), thisStripe.getDataLength(),
-          setup.getToInclude(), null, setup.getColumnNames());
+          projection(), null, setup.getColumnNames());
       VectorizedRowBatch batch = null;
       long rows = 0;
       long rowCount = thisStripe.getNumberOfRows();
@@ -132,10 +154,10 @@ public class OrcParser extends Parser {
         int colIndex = 0;
         for (int col = 0; col < batch.numCols; ++col) {  // read one column at a time;
           if (toInclude[col + 1]) { // only write a column if we actually want it
-            if(_setup.getColumnTypes()[colIndex] != Vec.T_BAD)
+            if(_setup.getColumnTypes()[colIndex] != Vec.T_BAD &&
+                !(bulk && writeBulk(dataVectors[col], orcTypes[colIndex], colIndex, nrows, (FVecParseWriter) dout)))
               write1column(dataVectors[col], orcTypes[colIndex], colIndex, nrows, dout);
-            else dout.addNAs(col,nrows);
-            colIndex++;
+            colIndex++;   // T_BAD columns are not read, they are filled with NAs below
           }
         }
         rows  += currentBatchRow;    // record number of rows of data actually read
@@ -153,6 +175,245 @@ public class OrcParser extends Parser {
   }
 
 
+  /**
+   * The ORC columns to read: those included by the setup, less the columns parsed
+   * as all NAs (T_BAD), whose streams are then never read nor decompressed.
+   */
+  private boolean[] projection() {
+    boolean[] toInclude = ((OrcParseSetup) _setup).getToInclude();
+    byte[] types = _setup.getColumnTypes();
+    boolean[] res = toInclude.clone();
+    int colIndex = 0;
+    for (int id = 1; id < res.length && colIndex < types.length; id++)
+      if (toInclude[id] && types[colIndex++] == Vec.T_BAD)
+        res[id] = false;
+    return res;
+  }
+
+  /** ORC column id (in the flattened schema, 0 being the root struct) of each H2O column. */
+  private int[] orcColumnIds() {
+    boolean[] toInclude = ((OrcParseSetup) _setup).getToInclude();
+    int[] ids = new int[_setup.getColumnTypes().length];
+    int colIndex = 0;
+    for (int id = 1; id < toInclude.length && colIndex < ids.length; id++)
+      if (toInclude[id])
+        ids[colIndex++] = id;
+    return ids;
+  }
+
+  /**
+   * False if the statistics of the stripe show it holds no rows within the range
+   * filters of the setup.  Only numeric columns are filtered.
+   */
+  private boolean mayMatch(int stripe) throws IOException {
+    ParseSetup setup = _setup;
+    if (setup._filter_cols == null)
+      return true;
+    if (_stripeStats == null)
+      _stripeStats = orcFileReader.getMetadata().getStripeStatistics();
+    if (stripe >= _stripeStats.size())
+      return true;
+    ColumnStatistics[] stats = _stripeStats.get(stripe).getColumnStatistics();
+    int[] ids = orcColumnIds();
+    byte[] types = _setup.getColumnTypes();
+    for (int i = 0; i < setup._filter_cols.length; i++) {
+      int col = setup._filter_cols[i];
+      if (types[col] != Vec.T_NUM || ids[col] >= stats.length)
+        continue;
+      ColumnStatistics cs = stats[ids[col]];
+      if (cs.getNumberOfValues() == 0)
+        continue;
+      double min, max;
+      if (cs instanceof IntegerColumnStatistics) {
+        min = ((IntegerColumnStatistics) cs).getMinimum();
+        max = ((IntegerColumnStatistics) cs).getMaximum();
+      } else if (cs instanceof DoubleColumnStatistics) {
+        min = ((DoubleColumnStatistics) cs).getMinimum();
+        max = ((DoubleColumnStatistics) cs).getMaximum();
+      } else if (cs instanceof DecimalColumnStatistics) {
+        min = ((DecimalColumnStatistics) cs).getMinimum().doubleValue();
+        max = ((DecimalColumnStatistics) cs).getMaximum().doubleValue();
+      } else
+        continue;
+      if (max < setup._filter_min[i] || min > setup._filter_max[i]) {
+        Log.debug("Orc Parser: range filter on column " + col + " skips stripe " + stripe);
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * This method writes one column vector straight into the chunk of the fluid vec
+   * writer, without going through the writer value by value.  Integer, floating point
+   * and time columns are appended in bulk; categoricals are converted to codes once
+   * per distinct value.
+   *
+   * @return false if the column must be written by write1column
+   */
+  private boolean writeBulk(ColumnVector col, String columnType, int cIdx, int rowNumber, FVecParseWriter dout) {
+    if (col.isRepeating && !col.noNulls) // ALL NAs
+      return false;
+    byte t = _setup.getColumnTypes()[cIdx];
+    boolean[] isNA = col.noNulls ? null : col.isNull;
+    switch (columnType.toLowerCase()) {
+      case "bigint":
+      case "boolean":
+      case "int":
+      case "smallint":
+      case "tinyint":
+        return writeLongBulk((LongColumnVector) col, t, cIdx, rowNumber, isNA, dout);
+      case "float":
+      case "double":
+        return writeDoubleBulk((DoubleColumnVector) col, t, cIdx, rowNumber, isNA, dout);
+      case "numeric":
+      case "real":
+        if (col instanceof LongColumnVector)
+          return writeLongBulk((LongColumnVector) col, t, cIdx, rowNumber, isNA, dout);
+        return writeDoubleBulk((DoubleColumnVector) col, t, cIdx, rowNumber, isNA, dout);
+      case "string":
+      case "varchar":
+      case "char":
+        return t == Vec.T_CAT && writeCategoricalBulk((BytesColumnVector) col, cIdx, rowNumber, isNA, dout);
+      case "date":
+      case "timestamp":
+        return t == Vec.T_TIME && writeTimeBulk((LongColumnVector) col, columnType, cIdx, rowNumber, isNA, dout);
+      default:
+        return false;
+    }
+  }
+
+  private boolean writeLongBulk(LongColumnVector vec, byte t, int colId, int rowNumber, boolean[] isNA,
+                                FVecParseWriter dout) {
+    long[] oneColumn = vec.vector;
+    if (t == Vec.T_CAT) {
+      HashMap<Number,Integer> map = toCodeMap(colId);
+      long[] codes = longs(rowNumber);
+      for (int i = 0; i < rowNumber; i++) {
+        if (isNA != null && isNA[i]) continue;
+        long l = oneColumn[vec.isRepeating ? 0 : i];
+        Integer code = map.get(l);
+        if (code == null)
+          map.put(l, code = dout.addCategoricalKey(colId, _bs.set(StringUtils.toBytes(l))));
+        codes[i] = code;
+      }
+      dout.addCategoricalCol(colId, codes, isNA, rowNumber);
+      return true;
+    }
+    if (t != Vec.T_NUM)
+      return false;
+    if (vec.isRepeating) {
+      long[] vals = longs(rowNumber);
+      Arrays.fill(vals, 0, rowNumber, oneColumn[0]);
+      oneColumn = vals;
+    } else {
+      for (int rowIndex = 0; rowIndex < rowNumber; rowIndex++)
+        if (isNA == null || !isNA[rowIndex])
+          check_Min_Value(oneColumn[rowIndex], colId, rowNumber, dout);
+    }
+    dout.addNumCol(colId, oneColumn, isNA, rowNumber);
+    return true;
+  }
+
+  private boolean writeDoubleBulk(DoubleColumnVector vec, byte t, int colId, int rowNumber, boolean[] isNA,
+                                  FVecParseWriter dout) {
+    double[] oneColumn = vec.vector;
+    if (t == Vec.T_CAT) {
+      HashMap<Number,Integer> map = toCodeMap(colId);
+      long[] codes = longs(rowNumber);
+      for (int i = 0; i < rowNumber; i++) {
+        if (isNA != null && isNA[i]) continue;
+        double d = oneColumn[vec.isRepeating ? 0 : i];
+        Integer code = map.get(d);
+        if (code == null)
+          map.put(d, code = dout.addCategoricalKey(colId, _bs.set(StringUtils.toBytes(d))));
+        codes[i] = code;
+      }
+      dout.addCategoricalCol(colId, codes, isNA, rowNumber);
+      return true;
+    }
+    if (t != Vec.T_NUM)
+      return false;
+    if (vec.isRepeating) {
+      if (_doubles == null || _doubles.length < rowNumber)
+        _doubles = new double[rowNumber];
+      Arrays.fill(_doubles, 0, rowNumber, oneColumn[0]);
+      oneColumn = _doubles;
+    }
+    dout.addNumCol(colId, oneColumn, isNA, rowNumber);
+    return true;
+  }
+
+  private boolean writeTimeBulk(LongColumnVector col, String columnType, int cIdx, int rowNumber, boolean[] isNA,
+                                FVecParseWriter dout) {
+    boolean timestamp = columnType.equals("timestamp");
+    long[] oneColumn = col.vector;
+    long[] vals = longs(rowNumber);
+    if (col.isRepeating) {
+      Arrays.fill(vals, 0, rowNumber, timestamp ? oneColumn[0] / 1000000 : correctTimeStamp(oneColumn[0]));
+    } else {
+      for (int rowIndex = 0; rowIndex < rowNumber; rowIndex++)
+        if (isNA == null || !isNA[rowIndex])
+          vals[rowIndex] = timestamp ? oneColumn[rowIndex] / 1000000 : correctTimeStamp(oneColumn[rowIndex]);
+    }
+    dout.addNumCol(cIdx, vals, isNA, rowNumber);
+    return true;
+  }
+
+  private boolean writeCategoricalBulk(BytesColumnVector col, int cIdx, int rowNumber, boolean[] isNA,
+                                       FVecParseWriter dout) {
+    DictionaryCodes dict = _dictionaryCodes.get(cIdx);
+    if (dict == null)
+      _dictionaryCodes.put(cIdx, dict = new DictionaryCodes());
+    long[] codes = longs(rowNumber);
+    for (int rowIndex = 0; rowIndex < rowNumber; rowIndex++)
+      if (isNA == null || !isNA[rowIndex])
+        codes[rowIndex] = dict.code(col, col.isRepeating ? 0 : rowIndex, cIdx, dout);
+    dout.addCategoricalCol(cIdx, codes, isNA, rowNumber);
+    return true;
+  }
+
+  private HashMap<Number,Integer> toCodeMap(int colId) {
+    HashMap<Number,Integer> map = _toCodeMaps.get(colId);
+    if (map == null)
+      _toCodeMaps.put(colId, map = new HashMap<>());
+    return map;
+  }
+
+  private long[] longs(int n) {
+    if (_longs == null || _longs.length < n)
+      _longs = new long[n];
+    return _longs;
+  }
+
+  /**
+   * Categorical codes of the values of a string column, by where they are in the
+   * byte buffer the column vector refers to.  The rows of a dictionary encoded stripe
+   * all refer to the one dictionary buffer of the stripe, so each distinct string is
+   * looked up in the categorical domain once per stripe instead of once per row.
+   */
+  private static final class DictionaryCodes {
+    private final BufferedString _bs = new BufferedString();
+    private final HashMap<Long,Integer> _codes = new HashMap<>();
+    private byte[] _buf;
+
+    int code(BytesColumnVector col, int row, int cIdx, FVecParseWriter dout) {
+      byte[] buf = col.vector[row];
+      int start = col.start[row], len = col.length[row];
+      if (buf == col.buffer) // the vector's own buffer is overwritten by the next batch
+        return dout.addCategoricalKey(cIdx, _bs.set(buf, start, len));
+      if (buf != _buf) { // values of another stripe or batch
+        _buf = buf;
+        _codes.clear();
+      }
+      Long key = (long) start << 32 | len;
+      Integer code = _codes.get(key);
+      if (code == null)
+        _codes.put(key, code = dout.addCategoricalKey(cIdx, _bs.set(buf, start, len)));
+      return code;
+    }
+  }
+
   /**
    * This method writes one column of H2O data frame at a time.
    *
@@ -75,7 +75,9 @@ public class OrcParserProvider extends ParserProvider {
       f = (FileVec) ((Frame) frameOrVec).vec(0);
     else
       f = (FileVec) frameOrVec;
-    return readSetup(f, requiredSetup.getColumnNames(), requiredSetup.getColumnTypes());
+    ParseSetup setup = readSetup(f, requiredSetup.getColumnNames(), requiredSetup.getColumnTypes());
+    setup.copyReadOptionsFrom(requiredSetup); // the stripe filters
+    return setup;
   }
 
   private Reader getReader(FileVec f) throws IOException {
@@ -8,11 +8,16 @@ import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
 import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.io.orc.IntegerColumnStatistics;
 import org.apache.hadoop.hive.ql.io.orc.OrcFile;
 import org.apache.hadoop.hive.ql.io.orc.Reader;
 import org.apache.hadoop.hive.ql.io.orc.RecordReader;
 import org.apache.hadoop.hive.ql.io.orc.StripeInformation;
+import org.apache.hadoop.hive.ql.io.orc.StripeStatistics;
+import org.apache.hadoop.hive.ql.io.orc.Writer;
 import org.apache.hadoop.hive.serde2.io.HiveDecimalWritable;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
 import org.apache.hadoop.hive.serde2.objectinspector.StructField;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.joda.time.DateTime;
@@ -21,6 +26,7 @@ import org.junit.Ignore;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import water.fvec.Frame;
@@ -326,4 +332,46 @@ public class OrcTestUtils {
     else
       return (timestamp-hour*HOUR_OFFSET);
   }
+
+  static class SortedRow {
+    long id;
+    double x;
+    SortedRow(long id, double x) { this.id = id; this.x = x; }
+  }
+
+  /**
+   * Writes nrows rows (id, x), id from 0 up, into small stripes, so that the
+   * stripes hold disjoint ranges of id.
+   */
+  static File writeSortedStripes(File dir, String name, int nrows) throws IOException {
+    File f = new File(dir, name);
+    ObjectInspector oi = ObjectInspectorFactory.getReflectionObjectInspector(SortedRow.class,
+            ObjectInspectorFactory.ObjectInspectorOptions.JAVA);
+    Writer w = OrcFile.createWriter(new Path(f.toString()), OrcFile.writerOptions(new Configuration())
+            .inspector(oi).stripeSize(10000).bufferSize(10000));
+    Random rng = new Random(0xDECAF);
+    for (int i = 0; i < nrows; i++)
+      w.addRow(new SortedRow(i, rng.nextDouble())); // Random doubles fill the stripes
+    w.close();
+    return f;
+  }
+
+  /** Number of stripes of the file. */
+  static int stripeCount(File f) throws IOException {
+    return OrcFile.createReader(new Path(f.toString()), OrcFile.readerOptions(new Configuration())).getStripes().size();
+  }
+
+  /** Rows of the stripes whose statistics of the first column overlap [min, max]. */
+  static long rowsInStripes(File f, long min, long max) throws IOException {
+    Reader r = OrcFile.createReader(new Path(f.toString()), OrcFile.readerOptions(new Configuration()));
+    List<StripeInformation> stripes = r.getStripes();
+    List<StripeStatistics> stats = r.getMetadata().getStripeStatistics();
+    long rows = 0;
+    for (int i = 0; i < stripes.size(); i++) {
+      IntegerColumnStatistics cs = (IntegerColumnStatistics) stats.get(i).getColumnStatistics()[1];
+      if (cs.getMaximum() >= min && cs.getMinimum() <= max)
+        rows += stripes.get(i).getNumberOfRows();
+    }
+    return rows;
+  }
 }
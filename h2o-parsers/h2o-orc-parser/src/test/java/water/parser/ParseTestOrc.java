@@ -111,6 +111,38 @@ public class ParseTestOrc extends TestUtil {
         fr.delete();
     }
 
+    @Test public void testStripeRangeFilter() throws IOException {
+        final int nrows = 20000;
+        File f = OrcTestUtils.writeSortedStripes(java.nio.file.Files.createTempDirectory("orc").toFile(), "sorted.orc", nrows);
+        Assert.assertTrue(OrcTestUtils.stripeCount(f) > 1);
+        long expected = OrcTestUtils.rowsInStripes(f, 2000, 2999);
+        Assert.assertTrue("The range must exclude a stripe", expected < nrows);
+        NFSFileVec nfs = NFSFileVec.make(f);
+        Key[] keys = new Key[]{nfs._key};
+        ParseSetup pstp = new ParseSetup(new ParseSetupV3());
+        pstp._parse_type = new OrcParserProvider.OrcParserInfo();
+        ParseSetup ps = ParseSetup.guessSetup(keys, pstp);
+        Frame all = null, filtered = null;
+        try {
+            all = ParseDataset.parse(Key.make(), keys, false, ps);
+            assertEquals(nrows, all.numRows());
+
+            // As given through the REST API: on the plain setup, not the ORC one
+            filtered = ParseDataset.parse(Key.make(), keys, true, new ParseSetup(ps).addRangeFilter(0, 2000, 2999));
+            Assert.assertTrue("Stripes should be skipped", filtered.numRows() < all.numRows());
+            assertEquals(expected, filtered.numRows());
+            int inRange = 0;
+            for (long row = 0; row < filtered.numRows(); row++) {
+                long v = filtered.vec(0).at8(row);
+                if (v >= 2000 && v <= 2999) inRange++;
+            }
+            assertEquals(1000, inRange);
+        } finally {
+            if (all != null) all.delete();
+            if (filtered != null) filtered.delete();
+        }
+    }
+
     @Test
     public void testParseAllOrcs() {
         Set<String> failedFiles = new TreeSet<>();
@@ -1,11 +1,13 @@
 package water.parser.parquet;
 
+import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
 import org.apache.parquet.schema.Type;
+import water.H2O;
 import water.Job;
 import water.Key;
 import water.exceptions.H2OUnsupportedDataFileException;
@@ -17,6 +19,7 @@ import water.util.IcedHashMapGeneric;
 import water.util.Log;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +33,10 @@ public class ParquetParser extends Parser {
 
   private static final int MAX_PREVIEW_RECORDS = 1000;
 
+  /* Read column-at-a-time (VecParquetColumnReader) instead of assembling records */
+  static final boolean COLUMNAR = Boolean.parseBoolean(
+          System.getProperty(H2O.OptArgs.SYSTEM_PROP_PREFIX + "parse.parquet.columnar", "true"));
+
   private final byte[] _metadata;
 
   ParquetParser(ParseSetup setup, Key<Job> jobKey) {
@@ -39,7 +46,7 @@ public class ParquetParser extends Parser {
 
   @Override
   protected final StreamParseWriter sequentialParse(Vec vec, final StreamParseWriter dout) {
-    final ParquetMetadata metadata = VecParquetReader.readFooter(_metadata);
+    final ParquetMetadata metadata = filterRowGroups(VecParquetReader.readFooter(_metadata));
     final int nChunks = vec.nChunks();
     final long totalRecs = totalRecords(metadata);
     final long nChunkRecs = ((totalRecs / nChunks) + (totalRecs % nChunks > 0 ? 1 : 0));
@@ -48,18 +55,25 @@ public class ParquetParser extends Parser {
     }
 
     final WriterDelegate w = new WriterDelegate(dout, _setup.getColumnTypes().length);
-    final VecParquetReader reader = new VecParquetReader(vec, metadata, w, _setup.getColumnTypes());
+    final boolean columnar = columnar();
+    final VecParquetReader reader = columnar ? null : new VecParquetReader(vec, metadata, w, _setup.getColumnTypes());
+    final VecParquetColumnReader columnReader = columnar ?
+            new VecParquetColumnReader(vec, metadata, w, _setup.getColumnTypes(), _setup._skipped_columns) : null;
 
     StreamParseWriter nextChunk = dout;
     try {
       long parsedRecs = 0;
       for (int i = 0; i < nChunks; i++) {
-        Long recordNumber;
-        do {
-          recordNumber = reader.read();
-          if (recordNumber != null)
-            parsedRecs++;
-        } while ((recordNumber != null) && (w.lineNum() < nChunkRecs));
+        if (columnReader != null) {
+          parsedRecs += columnReader.read(nChunkRecs - w.lineNum());
+        } else {
+          Long recordNumber;
+          do {
+            recordNumber = reader.read();
+            if (recordNumber != null)
+              parsedRecs++;
+          } while ((recordNumber != null) && (w.lineNum() < nChunkRecs));
+        }
         if (_jobKey != null)
           Job.update(vec.length() / nChunks, _jobKey);
         nextChunk.close();
@@ -70,6 +84,8 @@ public class ParquetParser extends Parser {
       assert parsedRecs == totalRecs;
     } catch (IOException e) {
       throw new RuntimeException("Failed to parse records", e);
+    } finally {
+      closeQuietly(columnReader);
     }
     return dout;
   }
@@ -93,12 +109,25 @@ public class ParquetParser extends Parser {
     // extract metadata, we want to read only the row groups that have centers in this chunk
     ParquetMetadataConverter.MetadataFilter chunkFilter = ParquetMetadataConverter.range(
             chunk.start(), chunk.start() + chunk.len());
-    ParquetMetadata metadata = VecParquetReader.readFooter(_metadata, chunkFilter);
+    ParquetMetadata metadata = filterRowGroups(VecParquetReader.readFooter(_metadata, chunkFilter));
     if (metadata.getBlocks().isEmpty()) {
       Log.trace("Chunk #", cidx, " doesn't contain any Parquet block center.");
       return dout;
     }
     Log.info("Processing ", metadata.getBlocks().size(), " blocks of chunk #", cidx);
+    if (columnar()) {
+      byte[] chunkSchema = _setup.getColumnTypes();
+      VecParquetColumnReader reader = new VecParquetColumnReader(vec, metadata,
+              new WriterDelegate(dout, chunkSchema.length), chunkSchema, _setup._skipped_columns);
+      try {
+        while (reader.read(Long.MAX_VALUE) > 0) ;
+      } catch (IOException e) {
+        throw new RuntimeException("Failed to parse records", e);
+      } finally {
+        closeQuietly(reader);
+      }
+      return dout;
+    }
     VecParquetReader reader = new VecParquetReader(vec, metadata, dout, _setup.getColumnTypes());
     try {
       Long recordNumber;
@@ -111,6 +140,55 @@ public class ParquetParser extends Parser {
     return dout;
   }
 
+  // Only the column reader leaves out skipped columns
+  private boolean columnar() {
+    return COLUMNAR || _setup._skipped_columns != null;
+  }
+
+  /**
+   * Drops the row groups whose column statistics show they hold no rows within
+   * the range filters of the setup.
+   */
+  private ParquetMetadata filterRowGroups(ParquetMetadata metadata) {
+    if (_setup._filter_cols == null)
+      return metadata;
+    MessageType schema = metadata.getFileMetaData().getSchema();
+    List<BlockMetaData> blocks = new ArrayList<>();
+    for (BlockMetaData block : metadata.getBlocks()) {
+      if (mayMatch(block, schema, _setup)) blocks.add(block);
+    }
+    if (blocks.size() < metadata.getBlocks().size())
+      Log.debug("Range filters skip ", metadata.getBlocks().size() - blocks.size(), " of ",
+              metadata.getBlocks().size(), " row groups");
+    return new ParquetMetadata(metadata.getFileMetaData(), blocks);
+  }
+
+  private static boolean mayMatch(BlockMetaData block, MessageType schema, ParseSetup ps) {
+    for (int i = 0; i < ps._filter_cols.length; i++) {
+      int col = ps._filter_cols[i];
+      if (OriginalType.DECIMAL.equals(schema.getType(col).getOriginalType()))
+        continue; // Statistics hold unscaled values
+      Statistics stats = block.getColumns().get(col).getStatistics();
+      if (stats == null || stats.isEmpty())
+        continue;
+      Object min = stats.genericGetMin(), max = stats.genericGetMax();
+      if (!(min instanceof Number) || !(max instanceof Number))
+        continue; // No numeric bounds to compare with
+      if (((Number) max).doubleValue() < ps._filter_min[i] || ((Number) min).doubleValue() > ps._filter_max[i])
+        return false;
+    }
+    return true;
+  }
+
+  private static void closeQuietly(VecParquetColumnReader reader) {
+    if (reader == null) return;
+    try {
+      reader.close();
+    } catch (IOException e) {
+      Log.warn("Failed to close Parquet reader", e);
+    }
+  }
+
   public static ParquetParseSetup guessFormatSetup(ByteVec vec, byte[] bits) {
     if (bits.length < MAGIC.length) {
       return null;
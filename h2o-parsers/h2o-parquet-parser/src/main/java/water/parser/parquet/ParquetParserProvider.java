@@ -50,6 +50,8 @@ public class ParquetParserProvider extends BinaryParserProvider {
     for (int i = 0; i < types.length; i++)
       if (types[i] != requestedTypes[i])
         setup.addErrs(new ParseWriter.UnsupportedTypeOverride(inputs[0].toString(),Vec.TYPE_STR[types[i]], Vec.TYPE_STR[requestedTypes[i]], setup.getColumnNames()[i]));
+    // skipped columns are never read, so they are not columns of the frame either
+    setup.dropSkippedColumns();
     return setup;
   }
 
@@ -0,0 +1,297 @@
+package water.parser.parquet;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import water.fvec.Vec;
+import water.parser.BufferedString;
+import water.persist.VecFileSystem;
+import water.util.StringUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column-at-a-time reader of the Parquet row groups held in a Vec.
+ *
+ * Unlike {@link VecParquetReader} it doesn't assemble records: each column of a
+ * row group is decoded by its own ColumnReader into a batch of values, and the
+ * batches are then written out row by row. The definition level alone tells an
+ * NA, dictionary-encoded strings are converted once per dictionary entry instead
+ * of once per value, and the column chunks of skipped columns are never read:
+ * the columns of the frame are those of the file that are not skipped.
+ *
+ * The values written are the same as those of {@link ChunkConverter}.
+ */
+class VecParquetColumnReader implements Closeable {
+
+  private static final int BATCH_SIZE = 1024;
+
+  private final Vec _vec;
+  private final ParquetMetadata _metadata;
+  private final WriterDelegate _writer;
+  private final MessageType _schema; // only the columns read
+  private final ColumnBatch[] _batches;
+
+  private ParquetFileReader _reader;
+  private ColumnReader[] _columns;
+  private long _rowsLeft; // in the current row group
+
+  /**
+   * @param chunkSchema types of the columns read
+   * @param skippedColumns columns of the file not read (null reads all of them)
+   */
+  VecParquetColumnReader(Vec vec, ParquetMetadata metadata, WriterDelegate writer, byte[] chunkSchema,
+                         int[] skippedColumns) {
+    _vec = vec;
+    _metadata = metadata;
+    _writer = writer;
+    MessageType fileSchema = metadata.getFileMetaData().getSchema();
+    boolean[] skip = new boolean[fileSchema.getFieldCount()];
+    if (skippedColumns != null)
+      for (int c : skippedColumns) skip[c] = true;
+    List<Type> fields = new ArrayList<>();
+    List<ColumnBatch> batches = new ArrayList<>();
+    for (int i = 0; i < skip.length; i++) {
+      if (skip[i])
+        continue;
+      Type field = fileSchema.getType(i);
+      assert field.isPrimitive();
+      int col = batches.size(); // index in the frame
+      fields.add(field);
+      batches.add(new ColumnBatch(col, chunkSchema[col], field.asPrimitiveType()));
+    }
+    assert batches.size() == chunkSchema.length;
+    _schema = new MessageType(fileSchema.getName(), fields);
+    _batches = batches.toArray(new ColumnBatch[batches.size()]);
+  }
+
+  /**
+   * Reads up to maxRows rows.
+   * @return the number of rows read, 0 if finished
+   * @throws IOException
+   */
+  long read(long maxRows) throws IOException {
+    if (_reader == null) {
+      Configuration conf = VecFileSystem.makeConfiguration(_vec);
+      _reader = new ParquetFileReader(conf, _metadata.getFileMetaData(), VecFileSystem.VEC_PATH,
+              _metadata.getBlocks(), _schema.getColumns());
+    }
+    long rows = 0;
+    while (rows < maxRows) {
+      if (_rowsLeft == 0 && !nextRowGroup())
+        break;
+      int n = (int) Math.min(BATCH_SIZE, Math.min(_rowsLeft, maxRows - rows));
+      for (int k = 0; k < _batches.length; k++)
+        _batches[k].read(_columns[k], n);
+      for (int r = 0; r < n; r++) {
+        _writer.startLine();
+        for (ColumnBatch batch : _batches)
+          batch.write(r, _writer);
+        _writer.endLine();
+      }
+      _rowsLeft -= n;
+      rows += n;
+    }
+    return rows;
+  }
+
+  private boolean nextRowGroup() throws IOException {
+    PageReadStore pages = _reader.readNextRowGroup();
+    if (pages == null)
+      return false;
+    ColumnReadStoreImpl store = new ColumnReadStoreImpl(pages, new BatchesConverter(), _schema,
+            _metadata.getFileMetaData().getCreatedBy());
+    List<ColumnDescriptor> descriptors = _schema.getColumns();
+    _columns = new ColumnReader[descriptors.size()];
+    for (int k = 0; k < _columns.length; k++)
+      _columns[k] = store.getColumnReader(descriptors.get(k));
+    _rowsLeft = pages.getRowCount();
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (_reader != null) {
+      _reader.close();
+    }
+  }
+
+  private class BatchesConverter extends GroupConverter {
+    @Override
+    public Converter getConverter(int fieldIndex) {
+      return _batches[fieldIndex];
+    }
+    @Override
+    public void start() {}
+    @Override
+    public void end() {}
+  }
+
+  /**
+   * Values of one column for a batch of rows, filled in by the column's ColumnReader.
+   */
+  private static class ColumnBatch extends PrimitiveConverter {
+    private static final byte NA = 0, NUM = 1, REAL = 2, STR = 3;
+
+    private final int _colIdx;
+    private final boolean _string;    // binary values are strings (not INT96 timestamps)
+    private final boolean _decimal;
+    private final int _exp;
+    private final boolean _dictionarySupport;
+    private final BufferedString _bs = new BufferedString();
+
+    private final byte[] _kinds = new byte[BATCH_SIZE];
+    private long[] _nums;
+    private double[] _reals;
+    private byte[][] _strs;
+    private byte[][] _dict;
+    private int _row;
+
+    ColumnBatch(int colIdx, byte vecType, PrimitiveType parquetType) {
+      _colIdx = colIdx;
+      boolean timestamp = OriginalType.TIMESTAMP_MILLIS.equals(parquetType.getOriginalType()) ||
+              parquetType.getPrimitiveTypeName().equals(PrimitiveType.PrimitiveTypeName.INT96);
+      switch (vecType) {
+        case Vec.T_BAD:
+        case Vec.T_CAT:
+        case Vec.T_STR:
+        case Vec.T_UUID:
+        case Vec.T_TIME:
+          _string = !timestamp;
+          _decimal = false;
+          break;
+        case Vec.T_NUM:
+          _string = true;
+          _decimal = OriginalType.DECIMAL.equals(parquetType.getOriginalType());
+          break;
+        default:
+          throw new UnsupportedOperationException("Unsupported type " + vecType);
+      }
+      _exp = _decimal ? -parquetType.getDecimalMetadata().getScale() : 0;
+      _dictionarySupport = _string && !_decimal && (parquetType.getOriginalType() == OriginalType.UTF8 ||
+              parquetType.getOriginalType() == OriginalType.ENUM);
+    }
+
+    void read(ColumnReader column, int n) {
+      int maxDef = column.getDescriptor().getMaxDefinitionLevel();
+      for (_row = 0; _row < n; _row++) {
+        if (column.getCurrentDefinitionLevel() == maxDef)
+          column.writeCurrentValueToConverter();
+        else
+          _kinds[_row] = NA;
+        column.consume();
+      }
+    }
+
+    void write(int row, WriterDelegate writer) {
+      switch (_kinds[row]) {
+        case NUM:
+          writer.addNumCol(_colIdx, _nums[row], _exp);
+          break;
+        case REAL:
+          writer.addNumCol(_colIdx, _reals[row]);
+          break;
+        case STR:
+          _bs.set(_strs[row]);
+          writer.addStrCol(_colIdx, _bs);
+          break;
+        default: // NA, filled in by the writer
+      }
+    }
+
+    private void num(long value) {
+      if (_nums == null) _nums = new long[BATCH_SIZE];
+      _nums[_row] = value;
+      _kinds[_row] = NUM;
+    }
+
+    private void real(double value) {
+      if (_reals == null) _reals = new double[BATCH_SIZE];
+      _reals[_row] = value;
+      _kinds[_row] = REAL;
+    }
+
+    private void str(byte[] value) {
+      if (_strs == null) _strs = new byte[BATCH_SIZE][];
+      _strs[_row] = value;
+      _kinds[_row] = STR;
+    }
+
+    @Override
+    public boolean hasDictionarySupport() {
+      return _dictionarySupport;
+    }
+
+    @Override
+    public void setDictionary(Dictionary dictionary) {
+      _dict = new byte[dictionary.getMaxId() + 1][];
+      for (int i = 0; i <= dictionary.getMaxId(); i++) {
+        _dict[i] = StringUtils.bytesOf(dictionary.decodeToBinary(i).toStringUsingUTF8());
+      }
+    }
+
+    @Override
+    public void addValueFromDictionary(int dictionaryId) {
+      str(_dict[dictionaryId]);
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+      if (_decimal)
+        throw new UnsupportedOperationException("Arbitrary precision Decimal type is currently not supported by H2O." +
+                "Please use 64-bit decimal type instead (precision <= 18).");
+      if (_string)
+        str(StringUtils.bytesOf(value.toStringUsingUTF8()));
+      else
+        real(ParquetInt96TimestampConverter.getTimestampMillis(value));
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+      if (_decimal)
+        throw new UnsupportedOperationException("Boolean type is not supported by DecimalConverter");
+      real(value ? 1 : 0);
+    }
+
+    @Override
+    public void addDouble(double value) {
+      if (_decimal)
+        throw new UnsupportedOperationException("Double type is not supported by DecimalConverter");
+      real(value);
+    }
+
+    @Override
+    public void addFloat(float value) {
+      if (_decimal)
+        throw new UnsupportedOperationException("Float type is not supported by DecimalConverter");
+      real(value);
+    }
+
+    @Override
+    public void addInt(int value) {
+      num(value);
+    }
+
+    @Override
+    public void addLong(long value) {
+      num(value);
+    }
+  }
+
+}
@@ -375,6 +375,39 @@ public class ParseTestParquet extends TestUtil {
     assertFrameAssertion(assertion);
   }
 
+  @Test
+  public void testParseSkippedColumnsAndRowGroupFilter() throws IOException {
+    final int nrows = 10000;
+    File f = ParquetFileGenerator.generateSortedRowGroups(Files.createTempDir(), "sorted.parquet", nrows);
+    Frame all = null, filtered = null;
+    try {
+      NFSFileVec nfs = NFSFileVec.make(f);
+      Key[] keys = new Key[]{nfs._key};
+      ParseSetup guessed = ParseSetup.guessSetup(keys, false, ParseSetup.HAS_HEADER);
+      guessed.disableParallelParse = disableParallelParse;
+      all = ParseDataset.parse(Key.make(), keys, false, guessed);
+      assertEquals(nrows, all.numRows());
+      assertEquals(0, all.vec(1).naCnt());
+
+      ParseSetup ps = new ParseSetup(guessed)
+              .setSkippedColumns(new int[]{1})
+              .addRangeFilter(0, 2000, 2999);
+      ps.disableParallelParse = disableParallelParse;
+      filtered = ParseDataset.parse(Key.make(), keys, true, ps);
+      assertTrue("Row groups should be skipped", filtered.numRows() < nrows);
+      assertArrayEquals(new String[]{"int32_field"}, filtered.names());
+      int inRange = 0;
+      for (long row = 0; row < filtered.numRows(); row++) {
+        long v = filtered.vec(0).at8(row);
+        if (v >= 2000 && v <= 2999) inRange++;
+      }
+      assertEquals(1000, inRange);
+    } finally {
+      if (all != null) all.delete();
+      if (filtered != null) filtered.delete();
+    }
+  }
+
   @Test
   public void testPubdev5673() {
     Frame actual = null;
@@ -450,6 +483,33 @@ class ParquetFileGenerator {
     return f;
   }
 
+  // Increasing int32 values in many small row groups, with a string column
+  static File generateSortedRowGroups(File parentDir, String filename, int nrows) throws IOException {
+    File f = new File(parentDir, filename);
+
+    Configuration conf = new Configuration();
+    MessageType schema = parseMessageType(
+        "message test { "
+            + "required int32 int32_field; "
+            + "required binary string_field (UTF8); "
+            + "} ");
+    GroupWriteSupport.setSchema(schema, conf);
+    SimpleGroupFactory fact = new SimpleGroupFactory(schema);
+    ParquetWriter<Group> writer = new ParquetWriter<Group>(new Path(f.getPath()), new GroupWriteSupport(),
+        UNCOMPRESSED, 1024, 1024, 512, true, false, ParquetProperties.WriterVersion.PARQUET_2_0, conf);
+    try {
+      for (int i = 0; i < nrows; i++) {
+        writer.write(fact.newGroup()
+            .append("int32_field", i)
+            .append("string_field", "CAT_" + (i % 10))
+        );
+      }
+    } finally {
+      writer.close();
+    }
+    return f;
+  }
+
   static File generateStringParquet(File parentDir, String filename) throws IOException {
     File f = new File(parentDir, filename);
 
@@ -257,6 +257,6 @@ public class AccuracyTestingSuite {
     new MRTask(){
       @Override public void setupLocal() {  H2O.raw_clear();  water.fvec.Vec.ESPC.clear(); }
     }.doAllNodes();
-    H2O.getPM().getIce().cleanUp();
+    H2O.getPM().cleanUpIce();
   }
 }